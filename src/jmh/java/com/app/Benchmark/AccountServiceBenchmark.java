@@ -0,0 +1,61 @@
+package com.app.Benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.Exception.LoginException;
+import com.app.Service.AccountService;
+
+/**
+ * AccountService.login for a successful login, a wrong password and an unknown username.
+ *
+ * Known usernames are answered from the account cache after the first call; unknown ones are
+ * rejected by the username Bloom filter, so none of the steady-state cases touch the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountServiceBenchmark {
+    private AccountService accountService;
+
+    @Setup
+    public void setUp(ApplicationState app) {
+        accountService = app.bean(AccountService.class);
+    }
+
+    @Benchmark
+    public Object loginSuccess() {
+        return accountService.login("testuser1", "password");
+    }
+
+    @Benchmark
+    public Object loginWrongPassword() {
+        return rejected("testuser1", "wrong");
+    }
+
+    @Benchmark
+    public Object loginUnknownUser() {
+        return rejected("nobody-registered-this-name", "password");
+    }
+
+    private Object rejected(String username, String password) {
+        try {
+            return accountService.login(username, password);
+        } catch (LoginException e) {
+            return e;
+        }
+    }
+}
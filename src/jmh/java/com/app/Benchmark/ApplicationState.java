@@ -0,0 +1,56 @@
+package com.app.Benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.app.Entity.Message;
+import com.app.Repository.MessageBatchRepository;
+import com.app.SocialMediaApp;
+
+/**
+ * Shared JMH state: the full application context (services, repositories, embedded H2) without the web server.
+ *
+ * The context is started once per trial, so every measured call goes through the same Spring proxies,
+ * caches and connection pool as in production. The seed users from data.sql are used as posters and
+ * SEED_MESSAGES extra messages are inserted so repository benchmarks read from a non-trivial table.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+    static final int SEED_MESSAGES = 10_000;
+    static final int[] SEED_POSTERS = {9999, 9998, 9997, 9996};
+
+    ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = SpringApplication.run(SocialMediaApp.class,
+                "--spring.main.web-application-type=none", "--logging.level.root=WARN");
+
+        // data.sql inserts fixed message IDs up to 9999; generated IDs start above them so long runs never collide
+        bean(JdbcTemplate.class).execute("alter sequence message_seq restart with 10000");
+
+        List<Message> seed = new ArrayList<>(SEED_MESSAGES);
+        for (int i = 0; i < SEED_MESSAGES; i++) {
+            seed.add(new Message(SEED_POSTERS[i % SEED_POSTERS.length], "benchmark message " + i, 1669947792L + i));
+        }
+        bean(MessageBatchRepository.class).insertAll(seed);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        SpringApplication.exit(context);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,124 @@
+package com.app.Benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.app.Entity.Message;
+import com.app.Repository.DatabaseSnapshot;
+import com.app.Repository.MessageStore;
+import com.app.SocialMediaApp;
+
+/**
+ * Snapshot and restore of the database (DatabaseSnapshot) against replaying the same messages one insert at a time.
+ *
+ * Each trial starts the application on the embedded H2 database and fills it with "accounts" accounts and
+ * "messages" messages whose text mixes a counter, a hashtag and 40 hex digits of a hash (so it does not compress
+ * unrealistically well), then writes one snapshot file for the restore runs.
+ *
+ * - snapshot: writes a snapshot to a temporary file.
+ * - restore: fills the tables from the snapshot file (JDBC batches).
+ * - replay: saves the same number of messages through MessageStore.save, one transaction per message, as
+ *   replaying the POST /messages traffic would.
+ *
+ * Restore and replay start from an empty message table, as on a new node.
+ *
+ * DatabaseSnapshot logs the size and MB/s of every snapshot and restore.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DatabaseSnapshotBenchmark {
+    @Param({"1000"})
+    private int accounts;
+
+    @Param({"200000"})
+    private int messages;
+
+    private ConfigurableApplicationContext context;
+    private DatabaseSnapshot databaseSnapshot;
+    private Path snapshotFile;
+    private Path restoreFile;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        context = SpringApplication.run(SocialMediaApp.class, "--spring.main.web-application-type=none",
+                "--logging.level.root=WARN", "--logging.level.com.app.Repository.DatabaseSnapshot=INFO");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into account (accountId, username, password) "
+                + "select x, 'snapshot-benchmark-' || x, 'password' from system_range(1, " + accounts + ")");
+        jdbcTemplate.update("insert into message (messageId, postedBy, messageText, timePostedEpoch) "
+                + "select 10000 + x, mod(x, " + accounts + ") + 1, 'benchmark message ' || x || ' #tag' || mod(x, 100) || ' '"
+                + " || substring(rawtohex(hash('SHA-256', cast(x as varchar))), 1, 40), 1669947792 + x"
+                + " from system_range(1, " + messages + ")");
+        jdbcTemplate.execute("alter sequence message_seq restart with " + (10001 + messages));
+        databaseSnapshot = context.getBean(DatabaseSnapshot.class);
+        snapshotFile = Files.createTempFile("snapshot-benchmark", ".gz");
+        restoreFile = Files.createTempFile("snapshot-benchmark-restore", ".gz");
+        try (OutputStream out = Files.newOutputStream(restoreFile)) {
+            databaseSnapshot.write(out);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        SpringApplication.exit(context);
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(restoreFile);
+    }
+
+    /**
+     * Empties the message table before each restore or replay, as on a new node, so deleting the previous run's
+     * rows is not measured.
+     */
+    @State(Scope.Benchmark)
+    public static class EmptyMessages {
+        @Setup(Level.Invocation)
+        public void clear(DatabaseSnapshotBenchmark benchmark) {
+            benchmark.context.getBean(JdbcTemplate.class).update("delete from message");
+        }
+    }
+
+    @Benchmark
+    public long snapshot() throws IOException {
+        try (OutputStream out = Files.newOutputStream(snapshotFile)) {
+            return databaseSnapshot.write(out);
+        }
+    }
+
+    @Benchmark
+    public long restore(EmptyMessages empty) {
+        return databaseSnapshot.restore(restoreFile);
+    }
+
+    @Benchmark
+    public int replay(EmptyMessages empty) {
+        MessageStore messageStore = context.getBean(MessageStore.class);
+        for (int i = 1; i <= messages; i++) {
+            messageStore.save(new Message(i % accounts + 1, "benchmark message " + i, 1669947792L + i));
+        }
+        return messages;
+    }
+}
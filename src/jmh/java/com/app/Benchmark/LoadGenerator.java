@@ -0,0 +1,445 @@
+package com.app.Benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.app.SocialMediaApp;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Open-model HTTP load generator for every SocialMediaController route.
+ *
+ * Requests are issued at a constant arrival rate however fast the server answers, each one going to a
+ * route picked at random from a weighted mix. Latency is measured from the moment a request was scheduled
+ * to be sent rather than from when it actually went out, so a stalled server is charged for the time the
+ * requests queued behind it waited (coordinated-omission correction). The uncorrected send-to-response
+ * time is recorded alongside as "service time".
+ *
+ * For each route and overall the run prints throughput and p50/p99/p99.9/max latency, writes a JSON
+ * summary and one HdrHistogram percentile file (.hgrm, in milliseconds) per route to the report directory,
+ * and exits with status 1 when the optional p99 or error-rate budget is exceeded, so it can gate releases.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:java -Dbenchmark.main=com.app.Benchmark.LoadGenerator
+ *           [-Dexec.args="rate=1000 duration=60s mix=getMessage:50,userTimeline:30,createMessage:20"]
+ *
+ * Options (key=value):
+ *   target        Base URL of a running server; when absent the application is started in-process on port 8080
+ *   rate          Arrival rate in requests per second (default 500)
+ *   warmup        Unrecorded warm-up period (default 10s)
+ *   duration      Recorded period (default 30s)
+ *   mix           Comma-separated route:weight pairs (default DEFAULT_MIX; route names as in routes())
+ *   seed          Messages inserted before the run (default 5000)
+ *   maxInFlight   Outstanding requests beyond which new arrivals are dropped and counted (default 10000)
+ *   timeout       Per-request timeout (default 10s)
+ *   report        Output directory (default target/load-report)
+ *   maxP99        Fail when the overall corrected p99 exceeds this duration (e.g. 250ms)
+ *   maxErrorRate  Fail when errors plus drops exceed this fraction of arrivals (e.g. 0.001)
+ */
+public class LoadGenerator {
+    private static final String DEFAULT_MIX = "getMessage:30,userTimeline:20,listMessages:15,login:10,createMessage:10,"
+            + "updateMessage:5,register:3,deleteMessage:2,deleteMessages:2,createBatch:1,exportMessages:1,deleteUserMessages:1";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    /**
+     * One route of the mix: builds the n-th request, and optionally collects the ID of the message it created.
+     */
+    private record Route(String name, IntFunction<HttpRequest> request, boolean capturesMessageId) {
+    }
+
+    /**
+     * Results recorded for one route during the measured period.
+     */
+    private static final class RouteStats {
+        final String name;
+        final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+
+        RouteStats(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * One line of the report; latencies are in milliseconds.
+     */
+    record RouteReport(String route, long requests, long errors, long dropped, double throughput,
+                       double p50Ms, double p99Ms, double p999Ms, double maxMs, double serviceP99Ms) {
+    }
+
+    private final Map<String, String> options;
+    private final String base;
+    private final Duration timeout;
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final Queue<Integer> createdMessageIds = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private int[] seededMessageIds;
+    private int posterId;
+    private int scratchAccountId;
+
+    LoadGenerator(Map<String, String> options) {
+        this.options = options;
+        this.base = options.getOrDefault("target", "http://localhost:8080");
+        this.timeout = duration("timeout", "10s");
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+
+        ConfigurableApplicationContext app = options.containsKey("target") ? null
+                : SpringApplication.run(SocialMediaApp.class, "--logging.level.root=WARN");
+        int status;
+        try {
+            status = new LoadGenerator(options).run();
+        } finally {
+            if (app != null) {
+                SpringApplication.exit(app);
+            }
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Seeds the data the mix needs, drives the arrival schedule, and reports.
+     *
+     * @return The process exit status: 0, or 1 if a budget was exceeded.
+     */
+    int run() throws Exception {
+        double rate = Double.parseDouble(options.getOrDefault("rate", "500"));
+        Duration warmup = duration("warmup", "10s");
+        Duration measured = duration("duration", "30s");
+        int maxInFlight = Integer.parseInt(options.getOrDefault("maxInFlight", "10000"));
+
+        seed(Integer.parseInt(options.getOrDefault("seed", "5000")));
+
+        // Parsing the mix into routes and cumulative weights
+        Map<String, Route> routes = routes();
+        List<Route> mix = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int totalWeight = 0;
+        for (String entry : options.getOrDefault("mix", DEFAULT_MIX).split(",")) {
+            String[] parts = entry.trim().split(":");
+            Route route = routes.get(parts[0]);
+            if (route == null) {
+                throw new IllegalArgumentException("Unknown route '" + parts[0] + "', expected one of " + routes.keySet());
+            }
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            if (weight > 0) {
+                totalWeight += weight;
+                mix.add(route);
+                cumulative.add(totalWeight);
+            }
+        }
+        RouteStats[] stats = new RouteStats[mix.size()];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new RouteStats(mix.get(i).name());
+        }
+
+        System.out.printf("Offering %.0f req/s to %s: %s warm-up, %s measured%n", rate, base, warmup, measured);
+        long interval = Math.max(1, Math.round(1e9 / rate));
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + measured.toNanos();
+        for (long n = 0; ; n++) {
+            // Each arrival has a fixed intended start time; falling behind sends the backlog at once
+            long intended = start + n * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+            int r = 0;
+            while (cumulative.get(r) <= pick) {
+                r++;
+            }
+            Route route = mix.get(r);
+            RouteStats recorded = intended >= measureFrom ? stats[r] : null;
+
+            if (inFlight.get() >= maxInFlight) {
+                if (recorded != null) {
+                    recorded.dropped.increment();
+                }
+                continue;
+            }
+            send(route, route.request().apply((int) n), intended, recorded);
+        }
+
+        // Letting outstanding requests finish (each is bounded by the request timeout)
+        long drainDeadline = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        return report(stats, rate, measured);
+    }
+
+    /**
+     * Sends one request asynchronously and records its corrected and uncorrected latency on completion.
+     */
+    private void send(Route route, HttpRequest request, long intended, RouteStats stats) {
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        CompletableFuture<? extends HttpResponse<?>> response = route.capturesMessageId()
+                ? client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                : client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        response.whenComplete((r, failure) -> {
+            long done = System.nanoTime();
+            inFlight.decrementAndGet();
+            if (failure == null && route.capturesMessageId() && r.statusCode() == 200) {
+                captureMessageId((String) r.body());
+            }
+            if (stats != null) {
+                stats.responseTime.recordValue(toMicros(done - intended));
+                stats.serviceTime.recordValue(toMicros(done - sent));
+                if (failure != null || r.statusCode() >= 500) {
+                    stats.errors.increment();
+                }
+            }
+        });
+    }
+
+    /**
+     * The routes a mix can draw from, one per SocialMediaController endpoint.
+     *
+     * Reads go to the seeded messages and timeline; message deletes consume messages created by
+     * createMessage during the run (or hit missing IDs when none are left), and deleteUserMessages
+     * clears a scratch account, so the read set stays stable for the whole run.
+     */
+    private Map<String, Route> routes() {
+        Map<String, Route> routes = new LinkedHashMap<>();
+        add(routes, "register", i -> post("/register",
+                "{\"username\":\"load_" + runId + "_" + i + "\",\"password\":\"password\"}"));
+        add(routes, "login", i -> post("/login",
+                "{\"username\":\"load_" + runId + "\",\"password\":\"password\"}"));
+        routes.put("createMessage", new Route("createMessage", i -> post("/messages",
+                "{\"postedBy\":" + scratchAccountId + ",\"messageText\":\"load " + i + "\",\"timePostedEpoch\":" + i + "}"), true));
+        add(routes, "createBatch", i -> post("/messages/batch", batchJson(scratchAccountId, 10, i)));
+        add(routes, "listMessages", i -> get("/messages?limit=100"));
+        add(routes, "exportMessages", i -> get("/messages/export"));
+        add(routes, "getMessage", i -> get("/messages/" + seededMessageId(i)));
+        add(routes, "updateMessage", i -> request("/messages/" + seededMessageId(i))
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"messageText\":\"edited " + i + "\"}"))
+                .header("Content-Type", "application/json").build());
+        add(routes, "deleteMessage", i -> request("/messages/" + createdOrMissingId(i)).DELETE().build());
+        add(routes, "deleteMessages", i -> {
+            StringJoiner ids = new StringJoiner(",");
+            for (int k = 0; k < 10; k++) {
+                ids.add(Integer.toString(createdOrMissingId(i)));
+            }
+            return request("/messages?ids=" + ids).DELETE().build();
+        });
+        add(routes, "deleteUserMessages", i -> request("/accounts/" + scratchAccountId + "/messages").DELETE().build());
+        add(routes, "userTimeline", i -> get("/accounts/" + posterId + "/messages?limit=100"));
+        return routes;
+    }
+
+    /**
+     * Registers the poster and scratch accounts for this run and inserts the messages reads will hit.
+     */
+    private void seed(int messages) throws Exception {
+        posterId = register("load_" + runId);
+        scratchAccountId = register("load_" + runId + "_scratch");
+
+        List<Integer> ids = new ArrayList<>(messages);
+        for (int offset = 0; offset < messages; offset += 1000) {
+            String json = batchJson(posterId, Math.min(1000, messages - offset), offset);
+            HttpResponse<String> response = client.send(post("/messages/batch", json), HttpResponse.BodyHandlers.ofString());
+            for (JsonNode item : mapper.readTree(response.body())) {
+                if (item.hasNonNull("messageId")) {
+                    ids.add(item.get("messageId").asInt());
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Seeding failed: no messages were created at " + base);
+        }
+        seededMessageIds = ids.stream().mapToInt(Integer::intValue).toArray();
+        System.out.printf("Seeded %d messages for account %d%n", seededMessageIds.length, posterId);
+    }
+
+    private int register(String username) throws Exception {
+        HttpResponse<String> response = client.send(post("/register",
+                "{\"username\":\"" + username + "\",\"password\":\"password\"}"), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not register " + username + " at " + base + ": HTTP " + response.statusCode());
+        }
+        return mapper.readTree(response.body()).get("accountId").asInt();
+    }
+
+    /**
+     * Prints the per-route and overall table, writes the JSON summary and .hgrm files, and checks the budgets.
+     */
+    private int report(RouteStats[] stats, double rate, Duration measured) throws IOException {
+        double seconds = measured.toNanos() / 1e9;
+        Histogram overallResponse = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        Histogram overallService = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long overallErrors = 0;
+        long overallDropped = 0;
+
+        Path dir = Path.of(options.getOrDefault("report", "target/load-report"));
+        Files.createDirectories(dir);
+        List<RouteReport> lines = new ArrayList<>();
+        for (RouteStats s : stats) {
+            overallResponse.add(s.responseTime);
+            overallService.add(s.serviceTime);
+            overallErrors += s.errors.sum();
+            overallDropped += s.dropped.sum();
+            lines.add(line(s.name, s.responseTime, s.serviceTime, s.errors.sum(), s.dropped.sum(), seconds));
+            writeHgrm(dir.resolve(s.name + ".hgrm"), s.responseTime);
+        }
+        RouteReport overall = line("overall", overallResponse, overallService, overallErrors, overallDropped, seconds);
+        lines.add(overall);
+        writeHgrm(dir.resolve("overall.hgrm"), overallResponse);
+
+        System.out.printf("%n%-20s %9s %7s %7s %9s %9s %9s %9s %9s %11s%n", "route", "requests", "errors", "dropped",
+                "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        for (RouteReport l : lines) {
+            System.out.printf("%-20s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %11.2f%n", l.route(), l.requests(),
+                    l.errors(), l.dropped(), l.throughput(), l.p50Ms(), l.p99Ms(), l.p999Ms(), l.maxMs(), l.serviceP99Ms());
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("target", base);
+        summary.put("offeredRate", rate);
+        summary.put("durationSeconds", seconds);
+        summary.put("routes", lines);
+        mapper.writerWithDefaultPrettyPrinter().writeValue(dir.resolve("summary.json").toFile(), summary);
+        System.out.println("Report written to " + dir.toAbsolutePath());
+
+        // Release gates
+        int status = 0;
+        if (options.containsKey("maxP99")) {
+            double budgetMs = duration("maxP99", null).toNanos() / 1e6;
+            if (overall.p99Ms() > budgetMs) {
+                System.out.printf("FAIL: overall p99 %.2f ms exceeds budget %.2f ms%n", overall.p99Ms(), budgetMs);
+                status = 1;
+            }
+        }
+        if (options.containsKey("maxErrorRate")) {
+            double budget = Double.parseDouble(options.get("maxErrorRate"));
+            long arrivals = overall.requests() + overall.dropped();
+            double errorRate = arrivals == 0 ? 0.0 : (double) (overall.errors() + overall.dropped()) / arrivals;
+            if (errorRate > budget) {
+                System.out.printf("FAIL: error rate %.5f exceeds budget %.5f%n", errorRate, budget);
+                status = 1;
+            }
+        }
+        return status;
+    }
+
+    private static RouteReport line(String name, Histogram response, Histogram service, long errors, long dropped,
+                                    double seconds) {
+        long count = response.getTotalCount();
+        return new RouteReport(name, count, errors, dropped, count / seconds,
+                response.getValueAtPercentile(50) / 1e3, response.getValueAtPercentile(99) / 1e3,
+                response.getValueAtPercentile(99.9) / 1e3, response.getMaxValue() / 1e3,
+                service.getValueAtPercentile(99) / 1e3);
+    }
+
+    private static void writeHgrm(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0); // Recorded in microseconds, printed in milliseconds
+        }
+    }
+
+    private void captureMessageId(String body) {
+        try {
+            JsonNode id = mapper.readTree(body).get("messageId");
+            if (id != null) {
+                createdMessageIds.offer(id.asInt());
+            }
+        } catch (IOException e) {
+            // Not a message body; nothing to collect
+        }
+    }
+
+    private int seededMessageId(int n) {
+        return seededMessageIds[Math.floorMod(n, seededMessageIds.length)];
+    }
+
+    private int createdOrMissingId(int n) {
+        Integer id = createdMessageIds.poll();
+        return id != null ? id : -1 - n;
+    }
+
+    private static String batchJson(int postedBy, int count, int first) {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < count; i++) {
+            json.add("{\"postedBy\":" + postedBy + ",\"messageText\":\"load seed " + (first + i)
+                    + "\",\"timePostedEpoch\":" + (first + i) + "}");
+        }
+        return json.toString();
+    }
+
+    private static void add(Map<String, Route> routes, String name, IntFunction<HttpRequest> request) {
+        routes.put(name, new Route(name, request, false));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(base + path)).timeout(timeout);
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path)
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    private Duration duration(String key, String defaultValue) {
+        return DurationStyle.detectAndParse(options.getOrDefault(key, defaultValue));
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, nanos / 1000));
+    }
+}
@@ -0,0 +1,104 @@
+package com.app.Benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.app.SocialMediaApp;
+
+/**
+ * POST /messages one message at a time against POST /messages/batch, from a single HTTP client.
+ *
+ * Each trial starts the application with its web server on port 8080. Every invocation posts "messages"
+ * messages from the seed user 9999: one request per message for single, "batchSize" messages per request
+ * for batch. The score is the time for all of them, so messages/s is messages / score; the warm-up
+ * iteration is not measured.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageBatchBenchmark {
+    private static final String BASE = "http://localhost:8080";
+
+    @Param({"10000"})
+    private int messages;
+
+    @Param({"1000"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = SpringApplication.run(SocialMediaApp.class, "--logging.level.root=WARN");
+        // data.sql inserts fixed message IDs up to 9999; generated IDs start above them
+        context.getBean(JdbcTemplate.class).execute("alter sequence message_seq restart with 10000");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        SpringApplication.exit(context);
+    }
+
+    @Benchmark
+    public int single() throws IOException, InterruptedException {
+        for (int i = 0; i < messages; i++) {
+            post("/messages", message(i));
+        }
+        return messages;
+    }
+
+    @Benchmark
+    public int batch() throws IOException, InterruptedException {
+        for (int from = 0; from < messages; from += batchSize) {
+            StringJoiner body = new StringJoiner(",", "[", "]");
+            for (int i = from; i < Math.min(messages, from + batchSize); i++) {
+                body.add(message(i));
+            }
+            post("/messages/batch", body.toString());
+        }
+        return messages;
+    }
+
+    private static String message(int i) {
+        return "{\"postedBy\":9999,\"messageText\":\"batch benchmark message " + i + "\",\"timePostedEpoch\":"
+                + (1669947792L + i) + "}";
+    }
+
+    private void post(String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(BASE + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " answered " + response.statusCode());
+        }
+    }
+}
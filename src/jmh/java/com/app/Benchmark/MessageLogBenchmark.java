@@ -0,0 +1,144 @@
+package com.app.Benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import com.app.Entity.Message;
+import com.app.Repository.InMemoryFollowStore;
+import com.app.Repository.LogMessageStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The message log storage engine on its own (no Spring context), in a temporary directory with 64MB segments.
+ *
+ * - write: four threads inserting batches of batchSize messages, so messages per millisecond are the score
+ *   times batchSize. Batches take the append lock once, which is what POST /messages/batch and the
+ *   write-behind queue get.
+ * - recover: opening a log of "messages" messages (one in ten deleted, one in ten updated), i.e. mapping and
+ *   scanning every segment and rebuilding the offset index, timelines and live-ID bitmap.
+ */
+@Fork(1)
+public class MessageLogBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class WriteState {
+        @Param({"1", "100"})
+        int batchSize;
+
+        Path directory;
+        LogMessageStore store;
+
+        @Setup(Level.Trial)
+        public void open() throws IOException {
+            directory = Files.createTempDirectory("message-log-benchmark");
+            store = openStore(directory);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            store.shutdown();
+            deleteRecursively(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RecoveryState {
+        @Param({"100000", "1000000"})
+        int messages;
+
+        Path directory;
+        LogMessageStore recovered;
+
+        @Setup(Level.Trial)
+        public void fill() throws Exception {
+            directory = Files.createTempDirectory("message-log-benchmark");
+            LogMessageStore store = openStore(directory);
+            for (int start = 0; start < messages; start += 1000) {
+                List<Message> batch = new ArrayList<>(1000);
+                for (int i = start; i < Math.min(messages, start + 1000); i++) {
+                    batch.add(new Message(ApplicationState.SEED_POSTERS[i % 4], "benchmark message " + i, 1669947792L + i));
+                }
+                store.insertAll(batch);
+                for (int i = 0; i < batch.size(); i += 10) {
+                    store.deleteMessageById(batch.get(i).getMessageId());
+                    store.updateMessageText(batch.get(i + 1).getMessageId(), "updated benchmark message");
+                }
+            }
+            store.shutdown();
+        }
+
+        @TearDown(Level.Invocation)
+        public void closeRecovered() throws InterruptedException {
+            recovered.shutdown();
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Threads(4)
+    public void write(WriteState state) {
+        List<Message> batch = new ArrayList<>(state.batchSize);
+        int poster = ApplicationState.SEED_POSTERS[ThreadLocalRandom.current().nextInt(4)];
+        long now = System.currentTimeMillis() / 1000;
+        for (int i = 0; i < state.batchSize; i++) {
+            batch.add(new Message(poster, "benchmark write", now));
+        }
+        state.store.insertAll(batch);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public int recover(RecoveryState state) {
+        state.recovered = openStore(state.directory);
+        return state.recovered.segmentCount();
+    }
+
+    static LogMessageStore openStore(Path directory) {
+        return new LogMessageStore(new InMemoryFollowStore(1), new SimpleMeterRegistry(), directory.toString(),
+                DataSize.ofMegabytes(64), Duration.ofSeconds(1), Duration.ofMinutes(1), 0.5, 64);
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.app.Benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.Dto.MessageView;
+import com.app.Entity.Message;
+import com.app.Repository.MessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Entity hydration versus MessageView projections for list reads of "rows" messages.
+ *
+ * The entity variants replay how the list endpoints used to read: "SELECT m FROM Message m" in a
+ * read-write transaction, so every row becomes a managed entity with a dirty-checking snapshot and
+ * is flushed at commit. The projection variants use the repository's constructor-expression query in
+ * a read-only transaction, as the endpoints do now. The *AndSerialize variants add the Jackson step
+ * of the response. Run with "-prof gc" (the default jmh.args) and compare gc.alloc.rate.norm, the
+ * bytes allocated per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageProjectionBenchmark {
+    @Param({"10000"})
+    private int rows;
+
+    private MessageRepository messageRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private ObjectWriter entityWriter;
+    private ObjectWriter viewWriter;
+    private int beforeFirstSeedId;
+
+    @Setup
+    public void setUp(ApplicationState app) {
+        messageRepository = app.bean(MessageRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(app.bean(EntityManagerFactory.class));
+        PlatformTransactionManager transactionManager = app.bean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        ObjectMapper mapper = app.bean(ObjectMapper.class);
+        entityWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Message.class));
+        viewWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, MessageView.class));
+
+        // The seeded messages have the highest IDs, so the last "rows" of them form one contiguous range
+        List<MessageView> tail = messageRepository.findPageAfter(0, Limit.unlimited());
+        beforeFirstSeedId = tail.get(tail.size() - rows).messageId() - 1;
+    }
+
+    @Benchmark
+    public List<Message> entityRead() {
+        return readWrite.execute(status -> readEntities());
+    }
+
+    @Benchmark
+    public List<MessageView> projectionRead() {
+        return readOnly.execute(status -> readViews());
+    }
+
+    @Benchmark
+    public byte[] entityReadAndSerialize() {
+        return readWrite.execute(status -> {
+            try {
+                return entityWriter.writeValueAsBytes(readEntities());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Benchmark
+    public byte[] projectionReadAndSerialize() {
+        return readOnly.execute(status -> {
+            try {
+                return viewWriter.writeValueAsBytes(readViews());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private List<Message> readEntities() {
+        return entityManager.createQuery("SELECT m FROM Message m WHERE m.messageId > :messageId ORDER BY m.messageId",
+                        Message.class)
+                .setParameter("messageId", beforeFirstSeedId)
+                .setMaxResults(rows)
+                .getResultList();
+    }
+
+    private List<MessageView> readViews() {
+        return messageRepository.findPageAfter(beforeFirstSeedId, Limit.of(rows));
+    }
+}
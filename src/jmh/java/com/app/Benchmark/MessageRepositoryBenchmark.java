@@ -0,0 +1,74 @@
+package com.app.Benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+
+import com.app.Dto.MessageView;
+import com.app.Repository.AccountRepository;
+import com.app.Repository.MessageRepository;
+
+/**
+ * Repository calls behind the read endpoints, against the embedded H2 database seeded by ApplicationState.
+ *
+ * These go straight to the repositories, bypassing the message and account caches, so they measure
+ * query execution, row materialization (entities for findById, MessageView projections for the
+ * list queries) and transaction overhead per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageRepositoryBenchmark {
+    @Param({"100"})
+    private int pageSize;
+
+    private MessageRepository messageRepository;
+    private AccountRepository accountRepository;
+    private int firstSeedId;
+
+    @Setup
+    public void setUp(ApplicationState app) {
+        messageRepository = app.bean(MessageRepository.class);
+        accountRepository = app.bean(AccountRepository.class);
+        firstSeedId = messageRepository.findPageAfter(0, Limit.of(1)).get(0).messageId();
+    }
+
+    @Benchmark
+    public Object findById() {
+        int id = firstSeedId + ThreadLocalRandom.current().nextInt(ApplicationState.SEED_MESSAGES);
+        return messageRepository.findById(id);
+    }
+
+    @Benchmark
+    public List<MessageView> keysetPage() {
+        int after = firstSeedId + ThreadLocalRandom.current().nextInt(ApplicationState.SEED_MESSAGES - pageSize);
+        return messageRepository.findPageAfter(after, Limit.of(pageSize));
+    }
+
+    @Benchmark
+    public List<MessageView> timelineFirstPage() {
+        int poster = ApplicationState.SEED_POSTERS[ThreadLocalRandom.current().nextInt(ApplicationState.SEED_POSTERS.length)];
+        return messageRepository.findTimeline(poster, Limit.of(pageSize));
+    }
+
+    @Benchmark
+    public List<Integer> existingAccountIds() {
+        return accountRepository.findExistingAccountIds(List.of(9999, 9998, 9997, 9996, 1, 2));
+    }
+}
@@ -0,0 +1,62 @@
+package com.app.Benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.Entity.Message;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Jackson serialization of List&lt;Message&gt; response bodies at page sizes from a handful to a full export chunk.
+ *
+ * Uses a plain ObjectMapper (no Spring context needed), with the writer resolved once as the
+ * MVC message converter does. Compare gc.alloc.rate.norm across sizes to see per-message allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageSerializationBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<Message> messages;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Message.class));
+        messages = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            messages.add(new Message(10_000 + i, 9999, "benchmark message number " + i, 1669947792L + i));
+        }
+    }
+
+    @Benchmark
+    public byte[] toBytes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(messages);
+    }
+
+    @Benchmark
+    public String toJsonString() throws JsonProcessingException {
+        return writer.writeValueAsString(messages);
+    }
+}
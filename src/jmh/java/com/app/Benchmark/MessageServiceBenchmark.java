@@ -0,0 +1,65 @@
+package com.app.Benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.Entity.Message;
+import com.app.Exception.MessageBlankTextException;
+import com.app.Exception.MessageTooLongException;
+import com.app.Service.MessageService;
+
+/**
+ * MessageService.createMessage: the two rejection paths of the validation step and a full accepted create.
+ *
+ * Rejections measure validation plus exception construction and never reach the database;
+ * the accepted case adds the poster lookup (cached after the first call) and the insert.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageServiceBenchmark {
+    private MessageService messageService;
+    private String tooLongText;
+
+    @Setup
+    public void setUp(ApplicationState app) {
+        messageService = app.bean(MessageService.class);
+        tooLongText = "x".repeat(256);
+    }
+
+    @Benchmark
+    public Object rejectBlankText() {
+        return reject(new Message(9999, "   ", 1669947792L));
+    }
+
+    @Benchmark
+    public Object rejectTooLongText() {
+        return reject(new Message(9999, tooLongText, 1669947792L));
+    }
+
+    @Benchmark
+    public Message createValid() {
+        return messageService.createMessage(new Message(9999, "benchmark message", 1669947792L));
+    }
+
+    private Object reject(Message message) {
+        try {
+            return messageService.createMessage(message);
+        } catch (MessageBlankTextException | MessageTooLongException e) {
+            return e;
+        }
+    }
+}
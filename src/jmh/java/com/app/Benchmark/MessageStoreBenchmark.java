@@ -0,0 +1,111 @@
+package com.app.Benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.app.Entity.Account;
+import com.app.Entity.Message;
+import com.app.Repository.AccountStore;
+import com.app.Repository.MessageStore;
+import com.app.SocialMediaApp;
+
+/**
+ * The MessageStore of each storage engine ("jpa" on the embedded H2 database, "memory" on striped primitive
+ * maps, "log" on memory-mapped segment files in a temporary directory) under a concurrent mix of reads and writes.
+ *
+ * Each trial starts its own application context on the engine under test and seeds SEED_MESSAGES messages
+ * from four posters. Every operation is a write (save) with probability writePercent / 100, otherwise a read:
+ * a random message by ID or the newest page of a random poster's timeline. The stores are called directly,
+ * below the services and their caches, so this measures the engines themselves.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MessageStoreBenchmark {
+    static final int SEED_MESSAGES = 10_000;
+    static final int TIMELINE_PAGE = 20;
+
+    @Param({"jpa", "memory", "log"})
+    private String engine;
+
+    @Param({"5", "50"})
+    private int writePercent;
+
+    private Path logDirectory;
+    private ConfigurableApplicationContext context;
+    private MessageStore messageStore;
+    private int[] posters;
+    private int firstId;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        logDirectory = Files.createTempDirectory("message-store-benchmark");
+        context = SpringApplication.run(SocialMediaApp.class, "--spring.main.web-application-type=none",
+                "--logging.level.root=WARN", "--app.storage.engine=" + engine, "--app.storage.log.directory=" + logDirectory);
+        messageStore = context.getBean(MessageStore.class);
+        if (engine.equals("jpa")) {
+            // As in ApplicationState: generated IDs start above the fixed IDs of data.sql
+            context.getBean(JdbcTemplate.class).execute("alter sequence message_seq restart with 10000");
+        }
+
+        // The memory engine starts empty, so the posters are registered here rather than taken from data.sql
+        AccountStore accountStore = context.getBean(AccountStore.class);
+        posters = new int[4];
+        for (int i = 0; i < posters.length; i++) {
+            posters[i] = accountStore.save(new Account("store-benchmark-" + i, "password")).getAccountId();
+        }
+        List<Message> seed = new ArrayList<>(SEED_MESSAGES);
+        for (int i = 0; i < SEED_MESSAGES; i++) {
+            seed.add(new Message(posters[i % posters.length], "benchmark message " + i, 1669947792L + i));
+        }
+        messageStore.insertAll(seed);
+        firstId = seed.get(0).getMessageId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        SpringApplication.exit(context);
+        MessageLogBenchmark.deleteRecursively(logDirectory);
+    }
+
+    @Benchmark
+    public Object mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int poster = posters[random.nextInt(posters.length)];
+        int dice = random.nextInt(100);
+        if (dice < writePercent) {
+            return messageStore.save(new Message(poster, "benchmark write", System.currentTimeMillis() / 1000));
+        }
+        if ((dice & 1) == 0) {
+            return messageStore.findById(firstId + random.nextInt(SEED_MESSAGES));
+        }
+        return messageStore.findTimeline(poster, TIMELINE_PAGE);
+    }
+}
@@ -0,0 +1,179 @@
+package com.app.Benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.app.SocialMediaApp;
+
+/**
+ * Compares platform-thread and virtual-thread request execution for every SocialMediaController route.
+ *
+ * For each mode the application is started on port 8080 ("spring.threads.virtual.enabled" false, then true),
+ * seeded with messages, and each endpoint is driven by a fixed number of concurrent connections for a fixed
+ * duration (closed model: every connection sends its next request as soon as the previous one completes).
+ * Throughput and p50/p99 latency are printed per endpoint and mode.
+ * The virtual-thread run only differs from the platform run on a Java 21+ runtime.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:java -Dbenchmark.main=com.app.Benchmark.VirtualThreadBenchmark
+ *           [-Dexec.args="<connections> <secondsPerEndpoint>"]   (defaults: 1000 connections, 10 s)
+ */
+public class VirtualThreadBenchmark {
+    private static final String BASE = "http://localhost:8080";
+    private static final int SEED_MESSAGES = 5000;
+
+    /**
+     * Latency summary of one endpoint in one mode.
+     */
+    record Result(String endpoint, String mode, long requests, long errors, double seconds, long p50Nanos, long p99Nanos) {
+        double throughput() {
+            return requests / seconds;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            ConfigurableApplicationContext app = SpringApplication.run(SocialMediaApp.class,
+                    "--spring.threads.virtual.enabled=" + virtual, "--logging.level.root=WARN");
+            try {
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .build();
+                seed(client);
+                String mode = virtual ? "virtual" : "platform";
+                for (Map.Entry<String, IntFunction<HttpRequest>> endpoint : endpoints().entrySet()) {
+                    results.add(run(client, endpoint.getKey(), mode, endpoint.getValue(), connections, seconds));
+                }
+            } finally {
+                SpringApplication.exit(app);
+            }
+        }
+
+        System.out.printf("%n%-36s %-9s %12s %10s %10s %8s%n", "endpoint", "mode", "req/s", "p50 ms", "p99 ms", "errors");
+        for (Result r : results) {
+            System.out.printf("%-36s %-9s %12.0f %10.2f %10.2f %8d%n", r.endpoint(), r.mode(), r.throughput(),
+                    r.p50Nanos() / 1e6, r.p99Nanos() / 1e6, r.errors());
+        }
+    }
+
+    /**
+     * The request mix: one request factory per route, parameterized by a per-request sequence number.
+     */
+    private static Map<String, IntFunction<HttpRequest>> endpoints() {
+        Map<String, IntFunction<HttpRequest>> endpoints = new LinkedHashMap<>();
+        endpoints.put("POST /login", i -> post("/login", "{\"username\":\"testuser1\",\"password\":\"password\"}"));
+        endpoints.put("POST /register", i -> post("/register",
+                "{\"username\":\"bench" + System.nanoTime() + "_" + i + "\",\"password\":\"password\"}"));
+        endpoints.put("POST /messages", i -> post("/messages",
+                "{\"postedBy\":9999,\"messageText\":\"benchmark\",\"timePostedEpoch\":" + i + "}"));
+        endpoints.put("GET /messages?limit=100", i -> get("/messages?limit=100"));
+        endpoints.put("GET /messages/{id}", i -> get("/messages/" + (1 + i % SEED_MESSAGES)));
+        endpoints.put("GET /accounts/{id}/messages?limit=100", i -> get("/accounts/9999/messages?limit=100"));
+        endpoints.put("PATCH /messages/{id}", i -> HttpRequest.newBuilder(URI.create(BASE + "/messages/" + (1 + i % SEED_MESSAGES)))
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"messageText\":\"edited " + i + "\"}"))
+                .header("Content-Type", "application/json").build());
+        endpoints.put("DELETE /messages/{id} (missing)", i -> HttpRequest.newBuilder(URI.create(BASE + "/messages/" + (-1 - i)))
+                .DELETE().build());
+        return endpoints;
+    }
+
+    /**
+     * Drives one endpoint with a fixed number of concurrent connections until the deadline.
+     */
+    private static Result run(HttpClient client, String name, String mode, IntFunction<HttpRequest> request,
+                              int connections, int seconds) throws Exception {
+        AtomicInteger sequence = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofSeconds(seconds).toNanos();
+
+        List<Future<long[]>> workers = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(connections); // One client thread per connection
+        try {
+            for (int c = 0; c < connections; c++) {
+                workers.add(pool.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request.apply(sequence.getAndIncrement()),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 500) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - t0;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long[] all = workers.stream().map(VirtualThreadBenchmark::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        long p50 = all.length == 0 ? 0 : all[(int) (all.length * 0.50)];
+        long p99 = all.length == 0 ? 0 : all[Math.min(all.length - 1, (int) (all.length * 0.99))];
+        return new Result(name, mode, all.length, errors.get(), elapsed, p50, p99);
+    }
+
+    /**
+     * Inserts SEED_MESSAGES messages so single-message reads and updates hit existing rows.
+     */
+    private static void seed(HttpClient client) throws Exception {
+        for (int batch = 0; batch < SEED_MESSAGES / 1000; batch++) {
+            StringBuilder json = new StringBuilder("[");
+            for (int i = 0; i < 1000; i++) {
+                json.append(i == 0 ? "" : ",").append("{\"postedBy\":9999,\"messageText\":\"seed\",\"timePostedEpoch\":").append(i).append('}');
+            }
+            client.send(post("/messages/batch", json.append(']').toString()), HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(BASE + path)).build();
+    }
+
+    private static HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(BASE + path))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
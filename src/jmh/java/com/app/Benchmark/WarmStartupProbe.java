@@ -0,0 +1,191 @@
+package com.app.Benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.h2.tools.RunScript;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Time to first request of the "persistent" profile on a database that already holds many messages.
+ *
+ * The probe fills a file-backed H2 database (schema-persistent.sql, then INSERT ... SELECT over SYSTEM_RANGE, so
+ * no JPA is involved) with "messages" messages from 1000 accounts spread over the last 30 days, unless the
+ * database already holds that many. It then starts the application in a child JVM with
+ * --spring.profiles.active=persistent "runs" times and, for each start, reports the milliseconds from process
+ * launch to the first answer of GET /messages/{id} that holds the message, and to the first GET /messages/search
+ * that finds one (i.e. once the search index has been rebuilt from the database). Devtools is disabled in the
+ * child JVM, as it would be in production.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:java -Dbenchmark.main=com.app.Benchmark.WarmStartupProbe
+ *           [-Dexec.args="messages=10000000 runs=3"]
+ *
+ * Options (key=value):
+ *   messages  Messages in the database (default 10000000)
+ *   database  Database path without the .mv.db suffix (default target/warm-startup/socialmedia)
+ *   runs      Application starts to measure (default 3)
+ *   heap      -Xmx of the application JVM (default 2g)
+ *   timeout   Give up on a start after this long (default 10m)
+ */
+public class WarmStartupProbe {
+    private static final int ACCOUNTS = 1000;
+    private static final int CHUNK = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        int messages = Integer.parseInt(options.getOrDefault("messages", "10000000"));
+        Path database = Path.of(options.getOrDefault("database", "target/warm-startup/socialmedia")).toAbsolutePath();
+        int runs = Integer.parseInt(options.getOrDefault("runs", "3"));
+        String heap = options.getOrDefault("heap", "2g");
+        Duration timeout = DurationStyle.detectAndParse(options.getOrDefault("timeout", "10m"));
+
+        Files.createDirectories(database.getParent());
+        populate(database, messages);
+        System.out.printf("Database: %s.mv.db, %d MB%n", database,
+                Files.size(Path.of(database + ".mv.db")) / (1024 * 1024));
+
+        for (int run = 1; run <= runs; run++) {
+            measure(run, database, heap, timeout, messages);
+        }
+    }
+
+    /**
+     * Creates the schema and inserts messages (and their accounts) until the database holds "messages" of them.
+     */
+    private static void populate(Path database, int messages) throws SQLException, IOException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:file:" + database + ";CACHE_SIZE=262144",
+                "sa", "password");
+             Statement statement = connection.createStatement()) {
+            runSchema(connection);
+            int existing = count(statement, "select count(*) from message");
+            if (existing >= messages) {
+                return;
+            }
+            long started = System.nanoTime();
+            if (count(statement, "select count(*) from account") < ACCOUNTS) {
+                statement.execute("insert into account (accountId, username, password) "
+                        + "select x, 'user' || x, 'password' from system_range(1, " + ACCOUNTS + ")");
+                statement.execute("alter sequence account_seq restart with " + (ACCOUNTS + 1));
+            }
+            // Loading without the secondary indexes and creating them afterwards is about three times faster
+            statement.execute("drop index if exists message_postedBy_time_idx");
+            statement.execute("drop index if exists message_time_idx");
+            long now = System.currentTimeMillis() / 1000;
+            for (int from = existing + 1; from <= messages; from += CHUNK) {
+                int to = Math.min(messages, from + CHUNK - 1);
+                statement.execute("insert into message (messageId, postedBy, messageText, timePostedEpoch) "
+                        + "select x, mod(x, " + ACCOUNTS + ") + 1, 'warm startup message ' || mod(x, 10000) || ' #probe', "
+                        + now + " - mod(x * 7919, 2592000) from system_range(" + from + ", " + to + ")");
+                if (to % 1_000_000 == 0) {
+                    System.out.printf("Inserted messages up to %d%n", to);
+                }
+            }
+            runSchema(connection);
+            statement.execute("alter sequence message_seq restart with " + (messages + 1));
+            statement.execute("shutdown compact");
+            System.out.printf("Populated %d messages in %d s%n", messages - existing,
+                    (System.nanoTime() - started) / 1_000_000_000);
+        }
+    }
+
+    private static void runSchema(Connection connection) throws SQLException, IOException {
+        try (InputStreamReader schema = new InputStreamReader(
+                WarmStartupProbe.class.getResourceAsStream("/schema-persistent.sql"), StandardCharsets.UTF_8)) {
+            RunScript.execute(connection, schema);
+        }
+    }
+
+    private static int count(Statement statement, String sql) throws SQLException {
+        try (ResultSet rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+
+    /**
+     * Starts the application in a child JVM and polls it until both probe requests have found a message.
+     */
+    private static void measure(int run, Path database, String heap, Duration timeout, int messages)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-Xmx" + heap,
+                "-Dspring.devtools.restart.enabled=false", "-cp", classpath(), "com.app.SocialMediaApp",
+                "--spring.profiles.active=persistent", "--app.persistent.database=" + database));
+        Path output = database.resolveSibling("run-" + run + ".log");
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest byId = HttpRequest.newBuilder(URI.create("http://localhost:8080/messages/" + messages / 2)).build();
+        HttpRequest search = HttpRequest.newBuilder(URI.create("http://localhost:8080/messages/search?q=probe&limit=1")).build();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(output.toFile()).start();
+        long firstById = -1;
+        long firstSearch = -1;
+        try {
+            while ((firstById < 0 || firstSearch < 0) && System.nanoTime() - started < timeout.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + output);
+                }
+                if (firstById < 0 && ok(client, byId, "messageId")) {
+                    firstById = (System.nanoTime() - started) / 1_000_000;
+                }
+                if (firstSearch < 0 && ok(client, search, "probe")) {
+                    firstSearch = (System.nanoTime() - started) / 1_000_000;
+                }
+                Thread.sleep(10);
+            }
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+        System.out.printf("Run %d: first GET /messages/{id} after %d ms, first GET /messages/search after %d ms (log: %s)%n",
+                run, firstById, firstSearch, output);
+    }
+
+    private static boolean ok(HttpClient client, HttpRequest request, String expected) throws InterruptedException {
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 && response.body().contains(expected);
+        } catch (IOException e) {
+            return false; // Not listening yet
+        }
+    }
+
+    /**
+     * The test classpath exec:java runs this class with, for the child JVM.
+     */
+    private static String classpath() {
+        if (WarmStartupProbe.class.getClassLoader() instanceof URLClassLoader loader) {
+            List<String> entries = new ArrayList<>();
+            for (URL url : loader.getURLs()) {
+                entries.add(new File(URI.create(url.toString())).getPath());
+            }
+            return entries.stream().collect(Collectors.joining(File.pathSeparator));
+        }
+        return System.getProperty("java.class.path");
+    }
+}
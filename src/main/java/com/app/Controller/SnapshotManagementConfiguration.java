@@ -0,0 +1,37 @@
+package com.app.Controller;
+
+import com.app.Repository.DatabaseSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.web.server.ConditionalOnManagementPort;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Serves GET /admin/snapshot (SnapshotServlet) on the management server only, never on the public port.
+ *
+ * Off unless "app.snapshot.endpoint.enabled=true", and only on the "jpa" storage engine (the DatabaseSnapshot
+ * bean). It also needs "management.server.port" set to a port of its own: this class is listed in
+ * META-INF/spring/...ManagementContextConfiguration.imports, so it is only loaded into the management context,
+ * which exists only when that port differs from server.port. It is deliberately not annotated
+ * with @ManagementContextConfiguration, which is a @Configuration and would let component scanning load it into
+ * the main context (and the public port) as well.
+ *
+ * "app.snapshot.endpoint.token" must be set once enabled; startup fails otherwise.
+ */
+@ConditionalOnManagementPort(ManagementPortType.DIFFERENT)
+@ConditionalOnProperty(name = "app.snapshot.endpoint.enabled", havingValue = "true")
+@ConditionalOnBean(DatabaseSnapshot.class)
+public class SnapshotManagementConfiguration {
+
+    @Bean
+    public ServletRegistrationBean<SnapshotServlet> snapshotServlet(DatabaseSnapshot databaseSnapshot,
+                                                                    @Value("${app.snapshot.endpoint.token:}") String token) {
+        if (token.isBlank()) {
+            throw new IllegalStateException("app.snapshot.endpoint.token must be set to enable the snapshot endpoint");
+        }
+        return new ServletRegistrationBean<>(new SnapshotServlet(databaseSnapshot, token), "/admin/snapshot");
+    }
+}
@@ -0,0 +1,62 @@
+package com.app.Controller;
+
+import com.app.Repository.DatabaseSnapshot;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * GET /admin/snapshot on the management server (see SnapshotManagementConfiguration): streams a consistent,
+ * gzip-compressed snapshot of the account, message and follow tables while the application keeps accepting
+ * writes (see DatabaseSnapshot for the format).
+ *
+ * The snapshot holds every account's password, so the request must carry "Authorization: Bearer <token>" with
+ * the configured "app.snapshot.endpoint.token"; anything else is answered with 401 and no data.
+ */
+public class SnapshotServlet extends HttpServlet {
+    static final String SNAPSHOT_MEDIA_TYPE = "application/gzip";
+
+    private final transient DatabaseSnapshot databaseSnapshot;
+    private final byte[] expectedAuthorization;
+
+    /**
+     * @param databaseSnapshot Writer of consistent database snapshots.
+     * @param token            The bearer token a request must present.
+     */
+    public SnapshotServlet(DatabaseSnapshot databaseSnapshot, String token) {
+        this.databaseSnapshot = databaseSnapshot;
+        this.expectedAuthorization = ("Bearer " + token).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Streams the snapshot to an authorized caller.
+     *
+     * The file can be given to a new node as "app.snapshot.restore-from" to start it with the same data.
+     *
+     * @param request  The request, whose Authorization header is checked.
+     * @param response The servlet response whose output stream receives the snapshot.
+     * @throws IOException If writing to the response fails (e.g. the client disconnects).
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        // Constant-time comparison, so the response time does not reveal how much of the token matched
+        if (authorization == null
+                || !MessageDigest.isEqual(authorization.getBytes(StandardCharsets.UTF_8), expectedAuthorization)) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return;
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(SNAPSHOT_MEDIA_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("snapshot-" + System.currentTimeMillis() / 1000 + ".gz").build().toString());
+        databaseSnapshot.write(response.getOutputStream());
+    }
+}
@@ -1,13 +1,29 @@
 package com.app.Controller;
 
+import com.app.Dto.BatchItemResult;
+import com.app.Dto.MessageView;
+import com.app.Dto.TrendingHashtag;
+import com.app.Dto.VersionStamp;
 import com.app.Entity.Account;
 import com.app.Entity.Message;
+import com.app.Pagination.CursorPage;
 import com.app.Service.AccountService;
+import com.app.Service.FeedService;
 import com.app.Service.MessageService;
+import com.app.Service.TrendingHashtags;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for handling account and message-related operations.
@@ -17,16 +33,23 @@ import java.util.List;
 public class SocialMediaController {
     private final AccountService accountService;
     private final MessageService messageService;
+    private final FeedService feedService;
+    private final TrendingHashtags trendingHashtags;
 
     /**
      * Constructor for SocialMediaController, injecting required services.
      *
      * @param accountService Service handling account operations.
      * @param messageService Service handling message operations.
+     * @param feedService    Service handling follows and home feeds.
+     * @param trendingHashtags Service counting hashtags for the trending endpoint.
      */
-    public SocialMediaController(AccountService accountService, MessageService messageService) {
+    public SocialMediaController(AccountService accountService, MessageService messageService, FeedService feedService,
+                                 TrendingHashtags trendingHashtags) {
         this.accountService = accountService;
         this.messageService = messageService;
+        this.feedService = feedService;
+        this.trendingHashtags = trendingHashtags;
     }
 
     // ========================== Account-related endpoints ==========================
@@ -76,35 +99,115 @@ public class SocialMediaController {
      * Creates a new message.
      *
      * @param message The message object containing sender, receiver, and content.
+     * @param durable When write-behind mode is enabled, whether to wait until the message is committed before responding.
      * @return A ResponseEntity containing the created account and the HTTP status.
      * 
-     * Note: MessageBlankTextException, MessageTooLongException, and UserNotFoundException are handled globally by GlobalExceptionHandler.
+     * Note: MessageBlankTextException, MessageTooLongException, UserNotFoundException, and MessageQueueFullException are handled globally by GlobalExceptionHandler.
      */
     @PostMapping("/messages")
-    public ResponseEntity<Message> createMessage(@RequestBody Message message) {
-        return ResponseEntity.ok(messageService.createMessage(message));
+    public ResponseEntity<Message> createMessage(@RequestBody Message message,
+                                                 @RequestParam(defaultValue = "false") boolean durable) {
+        return ResponseEntity.ok(messageService.createMessage(message, durable));
     }
 
     /**
-     * Retrieves all messages.
+     * Creates many messages in one request.
      *
-     * @return A ResponseEntity containing a list of all messages and the HTTP status.
+     * @param messages The messages to create.
+     * @return A ResponseEntity containing one result per message (assigned ID or rejection reason) and the HTTP status.
+     * 
+     * Invalid messages do not fail the request; they are reported as REJECTED in the result list.
+     * Note: BatchTooLargeException is handled globally by GlobalExceptionHandler.
+     */
+    @PostMapping("/messages/batch")
+    public ResponseEntity<List<BatchItemResult>> createMessages(@RequestBody List<Message> messages) {
+        return ResponseEntity.ok(messageService.createMessages(messages));
+    }
+
+    /**
+     * Retrieves messages one page at a time, in ascending messageId order, or, with since and/or until,
+     * the messages posted in a time range in ascending (timePostedEpoch, messageId) order.
+     *
+     * @param since The inclusive start of a time range, in the unit of timePostedEpoch (epoch seconds); optional.
+     * @param until The exclusive end of a time range; optional. Messages without a timePostedEpoch are not in any range.
+     * @param after An opaque cursor from a previous page's "X-Next-Cursor" header; omitted for the first page.
+     * @param limit The maximum number of messages to return (defaults to MessageService.DEFAULT_PAGE_SIZE).
+     * @return A ResponseEntity containing the page of messages and the HTTP status.
+     * 
+     * The body stays a plain JSON array. When more messages follow, the cursor for the next page is sent
+     * in the "X-Next-Cursor" header together with a "Link: <...>; rel=\"next\"" header.
+     * 
+     * Note: InvalidCursorException (including a cursor from the other ordering) is handled globally by GlobalExceptionHandler.
      */
     @GetMapping("/messages")
-    public ResponseEntity<List<Message>> getAllMessages() {
-        return ResponseEntity.ok(messageService.getAllMessages());
+    public ResponseEntity<List<MessageView>> getAllMessages(@RequestParam(required = false) Long since,
+                                                            @RequestParam(required = false) Long until,
+                                                            @RequestParam(required = false) String after,
+                                                            @RequestParam(required = false) Integer limit) {
+        if (since != null || until != null) {
+            CursorPage<MessageView> page = messageService.getMessagesInRange(since, until, after, limit);
+            String path = "/messages?" + (since != null ? "since=" + since : "")
+                    + (since != null && until != null ? "&" : "") + (until != null ? "until=" + until : "");
+            return withNextCursor(ResponseEntity.ok(), path, "after", page.nextCursor(), limit).body(page.items());
+        }
+        CursorPage<MessageView> page = messageService.getMessagesPage(after, limit);
+        return withNextCursor(ResponseEntity.ok(), "/messages", "after", page.nextCursor(), limit).body(page.items());
+    }
+
+    /**
+     * Searches message text, e.g. GET /messages/search?q=spring+boot, returning messages that contain every word.
+     *
+     * @param q      The search text. Matching is case-insensitive on whole words (letters and digits).
+     * @param before An opaque cursor from a previous page's "X-Next-Cursor" header; omitted for the newest matches.
+     * @param limit  The maximum number of messages to return (defaults to MessageService.DEFAULT_PAGE_SIZE).
+     * @return A ResponseEntity containing the matching messages, newest first, and the HTTP status.
+     * 
+     * Note: Returns an empty list if nothing matches or q contains no words. InvalidCursorException is handled globally by GlobalExceptionHandler.
+     */
+    @GetMapping("/messages/search")
+    public ResponseEntity<List<MessageView>> searchMessages(@RequestParam String q,
+                                                            @RequestParam(required = false) String before,
+                                                            @RequestParam(required = false) Integer limit) {
+        CursorPage<MessageView> page = messageService.searchMessages(q, before, limit);
+        return withNextCursor(ResponseEntity.ok(), "/messages/search?q=" + URLEncoder.encode(q, StandardCharsets.UTF_8),
+                "before", page.nextCursor(), limit).body(page.items());
+    }
+
+    /**
+     * Streams every message as newline-delimited JSON ("application/x-ndjson"), one message per line.
+     *
+     * The body is written straight to the response output stream while the rows are read from the
+     * database, so the export never holds the whole table in memory.
+     *
+     * @param response The servlet response whose output stream receives the export.
+     * @throws IOException If writing to the response fails (e.g. the client disconnects).
+     */
+    @GetMapping(value = "/messages/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportMessages(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        messageService.exportMessages(response.getOutputStream());
     }
 
     /**
      * Retrieves a message by its ID.
      *
      * @param messageId The ID of the message to retrieve.
+     * @param request   The current request, used to evaluate If-None-Match.
      * @return A ResponseEntity containing the requested message and the HTTP status.
+     * 
+     * Responses carry an ETag; a request whose If-None-Match still matches gets 304 Not Modified
+     * without the message being looked up or serialized.
      */
     @GetMapping("/messages/{messageId}")
-    public ResponseEntity<Message> getMessageById(@PathVariable Integer messageId) {
+    public ResponseEntity<Message> getMessageById(@PathVariable Integer messageId, WebRequest request) {
+        VersionStamp version = messageService.getMessageVersion(messageId);
+        if (request.checkNotModified(version.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+        }
         Message message = messageService.getMessageById(messageId);
-        return ResponseEntity.ok(message);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(message);
     }
 
     /**
@@ -145,18 +248,148 @@ public class SocialMediaController {
     } 
 
     /**
-     * Retrieves all messages sent by a specific user.
+     * Deletes several messages by ID, e.g. DELETE /messages?ids=1,2,3.
+     *
+     * @param ids The IDs of the messages to delete (at most MessageService.MAX_BATCH_SIZE).
+     * @return A ResponseEntity containing the number of deleted messages and the HTTP status.
+     * 
+     * IDs that do not exist are ignored. Note: BatchTooLargeException is handled globally by GlobalExceptionHandler.
+     */
+    @DeleteMapping("/messages")
+    public ResponseEntity<Integer> deleteMessages(@RequestParam List<Integer> ids) {
+        return ResponseEntity.ok(messageService.deleteMessages(ids));
+    }
+
+    /**
+     * Deletes every message sent by a specific user.
+     *
+     * @param accountId The ID of the user whose messages are to be deleted.
+     * @return A ResponseEntity containing the number of deleted messages and the HTTP status.
+     */
+    @DeleteMapping("/accounts/{accountId}/messages")
+    public ResponseEntity<Integer> deleteMessagesByUser(@PathVariable Integer accountId) {
+        return ResponseEntity.ok(messageService.deleteMessagesByUser(accountId));
+    }
+
+    /**
+     * Retrieves the messages sent by a specific user, newest first, one page at a time.
      *
      * @param accountId The ID of the user whose messages are to be retrieved.
-     * @return A ResponseEntity containing a list of messages from the specified user and the HTTP status.
+     * @param before    An opaque cursor from a previous page's "X-Next-Cursor" header; omitted for the newest page.
+     * @param limit     The maximum number of messages to return (defaults to MessageService.DEFAULT_PAGE_SIZE).
+     * @param request   The current request, used to evaluate If-None-Match and If-Modified-Since.
+     * @return A ResponseEntity containing a page of messages from the specified user and the HTTP status.
      * 
-     * Note: Returns an empty list if the user has no messages.
+     * Responses carry an ETag and a Last-Modified time for the user's timeline; a request whose validators
+     * still match gets 304 Not Modified without the page being queried or serialized.
+     * 
+     * Note: Returns an empty list if the user has no messages. InvalidCursorException is handled globally by GlobalExceptionHandler.
      */
     @GetMapping("/accounts/{accountId}/messages")
-    public ResponseEntity<List<Message>> getMessagesByUser(@PathVariable Integer accountId) {
-        List<Message> messages = messageService.getMessagesByUser(accountId);
+    public ResponseEntity<List<MessageView>> getMessagesByUser(@PathVariable Integer accountId,
+                                                               @RequestParam(required = false) String before,
+                                                               @RequestParam(required = false) Integer limit,
+                                                               WebRequest request) {
+        // The stamp is taken before the query, so a concurrent write can only make it stale, never too new
+        VersionStamp version = messageService.getTimelineVersion(accountId);
+        if (request.checkNotModified(version.eTag(), version.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+        }
+        CursorPage<MessageView> page = messageService.getMessagesByUser(accountId, before, limit);
     
         // Returning 200, even if the list is empty
-        return ResponseEntity.ok(messages);
+        return withNextCursor(ResponseEntity.ok().cacheControl(CacheControl.noCache()),
+                "/accounts/" + accountId + "/messages", "before", page.nextCursor(), limit)
+                .body(page.items());
+    }
+
+    // ========================== Follow and feed endpoints ==========================
+
+    /**
+     * Makes an account follow another account.
+     *
+     * @param accountId  The ID of the account that follows.
+     * @param followeeId The ID of the account to follow.
+     * @return A ResponseEntity containing 1 if the follow was created, 0 if it already existed, and the HTTP status.
+     * 
+     * Note: InvalidFollowException (following oneself) and UserNotFoundException are handled globally by GlobalExceptionHandler.
+     */
+    @PostMapping("/accounts/{accountId}/following/{followeeId}")
+    public ResponseEntity<Integer> follow(@PathVariable Integer accountId, @PathVariable Integer followeeId) {
+        return ResponseEntity.ok(feedService.follow(accountId, followeeId));
+    }
+
+    /**
+     * Makes an account stop following another account.
+     *
+     * @param accountId  The ID of the account that follows.
+     * @param followeeId The ID of the account to stop following.
+     * @return A ResponseEntity containing 1 if the follow was removed, 0 if there was none, and the HTTP status.
+     */
+    @DeleteMapping("/accounts/{accountId}/following/{followeeId}")
+    public ResponseEntity<Integer> unfollow(@PathVariable Integer accountId, @PathVariable Integer followeeId) {
+        return ResponseEntity.ok(feedService.unfollow(accountId, followeeId));
+    }
+
+    /**
+     * Retrieves an account's home feed (messages from the accounts it follows), newest first, one page at a time.
+     *
+     * @param accountId The ID of the account whose feed is retrieved.
+     * @param before    An opaque cursor from a previous page's "X-Next-Cursor" header; omitted for the newest page.
+     * @param limit     The maximum number of messages to return (defaults to MessageService.DEFAULT_PAGE_SIZE).
+     * @return A ResponseEntity containing a page of the feed and the HTTP status.
+     * 
+     * The feed holds the most recent messages only (see FeedService); the last page has no next cursor.
+     * Note: Returns an empty list if the account follows no one. UserNotFoundException (unknown account) and
+     * InvalidCursorException are handled globally by GlobalExceptionHandler.
+     */
+    @GetMapping("/accounts/{accountId}/feed")
+    public ResponseEntity<List<MessageView>> getFeed(@PathVariable Integer accountId,
+                                                     @RequestParam(required = false) String before,
+                                                     @RequestParam(required = false) Integer limit) {
+        CursorPage<MessageView> page = feedService.getFeed(accountId, before, limit);
+        return withNextCursor(ResponseEntity.ok(), "/accounts/" + accountId + "/feed", "before", page.nextCursor(), limit)
+                .body(page.items());
+    }
+
+    // ========================== Trending endpoints ==========================
+
+    /**
+     * Retrieves the most used hashtags over the last 5 minutes, hour and 24 hours, e.g. GET /trending?window=1h&limit=5.
+     *
+     * @param window "5m", "1h" or "24h" for a single window; omitted for all three.
+     * @param limit  The maximum number of hashtags per window (defaults to TrendingHashtags.DEFAULT_LIMIT).
+     * @return A ResponseEntity containing a JSON object mapping each window to its hashtags (most used first), and the HTTP status.
+     * 
+     * Counts are approximate and windows advance in steps (see TrendingHashtags).
+     * Note: InvalidTrendingWindowException is handled globally by GlobalExceptionHandler.
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<Map<String, List<TrendingHashtag>>> getTrending(@RequestParam(required = false) String window,
+                                                                          @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(trendingHashtags.top(window, limit));
+    }
+
+    // ========================== Helpers ==========================
+
+    /**
+     * Adds the next-page cursor headers to a response when another page is available.
+     *
+     * @param builder     The response builder to decorate.
+     * @param path        The path of the paginated endpoint, including any query string other than the cursor and limit.
+     * @param cursorParam The name of the query parameter that carries the cursor.
+     * @param nextCursor  The cursor for the next page, or null if this was the last page.
+     * @param limit       The page size requested by the client, carried over into the "next" link.
+     * @return The same builder, for chaining.
+     */
+    private static ResponseEntity.BodyBuilder withNextCursor(ResponseEntity.BodyBuilder builder, String path,
+                                                             String cursorParam, String nextCursor, Integer limit) {
+        if (nextCursor != null) {
+            String next = path + (path.indexOf('?') < 0 ? "?" : "&") + cursorParam + "=" + nextCursor
+                    + (limit != null ? "&limit=" + limit : "");
+            builder.header("X-Next-Cursor", nextCursor);
+            builder.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return builder;
     }
-}
\ No newline at end of file
+}
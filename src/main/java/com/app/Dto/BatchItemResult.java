@@ -0,0 +1,40 @@
+package com.app.Dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The outcome of a single message within a POST /messages/batch request.
+ *
+ * @param index     The position of the message in the request body.
+ * @param status    CREATED if the message was persisted, REJECTED otherwise.
+ * @param messageId The ID assigned to the message (only present when CREATED).
+ * @param error     The reason the message was rejected (only present when REJECTED):
+ *                  MESSAGE_BLANK, MESSAGE_TOO_LONG or USER_NOT_FOUND.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult(int index, String status, Integer messageId, String error) {
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    /**
+     * Creates the result for a message that was persisted.
+     *
+     * @param index     The position of the message in the request.
+     * @param messageId The ID assigned to the message.
+     * @return The CREATED result.
+     */
+    public static BatchItemResult created(int index, Integer messageId) {
+        return new BatchItemResult(index, CREATED, messageId, null);
+    }
+
+    /**
+     * Creates the result for a message that failed validation.
+     *
+     * @param index The position of the message in the request.
+     * @param error The reason for the rejection.
+     * @return The REJECTED result.
+     */
+    public static BatchItemResult rejected(int index, String error) {
+        return new BatchItemResult(index, REJECTED, null, error);
+    }
+}
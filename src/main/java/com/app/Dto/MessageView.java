@@ -0,0 +1,28 @@
+package com.app.Dto;
+
+import com.app.Entity.Message;
+
+/**
+ * Read-only view of a message for list endpoints, serialized exactly like the Message entity.
+ *
+ * Filled directly from query results with a JPQL constructor expression, so list reads create
+ * no managed entities, no dirty-checking snapshots and no persistence-context entries.
+ *
+ * @param messageId       The ID of the message.
+ * @param postedBy        The ID of the user who posted the message.
+ * @param messageText     The text of the message.
+ * @param timePostedEpoch The time the message was posted (epoch time).
+ */
+public record MessageView(Integer messageId, Integer postedBy, String messageText, Long timePostedEpoch) {
+
+    /**
+     * Creates the view of a message entity.
+     *
+     * @param message The message to copy.
+     * @return A view with the same field values.
+     */
+    public static MessageView of(Message message) {
+        return new MessageView(message.getMessageId(), message.getPostedBy(), message.getMessageText(),
+                message.getTimePostedEpoch());
+    }
+}
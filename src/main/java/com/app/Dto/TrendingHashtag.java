@@ -0,0 +1,10 @@
+package com.app.Dto;
+
+/**
+ * One entry of GET /trending.
+ *
+ * @param tag   The hashtag, lowercased and without the leading "#".
+ * @param count The estimated number of messages using it in the window (may slightly overcount, never undercounts).
+ */
+public record TrendingHashtag(String tag, long count) {
+}
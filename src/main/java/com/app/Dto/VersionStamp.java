@@ -0,0 +1,10 @@
+package com.app.Dto;
+
+/**
+ * Validators for a conditional GET: the entity tag and last-modified time of a resource.
+ *
+ * @param eTag         The entity tag, quoted and weak (W/"..."), as sent in the ETag header.
+ * @param lastModified The last-modified time in epoch milliseconds, or -1 if the resource has none.
+ */
+public record VersionStamp(String eTag, long lastModified) {
+}
@@ -0,0 +1,80 @@
+package com.app.Entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Represents a Follow entity: one account following another.
+ */
+@Entity
+@Table(name="follow")
+@IdClass(Follow.Key.class)
+public class Follow {
+    /**
+     * The ID of the account that follows.
+     */
+    @Id
+    @Column(name="followerId")
+    private Integer followerId;
+
+    /**
+     * The ID of the account being followed.
+     */
+    @Id
+    @Column(name="followeeId")
+    private Integer followeeId;
+
+    /**
+     * Default no-args constructor required by JPA.
+     */
+    public Follow() {
+    }
+
+    /**
+     * Constructor for a follow relationship.
+     *
+     * @param followerId the ID of the account that follows
+     * @param followeeId the ID of the account being followed
+     */
+    public Follow(Integer followerId, Integer followeeId) {
+        this.followerId = followerId;
+        this.followeeId = followeeId;
+    }
+
+    public Integer getFollowerId() {
+        return followerId;
+    }
+
+    public Integer getFolloweeId() {
+        return followeeId;
+    }
+
+    /**
+     * Composite primary key of Follow.
+     */
+    public static class Key implements Serializable {
+        private Integer followerId;
+        private Integer followeeId;
+
+        public Key() {
+        }
+
+        public Key(Integer followerId, Integer followeeId) {
+            this.followerId = followerId;
+            this.followeeId = followeeId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(followerId, key.followerId) && Objects.equals(followeeId, key.followeeId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(followerId, followeeId);
+        }
+    }
+}
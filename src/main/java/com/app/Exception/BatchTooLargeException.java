@@ -0,0 +1,7 @@
+package com.app.Exception;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(String message) {
+        super(message); // Passing the message to the superclass constructor
+    }
+}
@@ -5,9 +5,11 @@ import java.util.HashMap;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import java.util.Map;
 
@@ -35,6 +37,13 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }    
 
+    // Handle missing or malformed query parameters and path variables (e.g. "?limit=abc")
+    @ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleBadRequestParameter(Exception e) {
+        return ""; // "Missing or invalid request parameter."
+    }
+
     // ========================== Account-related exceptions ==========================
 
     // Handle Duplicate Username Exception during Registration
@@ -87,4 +96,52 @@ public class GlobalExceptionHandler {
     public String handleUserNotFoundException(UserNotFoundException e) {
         return e.getMessage(); // Return message indicating the user doesn't exist
     }
+
+    // Handle batch requests that exceed the maximum number of messages
+    @ExceptionHandler(BatchTooLargeException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleBatchTooLargeException(BatchTooLargeException e) {
+        return e.getMessage(); // Return error message from the MessageService class
+    }
+
+    // Handle a full write-behind queue (backpressure: the client should retry later)
+    @ExceptionHandler(MessageQueueFullException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String handleMessageQueueFullException(MessageQueueFullException e) {
+        return e.getMessage(); // Return error message from the MessageWriteBehindQueue class
+    }
+
+    // Handle a ?durable=true create whose write-behind flush failed (the message was not persisted)
+    @ExceptionHandler(MessageWriteFailedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String handleMessageWriteFailedException(MessageWriteFailedException e) {
+        return e.getMessage(); // Return error message from the MessageWriteBehindQueue class
+    }
+
+    // ========================== Follow-related exceptions ==========================
+
+    // Handle follow requests that are not allowed (e.g. an account following itself)
+    @ExceptionHandler(InvalidFollowException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleInvalidFollowException(InvalidFollowException e) {
+        return e.getMessage(); // Return error message from the FeedService class
+    }
+
+    // ========================== Trending-related exceptions ==========================
+
+    // Handle GET /trending requests for a window other than 5m, 1h or 24h
+    @ExceptionHandler(InvalidTrendingWindowException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleInvalidTrendingWindowException(InvalidTrendingWindowException e) {
+        return e.getMessage(); // Return error message from the TrendingHashtags class
+    }
+
+    // ========================== Pagination-related exceptions ==========================
+
+    // Handle malformed or tampered pagination cursors
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleInvalidCursorException(InvalidCursorException e) {
+        return e.getMessage(); // Return error message from the Cursors helper
+    }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.app.Exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message); // Passing the message to the superclass constructor
+    }
+}
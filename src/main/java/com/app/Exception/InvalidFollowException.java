@@ -0,0 +1,7 @@
+package com.app.Exception;
+
+public class InvalidFollowException extends RuntimeException {
+    public InvalidFollowException(String message) {
+        super(message); // Passing the message to the superclass constructor
+    }
+}
@@ -0,0 +1,7 @@
+package com.app.Exception;
+
+public class InvalidTrendingWindowException extends RuntimeException {
+    public InvalidTrendingWindowException(String message) {
+        super(message); // Passing the message to the superclass constructor
+    }
+}
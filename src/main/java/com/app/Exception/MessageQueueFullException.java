@@ -0,0 +1,7 @@
+package com.app.Exception;
+
+public class MessageQueueFullException extends RuntimeException {
+    public MessageQueueFullException(String message) {
+        super(message); // Passing the message to the superclass constructor
+    }
+}
@@ -0,0 +1,7 @@
+package com.app.Exception;
+
+public class MessageWriteFailedException extends RuntimeException {
+    public MessageWriteFailedException(String message) {
+        super(message); // Passing the message to the superclass constructor
+    }
+}
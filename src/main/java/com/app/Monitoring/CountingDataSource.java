@@ -0,0 +1,168 @@
+package com.app.Monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource wrapper that reports JDBC round trips to the current request's JdbcRequestStats.
+ *
+ * Connections, statements and result sets are wrapped in JDK proxies. Every execute* call counts
+ * as one statement (a JDBC batch is one round trip however many rows it carries) and every
+ * ResultSet.next() that returns a row counts as one row; the time spent inside both is added
+ * to the request's JDBC time. Outside a request the proxies only delegate.
+ * The SQL text is kept with each statement so requests can be traced (see JdbcRequestStats).
+ *
+ * Sits in front of the connection pool, so it sees Hibernate and JdbcTemplate alike.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    public CountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    /**
+     * Base proxy handler: identity-based equals/hashCode (so a proxy equals only itself), everything else delegated.
+     */
+    private abstract static class Handler implements InvocationHandler {
+        final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return args != null && args.length == 1 && proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return handle(method, args);
+            }
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        /**
+         * Calls the method on the real object, rethrowing what it threw rather than the reflection wrapper.
+         */
+        Object delegate(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Wraps statements created by a connection.
+     */
+    private static final class ConnectionHandler extends Handler {
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            // prepareStatement/prepareCall take the SQL up front; plain statements get it at execute time
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            if (result instanceof CallableStatement statement) {
+                return wrap(CallableStatement.class, new StatementHandler(statement, sql));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrap(PreparedStatement.class, new StatementHandler(statement, sql));
+            }
+            if (result instanceof Statement statement) {
+                return wrap(Statement.class, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Counts and times execute* calls and wraps the result sets they return.
+     */
+    private static final class StatementHandler extends Handler {
+        private final String sql;
+
+        StatementHandler(Statement target, String sql) {
+            super(target);
+            this.sql = sql;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            JdbcRequestStats stats = JdbcRequestStats.current();
+            Object result;
+            if (stats != null && method.getName().startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    result = delegate(method, args);
+                } finally {
+                    String executed = sql == null && args != null && args.length > 0 && args[0] instanceof String text
+                            ? text : sql;
+                    stats.recordStatement(executed, System.nanoTime() - start);
+                }
+            } else {
+                result = delegate(method, args);
+            }
+            if (result instanceof ResultSet resultSet) {
+                return wrap(ResultSet.class, new ResultSetHandler(resultSet));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Counts rows read and the time spent fetching them.
+     */
+    private static final class ResultSetHandler extends Handler {
+        ResultSetHandler(ResultSet target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            JdbcRequestStats stats = JdbcRequestStats.current();
+            if (stats == null || !method.getName().equals("next")) {
+                return delegate(method, args);
+            }
+            long start = System.nanoTime();
+            boolean gotRow = false;
+            try {
+                gotRow = (Boolean) delegate(method, args);
+                return gotRow;
+            } finally {
+                stats.recordFetch(gotRow, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static <T> T wrap(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+}
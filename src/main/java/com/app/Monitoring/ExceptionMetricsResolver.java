@@ -0,0 +1,63 @@
+package com.app.Monitoring;
+
+import com.app.Exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.lang.reflect.Method;
+
+/**
+ * Counts every exception raised while handling a request, before GlobalExceptionHandler turns it into a response.
+ *
+ * Runs first among the exception resolvers and never resolves anything itself, so the response is
+ * unchanged. The count is http.server.exceptions with the tag exception (simple class name). Counters
+ * for every type mapped in GlobalExceptionHandler are registered at startup, so they report 0 rather
+ * than being missing until the first occurrence.
+ */
+@Component
+public class ExceptionMetricsResolver implements HandlerExceptionResolver, Ordered {
+    private static final String METRIC = "http.server.exceptions";
+
+    private final MeterRegistry meterRegistry;
+
+    public ExceptionMetricsResolver(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Method method : GlobalExceptionHandler.class.getDeclaredMethods()) {
+            ExceptionHandler handler = method.getAnnotation(ExceptionHandler.class);
+            if (handler == null) {
+                continue;
+            }
+            for (Class<? extends Throwable> type : handler.value()) {
+                if (type != Exception.class) { // The catch-all is counted under each concrete type
+                    counter(type);
+                }
+            }
+        }
+    }
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Exception ex) {
+        counter(ex.getClass()).increment();
+        return null; // Leaves the exception to GlobalExceptionHandler
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private Counter counter(Class<? extends Throwable> type) {
+        return Counter.builder(METRIC)
+                .description("Exceptions raised by request handling, by type")
+                .tag("exception", type.getSimpleName())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,128 @@
+package com.app.Monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JDBC work done by the current request: statements executed, rows read and time spent in the driver.
+ *
+ * One instance is bound to the request thread by JdbcRequestStatsFilter and updated by the
+ * CountingDataSource proxies. JDBC calls made on other threads (e.g. the write-behind writer)
+ * or outside a request are not counted. When tracing is on, each statement is also recorded in
+ * a short "verb table" form (e.g. "select account", "nextval message_SEQ"), never with its values.
+ */
+public final class JdbcRequestStats {
+    private static final ThreadLocal<JdbcRequestStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+    private long nanos;
+    private final List<String> trace;
+
+    private JdbcRequestStats(boolean traced) {
+        this.trace = traced ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Starts counting for the current thread.
+     *
+     * @param traced Whether to also record a description of each statement.
+     * @return The new, empty stats bound to this thread.
+     */
+    static JdbcRequestStats begin(boolean traced) {
+        JdbcRequestStats stats = new JdbcRequestStats(traced);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stops counting for the current thread.
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Gets the stats of the request running on this thread.
+     *
+     * @return The stats, or null outside a request.
+     */
+    static JdbcRequestStats current() {
+        return CURRENT.get();
+    }
+
+    void recordStatement(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (trace != null) {
+            trace.add(describe(sql));
+        }
+    }
+
+    void recordFetch(boolean gotRow, long elapsedNanos) {
+        if (gotRow) {
+            rows++;
+        }
+        nanos += elapsedNanos;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Gets the statements executed so far, in order, if tracing is on.
+     *
+     * @return One "verb table" entry per statement, or null when tracing is off.
+     */
+    public List<String> getTrace() {
+        return trace;
+    }
+
+    /**
+     * Reduces a SQL statement to its verb and main table, e.g. "delete from message where ..." to "delete message".
+     *
+     * @param sql The statement text, or null if unknown.
+     * @return The short description.
+     */
+    static String describe(String sql) {
+        if (sql == null) {
+            return "unknown";
+        }
+        String[] words = sql.trim().split("[\\s(,]+");
+        String verb = words[0].toLowerCase(Locale.ROOT);
+        switch (verb) {
+            case "select":
+                if (words.length > 4 && "next".equalsIgnoreCase(words[1]) && "value".equalsIgnoreCase(words[2])) {
+                    return "nextval " + words[4]; // select next value for <sequence>
+                }
+                return "select " + wordAfter(words, "from");
+            case "insert":
+                return "insert " + wordAfter(words, "into");
+            case "delete":
+                return "delete " + wordAfter(words, "from");
+            case "update":
+                return words.length > 1 ? "update " + words[1] : verb;
+            default:
+                return verb;
+        }
+    }
+
+    private static String wordAfter(String[] words, String keyword) {
+        for (int i = 0; i < words.length - 1; i++) {
+            if (words[i].equalsIgnoreCase(keyword)) {
+                return words[i + 1];
+            }
+        }
+        return "?";
+    }
+}
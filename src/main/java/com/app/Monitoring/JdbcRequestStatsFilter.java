@@ -0,0 +1,173 @@
+package com.app.Monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the JDBC round trips each request costs and reports them per request and per route.
+ *
+ * For every request the filter binds a JdbcRequestStats to the thread, then:
+ * - adds the response headers X-Jdbc-Statements, X-Jdbc-Rows and X-Jdbc-Time-Ms. They are written
+ *   just before the body, so for streamed responses (GET /messages/export) they only cover the
+ *   work done before the first byte;
+ * - records http.server.jdbc.statements, http.server.jdbc.rows and http.server.jdbc.time,
+ *   tagged with uri and method like http.server.requests;
+ * - logs a warning (at most once a minute per route) and increments http.server.jdbc.budget.exceeded
+ *   when a request issues more statements than its route's budget.
+ *
+ * Budgets come from "app.jdbc.statement-budget.routes" ("METHOD pattern=max" pairs, comma-separated),
+ * with "app.jdbc.statement-budget.default" for routes not listed.
+ *
+ * With "app.jdbc.trace-header=true" the X-Jdbc-Trace header also lists every statement in order
+ * as "verb table" (e.g. "select account, insert message"); it is meant for tests and debugging.
+ */
+@Component
+public class JdbcRequestStatsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_HEADER = "X-Jdbc-Statements";
+    public static final String ROWS_HEADER = "X-Jdbc-Rows";
+    public static final String TIME_HEADER = "X-Jdbc-Time-Ms";
+    public static final String TRACE_HEADER = "X-Jdbc-Trace";
+    private static final Logger log = LoggerFactory.getLogger(JdbcRequestStatsFilter.class);
+    private static final long WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final MeterRegistry meterRegistry;
+    private final int defaultBudget;
+    private final boolean traceHeader;
+    private final Map<String, Integer> routeBudgets = new HashMap<>();
+    private final Map<String, Long> lastWarning = new ConcurrentHashMap<>();
+
+    public JdbcRequestStatsFilter(MeterRegistry meterRegistry,
+                                  @Value("${app.jdbc.statement-budget.default:10}") int defaultBudget,
+                                  @Value("${app.jdbc.statement-budget.routes:}") String routeBudgets,
+                                  @Value("${app.jdbc.trace-header:false}") boolean traceHeader) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+        this.traceHeader = traceHeader;
+        for (String entry : routeBudgets.split(",")) {
+            int eq = entry.lastIndexOf('=');
+            if (eq > 0) {
+                this.routeBudgets.put(entry.substring(0, eq).trim(), Integer.parseInt(entry.substring(eq + 1).trim()));
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        JdbcRequestStats stats = JdbcRequestStats.begin(traceHeader);
+        HttpServletResponse headerWriting = new HttpServletResponseWrapper(response) {
+            @Override
+            public ServletOutputStream getOutputStream() throws IOException {
+                writeHeaders(response, stats);
+                return super.getOutputStream();
+            }
+
+            @Override
+            public PrintWriter getWriter() throws IOException {
+                writeHeaders(response, stats);
+                return super.getWriter();
+            }
+        };
+        try {
+            chain.doFilter(request, headerWriting);
+        } finally {
+            JdbcRequestStats.end();
+            writeHeaders(response, stats); // Responses without a body are committed after the filter returns
+            record(request, stats);
+        }
+    }
+
+    /**
+     * Sets the X-Jdbc-* headers from the counts so far, unless the response has already been committed.
+     */
+    private static void writeHeaders(HttpServletResponse response, JdbcRequestStats stats) {
+        if (response.isCommitted()) {
+            return;
+        }
+        response.setHeader(STATEMENTS_HEADER, Long.toString(stats.getStatements()));
+        response.setHeader(ROWS_HEADER, Long.toString(stats.getRows()));
+        response.setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.getNanos() / 1e6));
+        if (stats.getTrace() != null) {
+            response.setHeader(TRACE_HEADER, String.join(", ", stats.getTrace()));
+        }
+    }
+
+    /**
+     * Records the request's JDBC work in the per-route metrics and checks it against the route's budget.
+     */
+    private void record(HttpServletRequest request, JdbcRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        Tags tags = Tags.of("uri", uri, "method", method);
+
+        DistributionSummary.builder("http.server.jdbc.statements")
+                .description("JDBC statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("http.server.jdbc.rows")
+                .description("Rows read over JDBC per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("http.server.jdbc.time")
+                .description("Time per request spent executing statements and fetching rows")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        String route = method + " " + uri;
+        int budget = routeBudgets.getOrDefault(route, defaultBudget);
+        if (stats.getStatements() <= budget) {
+            return;
+        }
+        Counter.builder("http.server.jdbc.budget.exceeded")
+                .description("Requests that issued more JDBC statements than their route's budget")
+                .tags(tags)
+                .register(meterRegistry)
+                .increment();
+        if (claimWarning(route)) {
+            log.warn("{} issued {} JDBC statements (budget {}), read {} rows in {} ms", route, stats.getStatements(),
+                    budget, stats.getRows(), String.format(Locale.ROOT, "%.3f", stats.getNanos() / 1e6));
+        }
+    }
+
+    /**
+     * Decides whether this request may log the budget warning for its route (at most once per interval).
+     *
+     * @param route The "METHOD pattern" key.
+     * @return true for the one caller that claimed the warning slot.
+     */
+    private boolean claimWarning(String route) {
+        long now = System.nanoTime();
+        Long previous = lastWarning.get(route);
+        if (previous != null && now - previous < WARNING_INTERVAL_NANOS) {
+            return false;
+        }
+        return previous == null ? lastWarning.putIfAbsent(route, now) == null : lastWarning.replace(route, previous, now);
+    }
+}
@@ -0,0 +1,89 @@
+package com.app.Monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * The JSON message converter used for request and response bodies, timing every read and write.
+ *
+ * Replaces the converter Spring Boot would otherwise create (same ObjectMapper, same behavior) and
+ * records http.server.serialization with the tags uri and method (matching http.server.requests)
+ * and operation=read|write. Writes include copying the JSON into the response buffer, so a slow
+ * client that fills the buffer shows up here rather than in the repository timers.
+ */
+@Component
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private static final String METRIC = "http.server.serialization";
+
+    private final MeterRegistry meterRegistry;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return super.read(type, contextClass, inputMessage);
+        } finally {
+            sample.stop(timer("read"));
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return super.readInternal(clazz, inputMessage);
+        } finally {
+            sample.stop(timer("read"));
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(timer("write"));
+        }
+    }
+
+    /**
+     * Looks up the timer for the current request's route pattern and method.
+     *
+     * @param operation "read" for request bodies, "write" for response bodies.
+     * @return The registered timer.
+     */
+    private Timer timer(String operation) {
+        String uri = "UNKNOWN";
+        String method = "UNKNOWN";
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            uri = pattern != null ? pattern.toString() : uri;
+            method = request.getMethod();
+        }
+        return Timer.builder(METRIC)
+                .description("Time spent converting request and response bodies from and to JSON")
+                .tags("uri", uri, "method", method, "operation", operation)
+                .register(meterRegistry);
+    }
+}
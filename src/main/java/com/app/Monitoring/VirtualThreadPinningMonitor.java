@@ -0,0 +1,100 @@
+package com.app.Monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detects virtual threads that get pinned to their carrier thread while running request code.
+ *
+ * Only active when virtual threads are enabled ("spring.threads.virtual.enabled=true").
+ * It subscribes to the JFR event "jdk.VirtualThreadPinned", which fires when a virtual thread
+ * blocks while it cannot unmount, e.g. inside a synchronized block or native frame. Pinned
+ * virtual threads hold a carrier, so under load they throttle throughput back to the size of the
+ * carrier pool.
+ *
+ * Each pinning event longer than "app.threads.pinning.threshold" is counted in
+ * jvm.threads.virtual.pinned and timed in jvm.threads.virtual.pinned.duration. The stack of
+ * the first event at each distinct blocking site is logged once.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final RecordingStream recording;
+    private final Counter pinnedCount;
+    private final Timer pinnedDuration;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.threads.pinning.threshold:20ms}") Duration threshold) {
+        this.pinnedCount = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual thread pinning events longer than the configured threshold")
+                .register(meterRegistry);
+        this.pinnedDuration = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("How long virtual threads stayed pinned to their carrier")
+                .register(meterRegistry);
+
+        this.recording = new RecordingStream();
+        this.recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        this.recording.onEvent(PINNED_EVENT, this::onPinned);
+        this.recording.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {})", threshold);
+    }
+
+    /**
+     * Records one pinning event and logs its stack the first time its blocking site is seen.
+     *
+     * @param event The JFR jdk.VirtualThreadPinned event.
+     */
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.increment();
+        pinnedDuration.record(event.getDuration());
+
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return;
+        }
+        String site = describe(stackTrace.getFrames().get(0));
+        if (reportedSites.add(site)) {
+            StringBuilder stack = new StringBuilder();
+            stackTrace.getFrames().stream().limit(LOGGED_FRAMES)
+                    .forEach(frame -> stack.append("\n\tat ").append(describe(frame)));
+            log.warn("Virtual thread pinned for {} ms (first occurrence at this site):{}",
+                    event.getDuration().toMillis(), stack);
+        }
+    }
+
+    /**
+     * Formats a stack frame as "Class.method:line".
+     */
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    /**
+     * Stops the JFR recording stream when the application shuts down.
+     */
+    @PreDestroy
+    public void close() {
+        recording.close();
+    }
+}
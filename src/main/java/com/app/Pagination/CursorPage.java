@@ -0,0 +1,40 @@
+package com.app.Pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A single page of a keyset-paginated result.
+ *
+ * @param items      The items on this page, in the order they were read.
+ * @param nextCursor The opaque cursor pointing past the last item, or null if this is the last page.
+ * @param <T>        The type of the items on the page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds a page from a result that was read with one extra row ("limit + 1").
+     * The extra row only tells us that another page exists; it is trimmed from the items.
+     *
+     * @param rows     The rows read from the store, at most limit + 1 of them.
+     * @param limit    The requested page size.
+     * @param cursorOf Function producing the cursor for the last item on the page.
+     * @return The trimmed page with its next cursor.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    /**
+     * Checks whether another page follows this one.
+     *
+     * @return true if a next cursor is available, false otherwise.
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
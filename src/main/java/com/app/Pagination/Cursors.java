@@ -0,0 +1,61 @@
+package com.app.Pagination;
+
+import com.app.Exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors handed out by paginated endpoints.
+ *
+ * A cursor is the keyset position of the last item on a page (e.g. a messageId, or a
+ * timePostedEpoch/messageId pair), joined with commas and Base64url-encoded so clients
+ * treat it as a token rather than something to construct by hand.
+ */
+public final class Cursors {
+
+    private Cursors() {
+    }
+
+    /**
+     * Encodes a keyset position into an opaque cursor.
+     *
+     * @param parts The key values of the last item on the page.
+     * @return The opaque cursor string.
+     */
+    public static String encode(long... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes an opaque cursor back into its keyset position.
+     *
+     * @param cursor        The cursor received from the client.
+     * @param expectedParts The number of key values the cursor must contain.
+     * @return The decoded key values.
+     * @throws InvalidCursorException If the cursor is malformed or has the wrong number of parts.
+     */
+    public static long[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            String[] tokens = raw.split(",", -1);
+            if (tokens.length != expectedParts) {
+                throw new InvalidCursorException(""); // "Cursor has the wrong shape."
+            }
+            long[] parts = new long[expectedParts];
+            for (int i = 0; i < expectedParts; i++) {
+                parts[i] = Long.parseLong(tokens[i]);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) { // Covers bad Base64 and NumberFormatException
+            throw new InvalidCursorException(""); // "Cursor could not be decoded."
+        }
+    }
+}
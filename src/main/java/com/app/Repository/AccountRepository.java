@@ -2,10 +2,23 @@ package com.app.Repository;
 
 import com.app.Entity.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface AccountRepository extends JpaRepository<Account, Integer> {
     Optional<Account> findAccountByUsername(String username);
     Optional<Account> findAccountByAccountId(Integer PostedBy);
+
+    // Resolves which of many poster IDs exist with a single query (used by batch message ingestion)
+    @Query("SELECT a.accountId FROM Account a WHERE a.accountId IN :accountIds")
+    List<Integer> findExistingAccountIds(@Param("accountIds") Collection<Integer> accountIds);
+
+    // Forward-only scan of every username (used to fill the username Bloom filter); consume inside a transaction
+    @Query("SELECT a.username FROM Account a")
+    Stream<String> streamAllUsernames();
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.app.Repository;
+
+import com.app.Entity.Account;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Storage of accounts beneath AccountService and UsernameFilter, selected by "app.storage.engine"
+ * (JpaAccountStore or InMemoryAccountStore).
+ */
+public interface AccountStore {
+
+    /**
+     * Inserts a new account under a server-assigned ID.
+     *
+     * @param account The validated account; its accountId is set in place.
+     * @return The stored account.
+     * @throws org.springframework.dao.DataIntegrityViolationException If the username is already taken.
+     */
+    Account save(Account account);
+
+    Optional<Account> findAccountByUsername(String username);
+
+    Optional<Account> findAccountByAccountId(Integer accountId);
+
+    // Which of many account IDs exist, in one call (used by batch message ingestion)
+    List<Integer> findExistingAccountIds(Collection<Integer> accountIds);
+
+    // Every username (used to fill the username Bloom filter); callers close the stream (inside a transaction)
+    Stream<String> streamAllUsernames();
+}
@@ -0,0 +1,387 @@
+package com.app.Repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Online snapshots of the account, message and follow tables, and their bulk restore at startup.
+ *
+ * write streams the three tables to an output stream while the application keeps serving writes. All of them are
+ * read in one read-only SERIALIZABLE transaction: H2 answers it from the MVStore version of the database as of the
+ * first read, so the snapshot is consistent across tables (every message's poster and every follow's accounts are
+ * in it) and does not block writers. Messages queued by MessageWriteBehindQueue but not yet committed are not
+ * part of it.
+ *
+ * Format (gzip, level "compression-level"): the int MAGIC and VERSION, then each table as a tag byte followed
+ * by its rows in primary key order, each row preceded by a 1 byte and the table ended by a 0 byte. Account
+ * rows are accountId, username, password; message rows messageId, postedBy, messageText, timePostedEpoch;
+ * follow rows followerId, followeeId. Strings are modified UTF-8 (DataOutputStream.writeUTF); a nullable
+ * column is preceded by a boolean telling whether it is present.
+ *
+ * When "app.snapshot.restore-from" names a snapshot file, SnapshotRestoreInitializer restores it after the schema
+ * scripts and before the web server starts: the three tables are emptied, then refilled with JDBC batch inserts
+ * (no entities or persistence context) committed every RESTORE_COMMIT_ROWS rows, and the ID sequences are moved
+ * past the restored IDs. Secondary indexes are dropped for the load and built again afterwards. A failed restore
+ * leaves the tables partly filled and fails the startup, and the next attempt starts over. Restoring replaces
+ * whatever the database held, so the property is meant for the first start of a new node only.
+ */
+@Repository
+@DependsOnDatabaseInitialization
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class DatabaseSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSnapshot.class);
+    static final int MAGIC = 0x534D534E; // "SMSN"
+    static final int VERSION = 1;
+    static final int RESTORE_BATCH_SIZE = 1000;
+    static final int RESTORE_COMMIT_ROWS = 100_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte ACCOUNTS = 'A';
+    private static final byte MESSAGES = 'M';
+    private static final byte FOLLOWS = 'F';
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final TransactionTemplate restoreTransaction;
+    private final int compressionLevel;
+
+    public DatabaseSnapshot(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            @Value("${app.snapshot.compression-level:1}") int compressionLevel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        this.snapshotTransaction.setReadOnly(true);
+        this.restoreTransaction = new TransactionTemplate(transactionManager);
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Writes a consistent, gzip-compressed snapshot of the account, message and follow tables.
+     *
+     * @param out The stream receiving the snapshot. It is finished (gzip trailer written) but not closed.
+     * @return The number of rows written.
+     * @throws IOException If writing to the stream fails (e.g. the client disconnects).
+     */
+    public long write(OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        CountingOutputStream compressed = new CountingOutputStream(out);
+        GZIPOutputStream gzip = new GZIPOutputStream(compressed, BUFFER_SIZE) {
+            {
+                def.setLevel(compressionLevel);
+            }
+        };
+        CountingOutputStream raw = new CountingOutputStream(gzip);
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(raw, BUFFER_SIZE));
+        long rows;
+        try {
+            rows = snapshotTransaction.execute(status -> {
+                try {
+                    data.writeInt(MAGIC);
+                    data.writeInt(VERSION);
+                    return writeTable(data, ACCOUNTS, "select accountId, username, password from account order by accountId",
+                            row -> {
+                                data.writeInt(row.getInt(1));
+                                data.writeUTF(row.getString(2));
+                                writeNullableString(data, row.getString(3));
+                            })
+                            + writeTable(data, MESSAGES, "select messageId, postedBy, messageText, timePostedEpoch "
+                                    + "from message order by messageId", row -> {
+                                data.writeInt(row.getInt(1));
+                                int postedBy = row.getInt(2);
+                                data.writeBoolean(!row.wasNull());
+                                if (!row.wasNull()) {
+                                    data.writeInt(postedBy);
+                                }
+                                writeNullableString(data, row.getString(3));
+                                long epoch = row.getLong(4);
+                                data.writeBoolean(!row.wasNull());
+                                if (!row.wasNull()) {
+                                    data.writeLong(epoch);
+                                }
+                            })
+                            + writeTable(data, FOLLOWS, "select followerId, followeeId from follow order by followerId, followeeId",
+                            row -> {
+                                data.writeInt(row.getInt(1));
+                                data.writeInt(row.getInt(2));
+                            });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            data.flush();
+            gzip.finish();
+            out.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        long nanos = System.nanoTime() - started;
+        log.info("Snapshot written in {} ms: {} rows, {} MB raw, {} MB compressed ({} MB/s raw, {} MB/s compressed)",
+                nanos / 1_000_000, rows, megabytes(raw.count), megabytes(compressed.count),
+                megabytesPerSecond(raw.count, nanos), megabytesPerSecond(compressed.count, nanos));
+        return rows;
+    }
+
+    /**
+     * Replaces the account, message and follow tables with the contents of a snapshot file.
+     *
+     * @param file A snapshot written by write.
+     * @return The number of rows restored.
+     * @throws UncheckedIOException If the file cannot be read.
+     * @throws IllegalStateException If the file is not a snapshot of a supported version.
+     */
+    public long restore(Path file) {
+        long started = System.nanoTime();
+        long rows;
+        long size;
+        try (InputStream in = Files.newInputStream(file)) {
+            size = Files.size(file);
+            DataInputStream data = new DataInputStream(new BufferedInputStream(new GZIPInputStream(in, BUFFER_SIZE), BUFFER_SIZE));
+            if (data.readInt() != MAGIC) {
+                throw new IllegalStateException("Not a database snapshot: " + file);
+            }
+            int version = data.readInt();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported snapshot version " + version + ": " + file);
+            }
+            restoreTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.update("delete from follow");
+                jdbcTemplate.update("delete from message");
+                jdbcTemplate.update("delete from account");
+            });
+            List<String> secondaryIndexes = dropSecondaryIndexes();
+            try {
+                rows = restoreAccounts(data) + restoreMessages(data) + restoreFollows(data);
+            } finally {
+                secondaryIndexes.forEach(jdbcTemplate::execute);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot restore snapshot " + file, e);
+        }
+        long nanos = System.nanoTime() - started;
+        log.info("Snapshot {} restored in {} ms: {} rows, {} MB compressed ({} MB/s)",
+                file, nanos / 1_000_000, rows, megabytes(size), megabytesPerSecond(size, nanos));
+        return rows;
+    }
+
+    private long restoreAccounts(DataInputStream data) throws IOException {
+        expectTable(data, ACCOUNTS);
+        long rows = restoreRows(data, "insert into account (accountId, username, password) values (?, ?, ?)", 3,
+                (in, row) -> {
+                    row[0] = in.readInt();
+                    row[1] = in.readUTF();
+                    row[2] = readNullableString(in);
+                });
+        restartSequence("account_seq", "select coalesce(max(accountId), 0) from account");
+        return rows;
+    }
+
+    private long restoreMessages(DataInputStream data) throws IOException {
+        expectTable(data, MESSAGES);
+        long rows = restoreRows(data, "insert into message (messageId, postedBy, messageText, timePostedEpoch) values (?, ?, ?, ?)", 4,
+                (in, row) -> {
+                    row[0] = in.readInt();
+                    row[1] = in.readBoolean() ? in.readInt() : null;
+                    row[2] = readNullableString(in);
+                    row[3] = in.readBoolean() ? in.readLong() : null;
+                });
+        restartSequence("message_seq", "select coalesce(max(messageId), 0) from message");
+        return rows;
+    }
+
+    private long restoreFollows(DataInputStream data) throws IOException {
+        expectTable(data, FOLLOWS);
+        return restoreRows(data, "insert into follow (followerId, followeeId) values (?, ?)", 2, (in, row) -> {
+            row[0] = in.readInt();
+            row[1] = in.readInt();
+        });
+    }
+
+    /**
+     * Reads the rows of one table and inserts them with JDBC batches of RESTORE_BATCH_SIZE rows, committing every
+     * RESTORE_COMMIT_ROWS rows so the database never holds the undo log of a whole table.
+     */
+    private long restoreRows(DataInputStream data, String sql, int columns, RowReader reader) throws IOException {
+        List<Object[]> chunk = new ArrayList<>(RESTORE_COMMIT_ROWS);
+        long rows = 0;
+        while (data.readBoolean()) {
+            Object[] row = new Object[columns];
+            reader.read(data, row);
+            chunk.add(row);
+            if (chunk.size() == RESTORE_COMMIT_ROWS) {
+                insertChunk(sql, chunk);
+                rows += chunk.size();
+                chunk.clear();
+            }
+        }
+        insertChunk(sql, chunk);
+        return rows + chunk.size();
+    }
+
+    private void insertChunk(String sql, List<Object[]> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        restoreTransaction.executeWithoutResult(status -> insertBatches(sql, chunk));
+    }
+
+    private void insertBatches(String sql, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(sql, rows, RESTORE_BATCH_SIZE, (ps, row) -> {
+            for (int i = 0; i < row.length; i++) {
+                Object value = row[i];
+                if (value == null) {
+                    ps.setNull(i + 1, Types.NULL);
+                } else if (value instanceof Integer number) {
+                    ps.setInt(i + 1, number);
+                } else if (value instanceof Long number) {
+                    ps.setLong(i + 1, number);
+                } else {
+                    ps.setString(i + 1, (String) value);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops the secondary indexes of the three tables (the ones created by the schema scripts, not those behind
+     * primary keys, unique and foreign key constraints), so the restore does not maintain them row by row.
+     *
+     * @return The statements that create them again, each index built in one pass over the restored table.
+     */
+    private List<String> dropSecondaryIndexes() {
+        Map<String, String> tables = new LinkedHashMap<>();
+        Map<String, List<String>> columns = new LinkedHashMap<>();
+        jdbcTemplate.query("select i.index_name, i.table_name, c.column_name, c.ordering_specification "
+                + "from information_schema.indexes i join information_schema.index_columns c "
+                + "on c.index_schema = i.index_schema and c.index_name = i.index_name "
+                + "where i.table_schema = schema() and i.table_name in ('ACCOUNT', 'MESSAGE', 'FOLLOW') "
+                + "and i.index_type_name = 'INDEX' and not i.is_generated "
+                + "order by i.index_name, c.ordinal_position", row -> {
+            tables.put(row.getString(1), row.getString(2));
+            columns.computeIfAbsent(row.getString(1), index -> new ArrayList<>())
+                    .add('"' + row.getString(3) + "\" " + row.getString(4));
+        });
+        List<String> creates = new ArrayList<>();
+        tables.forEach((index, table) -> {
+            jdbcTemplate.execute("drop index \"" + index + '"');
+            creates.add("create index \"" + index + "\" on \"" + table + "\" (" + String.join(", ", columns.get(index)) + ")");
+        });
+        return creates;
+    }
+
+    /**
+     * Moves an ID sequence past the largest restored ID, so generated IDs never collide with restored ones.
+     */
+    private void restartSequence(String sequence, String maxIdQuery) {
+        Integer maxId = jdbcTemplate.queryForObject(maxIdQuery, Integer.class);
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + 1));
+    }
+
+    private long writeTable(DataOutputStream data, byte tag, String sql, RowWriter writer) throws IOException {
+        data.writeByte(tag);
+        long[] rows = {0};
+        jdbcTemplate.query(sql, row -> {
+            try {
+                data.writeBoolean(true);
+                writer.write(row);
+                rows[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        data.writeBoolean(false);
+        return rows[0];
+    }
+
+    private static void expectTable(DataInputStream data, byte tag) throws IOException {
+        byte found = data.readByte();
+        if (found != tag) {
+            throw new IllegalStateException("Corrupt snapshot: expected table " + (char) tag + ", found " + (char) found);
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream data, String value) throws IOException {
+        data.writeBoolean(value != null);
+        if (value != null) {
+            data.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream data) throws IOException {
+        return data.readBoolean() ? data.readUTF() : null;
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.1f", bytes / (1024.0 * 1024.0));
+    }
+
+    private static String megabytesPerSecond(long bytes, long nanos) {
+        return String.format("%.1f", bytes / (1024.0 * 1024.0) / Math.max(1, nanos) * 1e9);
+    }
+
+    /**
+     * Writes the columns of the current row of a snapshot query.
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet row) throws SQLException, IOException;
+    }
+
+    /**
+     * Reads the columns of one snapshot row into an array of JDBC parameters.
+     */
+    @FunctionalInterface
+    private interface RowReader {
+        void read(DataInputStream data, Object[] row) throws IOException;
+    }
+
+    /**
+     * Counts the bytes written through it, for the throughput log line.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.app.Repository;
+
+import com.app.Entity.Follow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface FollowRepository extends JpaRepository<Follow, Follow.Key> {
+    // Idempotent follow in one statement: inserts nothing (and reports 0) if the follow already exists
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO follow (followerId, followeeId) SELECT :followerId, :followeeId"
+            + " WHERE NOT EXISTS (SELECT 1 FROM follow WHERE followerId = :followerId AND followeeId = :followeeId)",
+            nativeQuery = true)
+    int follow(@Param("followerId") Integer followerId, @Param("followeeId") Integer followeeId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Follow f WHERE f.followerId = :followerId AND f.followeeId = :followeeId")
+    int unfollow(@Param("followerId") Integer followerId, @Param("followeeId") Integer followeeId);
+
+    @Query("SELECT f.followeeId FROM Follow f WHERE f.followerId = :followerId")
+    List<Integer> findFolloweeIds(@Param("followerId") Integer followerId);
+
+    // Forward-only scan of the whole graph (used to load FeedService at startup); consume inside a transaction
+    @Query("SELECT f FROM Follow f")
+    Stream<Follow> streamAll();
+}
@@ -0,0 +1,25 @@
+package com.app.Repository;
+
+import com.app.Entity.Follow;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Storage of the follow graph beneath FeedService, selected by "app.storage.engine"
+ * (JpaFollowStore or InMemoryFollowStore).
+ */
+public interface FollowStore {
+
+    // Idempotent: 1 if the follow was created, 0 if it already existed
+    int follow(Integer followerId, Integer followeeId);
+
+    // 1 if the follow was removed, 0 if there was none
+    int unfollow(Integer followerId, Integer followeeId);
+
+    // The accounts a user follows (used by the message log engine to read feeds)
+    List<Integer> findFolloweeIds(Integer followerId);
+
+    // The whole graph (used to load FeedService at startup); callers close the stream (inside a transaction)
+    Stream<Follow> streamAll();
+}
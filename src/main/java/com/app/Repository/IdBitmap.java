@@ -0,0 +1,64 @@
+package com.app.Repository;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Set of non-negative int IDs as a paged bitmap, used by the in-memory storage engine to walk live
+ * message IDs in ascending order (pages, exports) and skip deleted ones 64 at a time.
+ *
+ * Pages of 65536 bits are allocated on first use. Bits are set and cleared with atomic read-modify-write,
+ * so there is no lock; a walk sees each bit as it is when the walk reaches it.
+ */
+final class IdBitmap {
+    private static final int PAGE_BITS = 16;
+    private static final int WORDS_PER_PAGE = (1 << PAGE_BITS) / 64;
+
+    private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(1 << (31 - PAGE_BITS));
+
+    void set(int id) {
+        AtomicLongArray page = pages.get(id >>> PAGE_BITS);
+        if (page == null) {
+            pages.compareAndSet(id >>> PAGE_BITS, null, new AtomicLongArray(WORDS_PER_PAGE));
+            page = pages.get(id >>> PAGE_BITS);
+        }
+        long bit = 1L << id;
+        page.getAndAccumulate((id >>> 6) & (WORDS_PER_PAGE - 1), bit, (word, b) -> word | b);
+    }
+
+    void clear(int id) {
+        AtomicLongArray page = pages.get(id >>> PAGE_BITS);
+        if (page != null) {
+            long bit = 1L << id;
+            page.getAndAccumulate((id >>> 6) & (WORDS_PER_PAGE - 1), bit, (word, b) -> word & ~b);
+        }
+    }
+
+    /**
+     * Finds the smallest ID in the set that is at least from.
+     *
+     * @param from The ID to start at (negative values start at 0).
+     * @return The ID, or -1 if there is none.
+     */
+    int nextSetBit(int from) {
+        int id = Math.max(0, from);
+        for (int p = id >>> PAGE_BITS; p < pages.length(); p++, id = p << PAGE_BITS) {
+            AtomicLongArray page = pages.get(p);
+            if (page == null) {
+                continue;
+            }
+            int w = (id >>> 6) & (WORDS_PER_PAGE - 1);
+            long word = page.get(w) & (-1L << id);
+            while (true) {
+                if (word != 0) {
+                    return (p << PAGE_BITS) + w * 64 + Long.numberOfTrailingZeros(word);
+                }
+                if (++w == WORDS_PER_PAGE) {
+                    break;
+                }
+                word = page.get(w);
+            }
+        }
+        return -1;
+    }
+}
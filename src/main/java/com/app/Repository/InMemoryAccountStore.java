@@ -0,0 +1,77 @@
+package com.app.Repository;
+
+import com.app.Entity.Account;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * AccountStore held in process memory ("app.storage.engine=memory"): accounts by ID in a StripedIntMap and by
+ * username in a ConcurrentHashMap, which also enforces unique usernames. Nothing is persisted; IDs start at 1.
+ * Stored accounts are never handed out, only copies, so callers cannot change them.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "memory")
+public class InMemoryAccountStore implements AccountStore {
+    private final StripedIntMap<Account> byId;
+    private final Map<String, Account> byUsername = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    public InMemoryAccountStore(@Value("${app.storage.memory.stripes:64}") int stripes) {
+        this.byId = new StripedIntMap<>(stripes);
+    }
+
+    @Override
+    public Account save(Account account) {
+        Account stored = new Account(nextId.getAndIncrement(), account.getUsername(), account.getPassword());
+        if (byUsername.putIfAbsent(stored.getUsername(), stored) != null) {
+            throw new DataIntegrityViolationException("Duplicate username"); // Same outcome as the unique constraint
+        }
+        byId.put(stored.getAccountId(), stored);
+        account.setAccountId(stored.getAccountId());
+        return copyOf(stored);
+    }
+
+    @Override
+    public Optional<Account> findAccountByUsername(String username) {
+        Account account = byUsername.get(username);
+        // The username is claimed before the ID is published, so only return accounts that are fully stored
+        return account != null && byId.get(account.getAccountId()) != null ? Optional.of(copyOf(account)) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Account> findAccountByAccountId(Integer accountId) {
+        Account account = accountId == null ? null : byId.get(accountId);
+        return account != null ? Optional.of(copyOf(account)) : Optional.empty();
+    }
+
+    @Override
+    public List<Integer> findExistingAccountIds(Collection<Integer> accountIds) {
+        List<Integer> existing = new ArrayList<>();
+        for (Integer accountId : accountIds) {
+            if (accountId != null && byId.get(accountId) != null) {
+                existing.add(accountId);
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public Stream<String> streamAllUsernames() {
+        return List.copyOf(byUsername.keySet()).stream();
+    }
+
+    private static Account copyOf(Account account) {
+        return new Account(account.getAccountId(), account.getUsername(), account.getPassword());
+    }
+}
@@ -0,0 +1,102 @@
+package com.app.Repository;
+
+import com.app.Entity.Follow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * FollowStore held in process memory ("app.storage.engine=memory"): per follower, a sorted int[] of followee IDs
+ * in a StripedIntMap. Nothing is persisted; the graph starts empty.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "memory")
+public class InMemoryFollowStore implements FollowStore {
+    private static final int[] NONE = new int[0];
+
+    private final StripedIntMap<Followees> followees;
+
+    public InMemoryFollowStore(@Value("${app.storage.memory.stripes:64}") int stripes) {
+        this.followees = new StripedIntMap<>(stripes);
+    }
+
+    @Override
+    public int follow(Integer followerId, Integer followeeId) {
+        return followees.computeIfAbsent(followerId, id -> new Followees()).add(followeeId) ? 1 : 0;
+    }
+
+    @Override
+    public int unfollow(Integer followerId, Integer followeeId) {
+        Followees set = followees.get(followerId);
+        return set != null && set.remove(followeeId) ? 1 : 0;
+    }
+
+    @Override
+    public List<Integer> findFolloweeIds(Integer followerId) {
+        return Arrays.stream(followeesOf(followerId)).boxed().toList();
+    }
+
+    @Override
+    public Stream<Follow> streamAll() {
+        List<Follow> all = new ArrayList<>();
+        followees.forEach((followerId, set) -> {
+            for (int followeeId : set.toArray()) {
+                all.add(new Follow(followerId, followeeId));
+            }
+        });
+        return all.stream();
+    }
+
+    /**
+     * Gets the accounts a user follows (used by InMemoryMessageStore.findFeed).
+     *
+     * @param followerId The follower.
+     * @return The followee IDs in ascending order.
+     */
+    int[] followeesOf(int followerId) {
+        Followees set = followees.get(followerId);
+        return set == null ? NONE : set.toArray();
+    }
+
+    /**
+     * Sorted set of followee IDs of one follower.
+     */
+    private static final class Followees {
+        private int[] ids = new int[4];
+        private int size;
+
+        synchronized boolean add(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return false;
+            }
+            pos = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+            return true;
+        }
+
+        synchronized boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        synchronized int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
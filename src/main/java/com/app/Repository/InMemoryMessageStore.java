@@ -0,0 +1,117 @@
+package com.app.Repository;
+
+import com.app.Dto.MessageView;
+import com.app.Entity.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MessageStore held in process memory ("app.storage.engine=memory"), for nodes that run without JPA.
+ *
+ * Messages by ID are a StripedIntMap of immutable MessageView rows (open addressing, lock striping, optimistic
+ * reads). An update swaps in a new row, so readers never see a half-applied change. Timelines, feeds, pages and
+ * ranges are answered from the indexes of IndexedMessageStore.
+ *
+ * IDs come from an AtomicInteger starting at 1. Nothing is persisted.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "memory")
+public class InMemoryMessageStore extends IndexedMessageStore {
+    private final InMemoryFollowStore followStore;
+    private final StripedIntMap<MessageView> messages;
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    public InMemoryMessageStore(InMemoryFollowStore followStore, @Value("${app.storage.memory.stripes:64}") int stripes) {
+        super(stripes);
+        this.followStore = followStore;
+        this.messages = new StripedIntMap<>(stripes);
+    }
+
+    @Override
+    public Message save(Message message) {
+        message.setMessageId(nextId.getAndIncrement());
+        insert(MessageView.of(message));
+        return message;
+    }
+
+    @Override
+    public void insertAll(List<Message> messages) {
+        allocateIds(messages);
+        insertPreallocated(messages);
+    }
+
+    @Override
+    public void allocateIds(List<Message> messages) {
+        int first = nextId.getAndAdd(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            messages.get(i).setMessageId(first + i);
+        }
+    }
+
+    @Override
+    public void insertPreallocated(List<Message> messages) {
+        for (Message message : messages) {
+            insert(MessageView.of(message));
+        }
+    }
+
+    @Override
+    MessageView view(int messageId) {
+        return messages.get(messageId);
+    }
+
+    @Override
+    int[] followeesOf(int followerId) {
+        return followStore.followeesOf(followerId);
+    }
+
+    @Override
+    public List<Integer> updateMessageText(Integer messageId, String newText) {
+        MessageView updated = messages.computeIfPresent(messageId,
+                old -> new MessageView(old.messageId(), old.postedBy(), newText, old.timePostedEpoch()));
+        return updated == null ? List.of() : List.of(updated.postedBy());
+    }
+
+    @Override
+    public List<Integer> deleteMessageById(Integer messageId) {
+        MessageView removed = remove(messageId);
+        return removed == null ? List.of() : List.of(removed.postedBy());
+    }
+
+    @Override
+    public List<Integer> deleteMessagesByIdInReturningPosters(Collection<Integer> messageIds) {
+        List<Integer> posters = new ArrayList<>();
+        for (Integer messageId : messageIds) {
+            MessageView removed = remove(messageId);
+            if (removed != null) {
+                posters.add(removed.postedBy());
+            }
+        }
+        return posters;
+    }
+
+    /**
+     * Publishes a message: the row first, then the indexes.
+     */
+    private void insert(MessageView view) {
+        messages.put(view.messageId(), view);
+        addToIndexes(view.messageId(), view.postedBy(), epochOf(view));
+    }
+
+    private MessageView remove(Integer messageId) {
+        if (messageId == null) {
+            return null;
+        }
+        MessageView removed = messages.remove(messageId);
+        if (removed != null) {
+            removeFromIndexes(removed.messageId(), removed.postedBy(), epochOf(removed));
+        }
+        return removed;
+    }
+}
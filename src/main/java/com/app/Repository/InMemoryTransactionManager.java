@@ -0,0 +1,37 @@
+package com.app.Repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * Transaction manager of the in-memory storage engine, which has no JPA or DataSource transaction manager.
+ *
+ * It only demarcates: @Transactional service methods run as before and after-commit callbacks
+ * (TransactionCallbacks) fire when the outermost method returns, but nothing is rolled back, since each
+ * in-memory store write is applied immediately. Services validate before they write, so a failure normally
+ * happens before anything was stored.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "memory")
+public class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+    @Override
+    protected Object doGetTransaction() {
+        return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.app.Repository;
+
+import com.app.Dto.MessageView;
+import com.app.Entity.Message;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Read side shared by the storage engines that keep their indexes in process memory (InMemoryMessageStore and
+ * LogMessageStore). A subclass only says where a message row lives (view) and whom a user follows (followeesOf),
+ * and calls addToIndexes / removeFromIndexes as it stores and removes rows.
+ *
+ * - Per poster: a PosterTimeline of int IDs and long epochs in (timePostedEpoch, messageId) order, for timelines,
+ *   feeds and deletes by user.
+ * - Live IDs: an IdBitmap, for pages and exports in messageId order.
+ * - Dated messages: a TimePostedIndex of int IDs and long epochs in hour buckets, so a time range page is a
+ *   seek plus a walk of the page itself, whatever the number of messages.
+ */
+abstract class IndexedMessageStore implements MessageStore {
+    static final Comparator<MessageView> BY_TIME =
+            Comparator.comparingLong(IndexedMessageStore::epochOf).thenComparingInt(MessageView::messageId);
+
+    private static final int STREAM_CHUNK = 1024;
+    private static final TimePostedIndex.Chunk NO_CHUNK = new TimePostedIndex.Chunk(new int[0], new long[0]);
+
+    private final StripedIntMap<PosterTimeline> timelines;
+    private final IdBitmap liveIds = new IdBitmap();
+    private final TimePostedIndex byTime = new TimePostedIndex();
+
+    IndexedMessageStore(int stripes) {
+        this.timelines = new StripedIntMap<>(stripes);
+    }
+
+    /**
+     * Reads a stored message.
+     *
+     * @return The message, or null if there is none with this ID.
+     */
+    abstract MessageView view(int messageId);
+
+    /**
+     * Gets the accounts a user follows (for findFeed).
+     */
+    abstract int[] followeesOf(int followerId);
+
+    /**
+     * Publishes a stored message to the indexes. Called once the row is readable through view, so any index
+     * that finds the ID also finds the row.
+     *
+     * @param epoch The timePostedEpoch, or PosterTimeline.NO_EPOCH if it has none.
+     */
+    final void addToIndexes(int messageId, int postedBy, long epoch) {
+        liveIds.set(messageId);
+        timelines.computeIfAbsent(postedBy, poster -> new PosterTimeline()).add(messageId, epoch);
+        if (epoch != PosterTimeline.NO_EPOCH) {
+            byTime.add(messageId, epoch);
+        }
+    }
+
+    /**
+     * Withdraws a removed message from the indexes.
+     */
+    final void removeFromIndexes(int messageId, int postedBy, long epoch) {
+        liveIds.clear(messageId);
+        if (epoch != PosterTimeline.NO_EPOCH) {
+            byTime.remove(messageId, epoch);
+        }
+        PosterTimeline timeline = timelines.get(postedBy);
+        if (timeline != null) {
+            timeline.remove(messageId, epoch);
+        }
+    }
+
+    @Override
+    public Optional<Message> findById(Integer messageId) {
+        MessageView view = messageId == null ? null : view(messageId);
+        return view == null ? Optional.empty()
+                : Optional.of(new Message(view.messageId(), view.postedBy(), view.messageText(), view.timePostedEpoch()));
+    }
+
+    @Override
+    public List<MessageView> findViewsByMessageIdIn(Collection<Integer> messageIds) {
+        List<MessageView> found = new ArrayList<>(messageIds.size());
+        for (Integer messageId : messageIds) {
+            MessageView view = messageId == null ? null : view(messageId);
+            if (view != null) {
+                found.add(view);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<MessageView> findPageAfter(Integer messageId, int limit) {
+        List<MessageView> page = new ArrayList<>(Math.min(limit, 1024));
+        for (int id = liveIds.nextSetBit(messageId + 1); id >= 0 && page.size() < limit; id = liveIds.nextSetBit(id + 1)) {
+            MessageView view = view(id);
+            if (view != null) {
+                page.add(view);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public List<MessageView> findTimeline(Integer postedBy, int limit) {
+        return findTimelineBefore(postedBy, Long.MAX_VALUE, Integer.MAX_VALUE, limit);
+    }
+
+    @Override
+    public List<MessageView> findTimelineBefore(Integer postedBy, Long epoch, Integer messageId, int limit) {
+        PosterTimeline timeline = timelines.get(postedBy);
+        List<MessageView> page = new ArrayList<>();
+        if (timeline == null) {
+            return page;
+        }
+        int[] ids = new int[Math.min(limit, Math.max(1, timeline.size()))];
+        long[] epochs = new long[ids.length];
+        long positionEpoch = epoch;
+        int positionId = messageId;
+        while (page.size() < limit) {
+            int count = timeline.newestBefore(positionEpoch, positionId, ids, epochs);
+            for (int i = 0; i < count && page.size() < limit; i++) {
+                MessageView view = view(ids[i]);
+                if (view != null) { // Null if deleted since the timeline was read
+                    page.add(view);
+                }
+            }
+            if (count < ids.length) {
+                break;
+            }
+            positionEpoch = epochs[count - 1]; // A deleted ID left the page short: read on past it
+            positionId = ids[count - 1];
+        }
+        return page;
+    }
+
+    @Override
+    public List<MessageView> findFeed(Integer followerId, int limit) {
+        List<MessageView> candidates = new ArrayList<>();
+        for (int followee : followeesOf(followerId)) {
+            candidates.addAll(findTimeline(followee, limit));
+        }
+        candidates.sort(BY_TIME.reversed());
+        return candidates.size() <= limit ? candidates : new ArrayList<>(candidates.subList(0, limit));
+    }
+
+    @Override
+    public List<MessageView> findRangeAfter(Long epoch, Integer messageId, Long until, int limit) {
+        List<MessageView> page = new ArrayList<>(Math.min(limit, 1024));
+        long afterEpoch = epoch;
+        int afterId = messageId;
+        while (page.size() < limit) {
+            int wanted = limit - page.size();
+            TimePostedIndex.Chunk chunk = byTime.after(afterEpoch, afterId, until, wanted);
+            for (int i = 0; i < chunk.size(); i++) {
+                MessageView view = view(chunk.ids()[i]);
+                if (view != null) { // Null if deleted since the chunk was read
+                    page.add(view);
+                }
+            }
+            if (chunk.size() < wanted) {
+                break;
+            }
+            afterEpoch = chunk.epochs()[chunk.size() - 1];
+            afterId = chunk.ids()[chunk.size() - 1];
+        }
+        return page;
+    }
+
+    @Override
+    public Stream<MessageView> streamAllOrderByMessageId() {
+        return liveIdStream().mapToObj(this::view).filter(Objects::nonNull);
+    }
+
+    @Override
+    public Stream<MessageView> streamPostedSince(Long since) {
+        return Stream.iterate(byTime.after(since, Integer.MIN_VALUE, Long.MAX_VALUE, STREAM_CHUNK),
+                        chunk -> chunk.size() > 0,
+                        chunk -> chunk.size() < STREAM_CHUNK ? NO_CHUNK : byTime.after(chunk.epochs()[chunk.size() - 1],
+                                chunk.ids()[chunk.size() - 1], Long.MAX_VALUE, STREAM_CHUNK))
+                .flatMapToInt(chunk -> IntStream.of(chunk.ids()))
+                .mapToObj(this::view)
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public List<Integer> findMessageIdsByPostedBy(Integer postedBy, int limit) {
+        PosterTimeline timeline = timelines.get(postedBy);
+        if (timeline == null) {
+            return List.of();
+        }
+        return IntStream.of(timeline.ids(limit)).boxed().toList();
+    }
+
+    @Override
+    public int deleteMessagesByIdIn(Collection<Integer> messageIds) {
+        return deleteMessagesByIdInReturningPosters(messageIds).size();
+    }
+
+    private IntStream liveIdStream() {
+        return IntStream.iterate(liveIds.nextSetBit(0), id -> id >= 0, id -> liveIds.nextSetBit(id + 1));
+    }
+
+    static long epochOf(MessageView view) {
+        return view.timePostedEpoch() != null ? view.timePostedEpoch() : PosterTimeline.NO_EPOCH;
+    }
+}
@@ -0,0 +1,49 @@
+package com.app.Repository;
+
+import com.app.Entity.Account;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * AccountStore over the account table through AccountRepository. Used by the default engine
+ * ("app.storage.engine=jpa") and by "log", which only moves messages out of the database.
+ */
+@Repository
+@ConditionalOnExpression("'${app.storage.engine:jpa}' != 'memory'")
+public class JpaAccountStore implements AccountStore {
+    private final AccountRepository accountRepository;
+
+    public JpaAccountStore(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    @Override
+    public Account save(Account account) {
+        return accountRepository.save(account);
+    }
+
+    @Override
+    public Optional<Account> findAccountByUsername(String username) {
+        return accountRepository.findAccountByUsername(username);
+    }
+
+    @Override
+    public Optional<Account> findAccountByAccountId(Integer accountId) {
+        return accountRepository.findAccountByAccountId(accountId);
+    }
+
+    @Override
+    public List<Integer> findExistingAccountIds(Collection<Integer> accountIds) {
+        return accountRepository.findExistingAccountIds(accountIds);
+    }
+
+    @Override
+    public Stream<String> streamAllUsernames() {
+        return accountRepository.streamAllUsernames();
+    }
+}
@@ -0,0 +1,42 @@
+package com.app.Repository;
+
+import com.app.Entity.Follow;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * FollowStore over the follow table through FollowRepository. Used by the default engine
+ * ("app.storage.engine=jpa") and by "log", which only moves messages out of the database.
+ */
+@Repository
+@ConditionalOnExpression("'${app.storage.engine:jpa}' != 'memory'")
+public class JpaFollowStore implements FollowStore {
+    private final FollowRepository followRepository;
+
+    public JpaFollowStore(FollowRepository followRepository) {
+        this.followRepository = followRepository;
+    }
+
+    @Override
+    public int follow(Integer followerId, Integer followeeId) {
+        return followRepository.follow(followerId, followeeId);
+    }
+
+    @Override
+    public int unfollow(Integer followerId, Integer followeeId) {
+        return followRepository.unfollow(followerId, followeeId);
+    }
+
+    @Override
+    public List<Integer> findFolloweeIds(Integer followerId) {
+        return followRepository.findFolloweeIds(followerId);
+    }
+
+    @Override
+    public Stream<Follow> streamAll() {
+        return followRepository.streamAll();
+    }
+}
@@ -0,0 +1,125 @@
+package com.app.Repository;
+
+import com.app.Dto.MessageView;
+import com.app.Entity.Message;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * MessageStore over the message table: single rows and queries through MessageRepository,
+ * bulk inserts and ID blocks through MessageBatchRepository. The default engine ("app.storage.engine=jpa").
+ *
+ * Updates and deletes are one standard UPDATE/DELETE statement each. Only the row count comes back, so the
+ * owners they report are null (unknown); MessageService fills them in from MessageCache where it can.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaMessageStore implements MessageStore {
+    private final MessageRepository messageRepository;
+    private final MessageBatchRepository messageBatchRepository;
+
+    public JpaMessageStore(MessageRepository messageRepository, MessageBatchRepository messageBatchRepository) {
+        this.messageRepository = messageRepository;
+        this.messageBatchRepository = messageBatchRepository;
+    }
+
+    @Override
+    public Message save(Message message) {
+        return messageRepository.save(message);
+    }
+
+    @Override
+    public void insertAll(List<Message> messages) {
+        messageBatchRepository.insertAll(messages);
+    }
+
+    @Override
+    public void allocateIds(List<Message> messages) {
+        messageBatchRepository.allocateIds(messages);
+    }
+
+    @Override
+    public void insertPreallocated(List<Message> messages) {
+        messageBatchRepository.insertPreallocated(messages);
+    }
+
+    @Override
+    public Optional<Message> findById(Integer messageId) {
+        return messageRepository.findById(messageId);
+    }
+
+    @Override
+    public List<MessageView> findViewsByMessageIdIn(Collection<Integer> messageIds) {
+        return messageRepository.findViewsByMessageIdIn(messageIds);
+    }
+
+    @Override
+    public List<MessageView> findPageAfter(Integer messageId, int limit) {
+        return messageRepository.findPageAfter(messageId, Limit.of(limit));
+    }
+
+    @Override
+    public List<MessageView> findTimeline(Integer postedBy, int limit) {
+        return messageRepository.findTimeline(postedBy, Limit.of(limit));
+    }
+
+    @Override
+    public List<MessageView> findTimelineBefore(Integer postedBy, Long epoch, Integer messageId, int limit) {
+        if (epoch == MessageStore.NO_EPOCH) {
+            return messageRepository.findUndatedTimelineBefore(postedBy, messageId, Limit.of(limit));
+        }
+        return messageRepository.findTimelineBefore(postedBy, epoch, messageId, Limit.of(limit));
+    }
+
+    @Override
+    public List<MessageView> findFeed(Integer followerId, int limit) {
+        return messageRepository.findFeed(followerId, Limit.of(limit));
+    }
+
+    @Override
+    public List<MessageView> findRangeAfter(Long epoch, Integer messageId, Long until, int limit) {
+        return messageRepository.findRangeAfter(epoch, messageId, until, Limit.of(limit));
+    }
+
+    @Override
+    public Stream<MessageView> streamAllOrderByMessageId() {
+        return messageRepository.streamAllOrderByMessageId();
+    }
+
+    @Override
+    public Stream<MessageView> streamPostedSince(Long since) {
+        return messageRepository.streamPostedSince(since);
+    }
+
+    @Override
+    public List<Integer> findMessageIdsByPostedBy(Integer postedBy, int limit) {
+        return messageRepository.findMessageIdsByPostedBy(postedBy, Limit.of(limit));
+    }
+
+    @Override
+    public List<Integer> updateMessageText(Integer messageId, String newText) {
+        return Collections.nCopies(messageRepository.updateMessageText(messageId, newText), null);
+    }
+
+    @Override
+    public List<Integer> deleteMessageById(Integer messageId) {
+        return Collections.nCopies(messageRepository.deleteMessageById(messageId), null);
+    }
+
+    @Override
+    public List<Integer> deleteMessagesByIdInReturningPosters(Collection<Integer> messageIds) {
+        return Collections.nCopies(messageRepository.deleteMessagesByIdIn(messageIds), null);
+    }
+
+    @Override
+    public int deleteMessagesByIdIn(Collection<Integer> messageIds) {
+        return messageRepository.deleteMessagesByIdIn(messageIds);
+    }
+}
@@ -0,0 +1,202 @@
+package com.app.Repository;
+
+import com.app.Dto.MessageView;
+import com.app.Entity.Message;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MessageStore on an append-only log of memory-mapped segment files ("app.storage.engine=log"), so message writes
+ * never go through JDBC. Accounts and follows stay in the database (JpaAccountStore, JpaFollowStore).
+ *
+ * The log (see MessageLog) holds the messages and an offset index by messageId; timelines, feeds, pages and ranges
+ * are answered from the indexes of IndexedMessageStore, rebuilt from the log when the store is created. A
+ * maintenance thread forces new records to disk every "force-interval" and compacts mostly-dead segments every
+ * "compaction-interval".
+ *
+ * Writes are not part of the surrounding transaction: they are applied when the store is called and are not
+ * rolled back. Metrics: message.log.segments, message.log.bytes and message.log.live.bytes.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "log")
+public class LogMessageStore extends IndexedMessageStore {
+    private static final Logger log = LoggerFactory.getLogger(LogMessageStore.class);
+
+    private final FollowStore followStore;
+    private final MessageLog messageLog;
+    private final long forceIntervalMillis;
+    private final long compactionIntervalNanos;
+    private final double compactionThreshold;
+    private final Thread maintenance;
+    private volatile boolean running;
+
+    public LogMessageStore(FollowStore followStore, MeterRegistry meterRegistry,
+                           @Value("${app.storage.log.directory:data/message-log}") String directory,
+                           @Value("${app.storage.log.segment-size:64MB}") DataSize segmentSize,
+                           @Value("${app.storage.log.force-interval:1s}") Duration forceInterval,
+                           @Value("${app.storage.log.compaction-interval:1m}") Duration compactionInterval,
+                           @Value("${app.storage.log.compaction-threshold:0.5}") double compactionThreshold,
+                           @Value("${app.storage.memory.stripes:64}") int stripes) {
+        super(stripes);
+        this.followStore = followStore;
+        this.forceIntervalMillis = Math.max(1, forceInterval.toMillis());
+        this.compactionIntervalNanos = compactionInterval.toNanos();
+        this.compactionThreshold = compactionThreshold;
+
+        long started = System.nanoTime();
+        this.messageLog = MessageLog.open(Path.of(directory), Math.toIntExact(segmentSize.toBytes()));
+        int recovered = messageLog.forEachLive(this::addToIndexes);
+        log.info("Message log recovered in {} ms: {} messages in {} segments ({} bytes) under {}",
+                (System.nanoTime() - started) / 1_000_000, recovered, messageLog.segmentCount(),
+                messageLog.writtenBytes(), directory);
+
+        Gauge.builder("message.log.segments", messageLog, MessageLog::segmentCount)
+                .description("Segment files of the message log")
+                .register(meterRegistry);
+        Gauge.builder("message.log.bytes", messageLog, MessageLog::writtenBytes)
+                .description("Bytes of records in the message log, live or not")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("message.log.live.bytes", messageLog, MessageLog::liveBytes)
+                .description("Bytes of the latest record of every live message")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        this.running = true;
+        this.maintenance = new Thread(this::maintenanceLoop, "message-log-maintenance");
+        this.maintenance.setDaemon(true);
+        this.maintenance.start();
+    }
+
+    @Override
+    public Message save(Message message) {
+        insertAll(List.of(message));
+        return message;
+    }
+
+    @Override
+    public void insertAll(List<Message> messages) {
+        allocateIds(messages);
+        insertPreallocated(messages);
+    }
+
+    @Override
+    public void allocateIds(List<Message> messages) {
+        int first = messageLog.allocateIds(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            messages.get(i).setMessageId(first + i);
+        }
+    }
+
+    @Override
+    public void insertPreallocated(List<Message> messages) {
+        List<MessageView> views = messages.stream().map(MessageView::of).toList();
+        messageLog.putAll(views);
+        for (MessageView view : views) {
+            addToIndexes(view.messageId(), view.postedBy(), epochOf(view));
+        }
+    }
+
+    @Override
+    MessageView view(int messageId) {
+        return messageLog.read(messageId);
+    }
+
+    @Override
+    int[] followeesOf(int followerId) {
+        return followStore.findFolloweeIds(followerId).stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    public List<Integer> updateMessageText(Integer messageId, String newText) {
+        MessageView updated = messageId == null ? null : messageLog.update(messageId, newText);
+        return updated == null ? List.of() : List.of(updated.postedBy());
+    }
+
+    @Override
+    public List<Integer> deleteMessageById(Integer messageId) {
+        return deleteMessagesByIdInReturningPosters(messageId == null ? List.of() : List.of(messageId));
+    }
+
+    @Override
+    public List<Integer> deleteMessagesByIdInReturningPosters(Collection<Integer> messageIds) {
+        List<Integer> posters = new ArrayList<>();
+        for (Integer messageId : messageIds) {
+            MessageView removed = messageId == null ? null : messageLog.delete(messageId);
+            if (removed != null) {
+                removeFromIndexes(removed.messageId(), removed.postedBy(), epochOf(removed));
+                posters.add(removed.postedBy());
+            }
+        }
+        return posters;
+    }
+
+    /**
+     * Runs a compaction pass now, outside the schedule of the maintenance thread.
+     *
+     * @return The number of segments compacted.
+     */
+    public int compact() {
+        return messageLog.compact(compactionThreshold);
+    }
+
+    /**
+     * Gets the number of segment files of the log.
+     */
+    public int segmentCount() {
+        return messageLog.segmentCount();
+    }
+
+    /**
+     * Stops the maintenance thread and forces the log to disk before the application shuts down.
+     *
+     * @throws InterruptedException If interrupted while waiting for the maintenance thread.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        maintenance.interrupt();
+        maintenance.join(TimeUnit.SECONDS.toMillis(10));
+        messageLog.force();
+    }
+
+    /**
+     * Maintenance thread body: forces the log every force-interval and compacts it every compaction-interval.
+     */
+    private void maintenanceLoop() {
+        long nextCompaction = System.nanoTime() + compactionIntervalNanos;
+        while (running) {
+            try {
+                Thread.sleep(forceIntervalMillis);
+            } catch (InterruptedException e) {
+                return; // Shutting down; the final force happens in shutdown
+            }
+            try {
+                messageLog.force();
+                if (compactionIntervalNanos > 0 && System.nanoTime() - nextCompaction >= 0) {
+                    int compacted = messageLog.compact(compactionThreshold);
+                    if (compacted > 0) {
+                        log.info("Compacted {} message log segments", compacted);
+                    }
+                    nextCompaction = System.nanoTime() + compactionIntervalNanos;
+                }
+            } catch (RuntimeException e) {
+                log.error("Message log maintenance failed", e);
+            }
+        }
+    }
+}
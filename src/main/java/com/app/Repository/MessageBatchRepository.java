@@ -0,0 +1,136 @@
+package com.app.Repository;
+
+import com.app.Entity.Message;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Bulk insert path for messages that bypasses per-entity JPA persistence.
+ *
+ * IDs are drawn from the same Hibernate generator that MessageRepository.save uses (a pooled
+ * sequence optimizer), so one sequence call covers a whole block of IDs and bulk-inserted rows
+ * never collide with singly-inserted ones. The rows are then written with JDBC batch statements.
+ *
+ * Spring Data only times its own repository proxies, so this class records its calls itself under
+ * the same metric and tags (spring.data.repository.invocations, repository=MessageBatchRepository).
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class MessageBatchRepository {
+    static final int JDBC_BATCH_SIZE = 500;
+    private static final String INSERT_SQL =
+            "INSERT INTO message (messageId, postedBy, messageText, timePostedEpoch) VALUES (?, ?, ?, ?)";
+
+    private static final String METRIC = "spring.data.repository.invocations";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public MessageBatchRepository(EntityManager entityManager, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Assigns IDs to the given messages and inserts them with JDBC batch statements.
+     * The messages are expected to have been validated already.
+     *
+     * @param messages The messages to insert; their messageId is set in place.
+     */
+    @Transactional
+    public void insertAll(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        timed("insertAll", () -> {
+            assignIds(messages);
+            batchInsert(messages);
+        });
+    }
+
+    /**
+     * Inserts messages whose IDs were already assigned by allocateIds, using JDBC batch statements.
+     *
+     * @param messages The messages to insert, each with its messageId set.
+     */
+    @Transactional
+    public void insertPreallocated(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        timed("insertPreallocated", () -> batchInsert(messages));
+    }
+
+    /**
+     * Assigns a new messageId to each message using the entity's own identifier generator.
+     * Most calls are served from the generator's in-memory block and do not touch the database.
+     *
+     * @param messages The messages to number.
+     */
+    @Transactional
+    public void allocateIds(List<Message> messages) {
+        timed("allocateIds", () -> assignIds(messages));
+    }
+
+    private void batchInsert(List<Message> messages) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, JDBC_BATCH_SIZE, (ps, message) -> {
+            ps.setInt(1, message.getMessageId());
+            ps.setInt(2, message.getPostedBy());
+            ps.setString(3, message.getMessageText());
+            if (message.getTimePostedEpoch() != null) {
+                ps.setLong(4, message.getTimePostedEpoch());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+        });
+    }
+
+    private void assignIds(List<Message> messages) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(Message.class)
+                .getGenerator();
+        for (Message message : messages) {
+            Number id = (Number) generator.generate(session, message, null, EventType.INSERT);
+            message.setMessageId(id.intValue());
+        }
+    }
+
+    /**
+     * Runs one repository call and records it like Spring Data's repository metrics do.
+     *
+     * @param method The public method name used as the "method" tag.
+     * @param call   The work to time.
+     */
+    private void timed(String method, Runnable call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String state = "SUCCESS";
+        String exception = "none";
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            state = "ERROR";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                    .description("Duration of repository invocations")
+                    .tags("repository", "MessageBatchRepository", "method", method, "state", state, "exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,546 @@
+package com.app.Repository;
+
+import com.app.Dto.MessageView;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of messages in memory-mapped segment files, the storage of LogMessageStore.
+ *
+ * A segment is a file "segment-<n>.log" of a fixed size, mapped whole. It starts with a 16-byte header
+ * (magic, version, and the next message ID when the segment was created) followed by length-prefixed records:
+ *
+ *   int bodyLength | int crc32(body) | body
+ *   PUT body:    byte 1 | int messageId | int postedBy | long timePostedEpoch (Long.MIN_VALUE if none) | UTF-8 text
+ *   DELETE body: byte 2 | int messageId
+ *
+ * Creates and updates append a PUT with the whole message, deletes append a DELETE (a tombstone). An offset index
+ * (one long per messageId: segment number and position) points at the latest PUT of every live message, so a read
+ * is one index lookup and one decode from the mapping. Appends are serialized by one lock and go to the newest
+ * segment; a new segment is started when a record does not fit.
+ *
+ * Recovery maps every segment in order and replays its records into the offset index. A segment ends at the first
+ * zero length or CRC mismatch (a write torn by a crash); if the newest segment ends that way, appends continue in a
+ * new segment so the torn bytes are never followed by valid records.
+ *
+ * Compaction rewrites a sealed segment whose live bytes have fallen below a fraction of its size: PUTs the index
+ * still points at are appended again at the head (under the append lock, so they can never overtake a newer write
+ * of the same message), then the file is deleted. Readers that raced the move find the segment gone and retry
+ * through the index. IDs are never reused, so a tombstone is only needed while an older segment may still hold a
+ * PUT of its ID: every segment tracks the range of IDs it has PUTs and tombstones for, a tombstone is copied
+ * forward only if the PUT range of an older segment covers its ID, and the tombstones of a segment count as live
+ * bytes for as long as they may be needed.
+ *
+ * Writes reach the page cache immediately, so they survive a crash of the process; force() makes them durable
+ * against a crash of the machine.
+ */
+final class MessageLog {
+    static final int HEADER_BYTES = 16;
+
+    private static final int MAGIC = 0x4D4C4F47; // "MLOG"
+    private static final int VERSION = 1;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int PUT_FIXED_BYTES = 1 + 4 + 4 + 8;
+    private static final int DELETE_BYTES = 1 + 4;
+    private static final int MAX_RECORD_BYTES = 8 + PUT_FIXED_BYTES + 4 * 1024; // Room for 1024 chars of any UTF-8
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.log");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private final OffsetIndex locations = new OffsetIndex();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ByteBuffer scratch = ByteBuffer.allocate(MAX_RECORD_BYTES);
+    private final CRC32 crc = new CRC32();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private volatile Segment active;
+
+    private MessageLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the log in a directory (creating both if needed) and recovers the offset index from its segments.
+     *
+     * @param segmentSize The size of new segment files, in bytes; existing segments keep their own size.
+     */
+    static MessageLog open(Path directory, int segmentSize) {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("Segment size must be at least 4KB");
+        }
+        MessageLog log = new MessageLog(directory, segmentSize);
+        try {
+            Files.createDirectories(directory);
+            List<Path> files = new ArrayList<>();
+            try (Stream<Path> listing = Files.list(directory)) {
+                listing.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches()).forEach(files::add);
+            }
+            files.sort((a, b) -> Integer.compare(numberOf(a), numberOf(b)));
+            boolean torn = false;
+            for (Path file : files) {
+                torn = log.recover(file);
+            }
+            if (log.active == null || torn) {
+                log.roll(log.active == null ? 1 : log.active.number + 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the message log in " + directory, e);
+        }
+        return log;
+    }
+
+    /**
+     * Reserves a block of consecutive message IDs.
+     *
+     * @return The first ID of the block.
+     */
+    int allocateIds(int count) {
+        return nextId.getAndAdd(count);
+    }
+
+    /**
+     * Appends messages (new or replacing stored ones) under one acquisition of the append lock.
+     */
+    void putAll(List<MessageView> views) {
+        appendLock.lock();
+        try {
+            for (MessageView view : views) {
+                byte[] text = view.messageText().getBytes(StandardCharsets.UTF_8);
+                scratch.clear();
+                scratch.put(PUT).putInt(view.messageId()).putInt(view.postedBy())
+                        .putLong(view.timePostedEpoch() != null ? view.timePostedEpoch() : PosterTimeline.NO_EPOCH)
+                        .put(text);
+                moveTo(view.messageId(), appendScratch());
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the text of a stored message.
+     *
+     * @return The updated message, or null if there is none with this ID.
+     */
+    MessageView update(int messageId, String newText) {
+        appendLock.lock();
+        try {
+            MessageView old = read(messageId);
+            if (old == null) {
+                return null;
+            }
+            MessageView updated = new MessageView(old.messageId(), old.postedBy(), newText, old.timePostedEpoch());
+            putAll(List.of(updated)); // Reentrant
+            return updated;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes a stored message by appending a tombstone.
+     *
+     * @return The deleted message, or null if there is none with this ID.
+     */
+    MessageView delete(int messageId) {
+        appendLock.lock();
+        try {
+            MessageView old = read(messageId);
+            if (old == null) {
+                return null;
+            }
+            scratch.clear();
+            scratch.put(DELETE).putInt(messageId);
+            appendScratch();
+            moveTo(messageId, 0);
+            return old;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the latest version of a message.
+     *
+     * @return The message, or null if there is none with this ID (IDs below 1 never exist).
+     */
+    MessageView read(int messageId) {
+        while (true) {
+            long location = locations.get(messageId);
+            if (location == 0) {
+                return null;
+            }
+            Segment segment = segments.get(segmentOf(location));
+            if (segment != null) {
+                return segment.readPut(positionOf(location));
+            }
+            // Moved by compaction after the index was read: the index already has the new location
+        }
+    }
+
+    /**
+     * Visits every live message in ascending messageId order (used to build the other indexes after recovery).
+     *
+     * @return The number of live messages.
+     */
+    int forEachLive(LiveMessageConsumer action) {
+        int count = 0;
+        for (int id = 1, end = nextId.get(); id < end && id > 0; id++) {
+            long location = locations.get(id);
+            if (location != 0) {
+                Segment segment = segments.get(segmentOf(location));
+                int position = positionOf(location);
+                action.accept(id, segment.buffer.getInt(position + 8 + 5), segment.buffer.getLong(position + 8 + 9));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @FunctionalInterface
+    interface LiveMessageConsumer {
+        void accept(int messageId, int postedBy, long epoch);
+    }
+
+    /**
+     * Rewrites the sealed segments whose live bytes are below a fraction of their written bytes, oldest first.
+     *
+     * @param threshold The live fraction under which a segment is compacted (0.5 = at least half garbage).
+     * @return The number of segments compacted.
+     */
+    int compact(double threshold) {
+        int compacted = 0;
+        // Only segments sealed before this pass: the newest one is still written to, and the ones started by the
+        // copies of this pass are left for the next
+        for (Segment segment : segments.headMap(active.number).values()) {
+            long written = segment.end - HEADER_BYTES;
+            long needed = segment.liveBytes.get()
+                    + (olderPutMayExist(segment, segment.minDeleteId, segment.maxDeleteId) ? segment.deleteBytes : 0);
+            if (needed >= threshold * written) {
+                continue;
+            }
+            for (int position = HEADER_BYTES; position < segment.end; position += 8 + segment.buffer.getInt(position)) {
+                copyForward(segment, position);
+            }
+            appendLock.lock();
+            try {
+                active.force(); // The copies must be durable before the only other copy is deleted
+            } finally {
+                appendLock.unlock();
+            }
+            try {
+                Files.delete(segment.path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete compacted segment " + segment.path, e);
+            }
+            segments.remove(segment.number);
+            compacted++;
+        }
+        return compacted;
+    }
+
+    /**
+     * Makes every appended record durable (msync of the part of the newest segment written since the last call).
+     */
+    void force() {
+        appendLock.lock();
+        try {
+            active.force();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Bytes of records in all segments, live or not.
+     */
+    long writtenBytes() {
+        long total = 0;
+        for (Segment segment : segments.values()) {
+            total += segment.end - HEADER_BYTES;
+        }
+        return total;
+    }
+
+    /**
+     * Bytes of the records the offset index points at.
+     */
+    long liveBytes() {
+        long total = 0;
+        for (Segment segment : segments.values()) {
+            total += segment.liveBytes.get();
+        }
+        return total;
+    }
+
+    /**
+     * Tells whether a segment older than the given one may hold a PUT of an ID in [minId, maxId].
+     */
+    private boolean olderPutMayExist(Segment segment, int minId, int maxId) {
+        for (Segment older : segments.headMap(segment.number).values()) {
+            if (older.minPutId <= maxId && minId <= older.maxPutId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies one record of a segment being compacted to the head, if it is still needed.
+     */
+    private void copyForward(Segment segment, int position) {
+        ByteBuffer buffer = segment.buffer;
+        int length = buffer.getInt(position);
+        byte type = buffer.get(position + 8);
+        int messageId = buffer.getInt(position + 8 + 1);
+        appendLock.lock();
+        try {
+            boolean live = type == PUT && locations.get(messageId) == location(segment.number, position);
+            boolean tombstone = type == DELETE && olderPutMayExist(segment, messageId, messageId);
+            if (live || tombstone) {
+                scratch.clear();
+                scratch.put(buffer.slice(position + 8, length));
+                long copy = appendScratch();
+                if (live) {
+                    moveTo(messageId, copy);
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends the record body in scratch (positioned at its end) to the head, starting a new segment if it
+     * does not fit. Called under the append lock.
+     *
+     * @return The location of the record.
+     */
+    private long appendScratch() {
+        scratch.flip();
+        int length = scratch.remaining();
+        if (active.end + 8 + length > active.buffer.capacity()) {
+            roll(active.number + 1);
+        }
+        Segment head = active;
+        int position = head.end;
+        crc.reset();
+        crc.update(scratch.duplicate());
+        head.buffer.put(position + 8, scratch, 0, length);
+        head.buffer.putInt(position + 4, (int) crc.getValue());
+        head.buffer.putInt(position, length);
+        head.end = position + 8 + length;
+        head.recorded(scratch.get(0), scratch.getInt(1), length);
+        return location(head.number, position);
+    }
+
+    /**
+     * Points the offset index of a message at a new location (0 to delete it) and moves its live bytes along.
+     * Called under the append lock, or during recovery.
+     */
+    private void moveTo(int messageId, long location) {
+        long previous = locations.getAndSet(messageId, location);
+        if (previous != 0) {
+            Segment old = segments.get(segmentOf(previous));
+            old.liveBytes.addAndGet(-(8 + old.buffer.getInt(positionOf(previous))));
+        }
+        if (location != 0) {
+            Segment head = segments.get(segmentOf(location));
+            head.liveBytes.addAndGet(8 + head.buffer.getInt(positionOf(location)));
+        }
+        if (messageId >= nextId.get()) {
+            nextId.accumulateAndGet(messageId + 1, Math::max);
+        }
+    }
+
+    /**
+     * Seals the newest segment (forcing it to disk) and starts a new one.
+     */
+    private void roll(int number) {
+        if (active != null) {
+            active.force();
+        }
+        Path path = directory.resolve(String.format("segment-%010d.log", number));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, nextId.get());
+            Segment segment = new Segment(number, path, buffer);
+            segments.put(number, segment);
+            active = segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create segment " + path, e);
+        }
+    }
+
+    /**
+     * Maps an existing segment and replays its records.
+     *
+     * @return true if the segment ends in a torn record.
+     */
+    private boolean recover(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a message log segment: " + path);
+        }
+        nextId.accumulateAndGet(buffer.getInt(8), Math::max);
+        Segment segment = new Segment(numberOf(path), path, buffer);
+        segments.put(segment.number, segment);
+        active = segment;
+
+        int position = HEADER_BYTES;
+        boolean torn = false;
+        while (position + 8 <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < DELETE_BYTES || position + 8 + length > buffer.capacity() || !checksumMatches(buffer, position, length)) {
+                torn = true;
+                break;
+            }
+            byte type = buffer.get(position + 8);
+            int messageId = buffer.getInt(position + 8 + 1);
+            moveTo(messageId, type == PUT ? location(segment.number, position) : 0);
+            segment.recorded(type, messageId, length);
+            position += 8 + length;
+        }
+        segment.end = position;
+        segment.forcedTo = position;
+        return torn;
+    }
+
+    private boolean checksumMatches(ByteBuffer buffer, int position, int length) {
+        crc.reset();
+        crc.update(buffer.slice(position + 8, length));
+        return (int) crc.getValue() == buffer.getInt(position + 4);
+    }
+
+    private static int numberOf(Path path) {
+        Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(path.toString());
+        }
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    private static long location(int segment, int position) {
+        return ((long) segment << 32) | position;
+    }
+
+    private static int segmentOf(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int positionOf(long location) {
+        return (int) location;
+    }
+
+    private static final class Segment {
+        final int number;
+        final Path path;
+        final MappedByteBuffer buffer;
+        final AtomicLong liveBytes = new AtomicLong();
+        volatile int end = HEADER_BYTES;
+        int forcedTo = HEADER_BYTES;
+        // ID ranges of the PUTs and tombstones written here, and the bytes of the tombstones (see compact)
+        volatile int minPutId = Integer.MAX_VALUE;
+        volatile int maxPutId = Integer.MIN_VALUE;
+        volatile int minDeleteId = Integer.MAX_VALUE;
+        volatile int maxDeleteId = Integer.MIN_VALUE;
+        volatile long deleteBytes;
+
+        Segment(int number, Path path, MappedByteBuffer buffer) {
+            this.number = number;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        MessageView readPut(int position) {
+            int length = buffer.getInt(position);
+            int body = position + 8;
+            byte[] text = new byte[length - PUT_FIXED_BYTES];
+            buffer.get(body + PUT_FIXED_BYTES, text);
+            long epoch = buffer.getLong(body + 9);
+            return new MessageView(buffer.getInt(body + 1), buffer.getInt(body + 5),
+                    new String(text, StandardCharsets.UTF_8), epoch == PosterTimeline.NO_EPOCH ? null : epoch);
+        }
+
+        /**
+         * Accounts for a record written to this segment. Called under the append lock, or during recovery.
+         */
+        void recorded(byte type, int messageId, int length) {
+            if (type == PUT) {
+                minPutId = Math.min(minPutId, messageId);
+                maxPutId = Math.max(maxPutId, messageId);
+            } else {
+                minDeleteId = Math.min(minDeleteId, messageId);
+                maxDeleteId = Math.max(maxDeleteId, messageId);
+                deleteBytes += 8 + length;
+            }
+        }
+
+        void force() {
+            int to = end;
+            if (to > forcedTo) {
+                buffer.force(forcedTo, to - forcedTo);
+                forcedTo = to;
+            }
+        }
+    }
+
+    /**
+     * Location of the latest PUT of every message, by messageId: paged AtomicLongArrays of 65536 entries,
+     * allocated on first use. 0 means no message, which is also the answer for IDs below 1.
+     */
+    private static final class OffsetIndex {
+        private static final int PAGE_BITS = 16;
+
+        private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(1 << (31 - PAGE_BITS));
+
+        long get(int messageId) {
+            if (messageId < 1) {
+                return 0;
+            }
+            AtomicLongArray page = pages.get(messageId >>> PAGE_BITS);
+            return page == null ? 0 : page.get(messageId & ((1 << PAGE_BITS) - 1));
+        }
+
+        long getAndSet(int messageId, long location) {
+            AtomicLongArray page = pages.get(messageId >>> PAGE_BITS);
+            if (page == null) {
+                pages.compareAndSet(messageId >>> PAGE_BITS, null, new AtomicLongArray(1 << PAGE_BITS));
+                page = pages.get(messageId >>> PAGE_BITS);
+            }
+            return page.getAndSet(messageId & ((1 << PAGE_BITS) - 1), location);
+        }
+    }
+}
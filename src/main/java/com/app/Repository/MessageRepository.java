@@ -1,19 +1,105 @@
 package com.app.Repository;
 
+import com.app.Dto.MessageView;
 import com.app.Entity.Message;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface MessageRepository extends JpaRepository<Message, Integer> {
-    List<Message> findByPostedBy(Integer postedBy);
+    // List reads return MessageView rows built by JPQL constructor expressions: no managed entities,
+    // no dirty-checking snapshots and nothing for the persistence context to flush
+
+    // Newest-first timeline pages, served by the (postedBy, timePostedEpoch, messageId) index as one range scan
+    @Query("SELECT new com.app.Dto.MessageView(m.messageId, m.postedBy, m.messageText, m.timePostedEpoch)"
+            + " FROM Message m WHERE m.postedBy = :postedBy"
+            + " ORDER BY m.timePostedEpoch DESC, m.messageId DESC")
+    List<MessageView> findTimeline(@Param("postedBy") Integer postedBy, Limit limit);
+
+    // Messages without a timePostedEpoch sort last (H2 orders NULL low), so they follow every dated position
+    @Query("SELECT new com.app.Dto.MessageView(m.messageId, m.postedBy, m.messageText, m.timePostedEpoch)"
+            + " FROM Message m WHERE m.postedBy = :postedBy"
+            + " AND (m.timePostedEpoch < :epoch OR (m.timePostedEpoch = :epoch AND m.messageId < :messageId)"
+            + " OR m.timePostedEpoch IS NULL)"
+            + " ORDER BY m.timePostedEpoch DESC, m.messageId DESC")
+    List<MessageView> findTimelineBefore(@Param("postedBy") Integer postedBy, @Param("epoch") Long epoch,
+                                         @Param("messageId") Integer messageId, Limit limit);
+
+    // The rest of a timeline once the cursor is past the last dated message: the undated ones, by descending messageId
+    @Query("SELECT new com.app.Dto.MessageView(m.messageId, m.postedBy, m.messageText, m.timePostedEpoch)"
+            + " FROM Message m WHERE m.postedBy = :postedBy AND m.timePostedEpoch IS NULL AND m.messageId < :messageId"
+            + " ORDER BY m.messageId DESC")
+    List<MessageView> findUndatedTimelineBefore(@Param("postedBy") Integer postedBy, @Param("messageId") Integer messageId,
+                                                Limit limit);
+
+    // Newest messages of every account a user follows; only used to (re)build a feed buffer in FeedService
+    @Query("SELECT new com.app.Dto.MessageView(m.messageId, m.postedBy, m.messageText, m.timePostedEpoch)"
+            + " FROM Message m WHERE m.postedBy IN (SELECT f.followeeId FROM Follow f WHERE f.followerId = :followerId)"
+            + " ORDER BY m.timePostedEpoch DESC, m.messageId DESC")
+    List<MessageView> findFeed(@Param("followerId") Integer followerId, Limit limit);
+
+    // Rows for a page of search hits, fetched by primary key (callers restore the hit order)
+    @Query("SELECT new com.app.Dto.MessageView(m.messageId, m.postedBy, m.messageText, m.timePostedEpoch)"
+            + " FROM Message m WHERE m.messageId IN :messageIds")
+    List<MessageView> findViewsByMessageIdIn(@Param("messageIds") Collection<Integer> messageIds);
+
+    // Keyset page over the primary key: "WHERE messageId > ? ORDER BY messageId LIMIT ?" is a single index range scan
+    @Query("SELECT new com.app.Dto.MessageView(m.messageId, m.postedBy, m.messageText, m.timePostedEpoch)"
+            + " FROM Message m WHERE m.messageId > :messageId ORDER BY m.messageId")
+    List<MessageView> findPageAfter(@Param("messageId") Integer messageId, Limit limit);
+
+    // Keyset page of a time range in (timePostedEpoch, messageId) order, strictly after a position whose epoch is at least
+    // the range start: one range scan of the (timePostedEpoch, messageId) index from :epoch up to :until
+    @Query("SELECT new com.app.Dto.MessageView(m.messageId, m.postedBy, m.messageText, m.timePostedEpoch)"
+            + " FROM Message m WHERE m.timePostedEpoch >= :epoch AND m.timePostedEpoch < :until"
+            + " AND (m.timePostedEpoch > :epoch OR m.messageId > :messageId)"
+            + " ORDER BY m.timePostedEpoch, m.messageId")
+    List<MessageView> findRangeAfter(@Param("epoch") Long epoch, @Param("messageId") Integer messageId,
+                                     @Param("until") Long until, Limit limit);
+
+    // Messages posted at or after an epoch, for loading MessageTimeIndex; consumed inside a read-only transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.app.Dto.MessageView(m.messageId, m.postedBy, m.messageText, m.timePostedEpoch)"
+            + " FROM Message m WHERE m.timePostedEpoch >= :since")
+    Stream<MessageView> streamPostedSince(@Param("since") Long since);
 
+    // Forward-only cursor over the whole table for exports; must be consumed inside a (read-only) transaction and closed
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.app.Dto.MessageView(m.messageId, m.postedBy, m.messageText, m.timePostedEpoch)"
+            + " FROM Message m ORDER BY m.messageId")
+    Stream<MessageView> streamAllOrderByMessageId();
+
+    // Single-statement update that reports the affected row count (no existence check, no entity load)
     @Modifying
     @Transactional
     @Query("UPDATE Message m SET m.messageText = :newText WHERE m.messageId = :messageId")
     int updateMessageText(@Param("messageId") Integer messageId, @Param("newText") String newText);
-}
\ No newline at end of file
+
+    // Single-statement delete that reports the affected row count (no existence check, no entity load)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Message m WHERE m.messageId = :messageId")
+    int deleteMessageById(@Param("messageId") Integer messageId);
+
+    // One chunk of a bulk delete by ID; each call is its own short transaction
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Message m WHERE m.messageId IN :messageIds")
+    int deleteMessagesByIdIn(@Param("messageIds") Collection<Integer> messageIds);
+
+    // Next chunk of a user's message IDs for chunked deletion, read through the (postedBy, ...) index. No ORDER BY:
+    // any chunk will do, and sorting by messageId would sort all of the user's remaining rows for every chunk
+    @Query("SELECT m.messageId FROM Message m WHERE m.postedBy = :postedBy")
+    List<Integer> findMessageIdsByPostedBy(@Param("postedBy") Integer postedBy, Limit limit);
+}
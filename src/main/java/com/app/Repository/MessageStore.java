@@ -0,0 +1,92 @@
+package com.app.Repository;
+
+import com.app.Dto.MessageView;
+import com.app.Entity.Message;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Storage of messages beneath MessageService, FeedService and the in-memory indexes.
+ *
+ * "app.storage.engine" selects the implementation: JpaMessageStore (the message table, through
+ * MessageRepository and MessageBatchRepository), InMemoryMessageStore (process memory only) or
+ * LogMessageStore (an append-only log of memory-mapped files).
+ * Orderings, paging positions and return values are the same for both; lists are newest first
+ * where the method name says timeline or feed, oldest first otherwise.
+ */
+public interface MessageStore {
+    /**
+     * The position epoch of a message without a timePostedEpoch: such messages sort before every dated one,
+     * so they come last in a newest-first timeline and a cursor past the last dated message carries NO_EPOCH.
+     */
+    long NO_EPOCH = Long.MIN_VALUE;
+
+    /**
+     * Inserts one message under a new server-assigned ID.
+     *
+     * @param message The validated message; its messageId is set in place.
+     * @return The stored message.
+     */
+    Message save(Message message);
+
+    /**
+     * Assigns IDs to validated messages and inserts them together.
+     *
+     * @param messages The messages; their messageId is set in place.
+     */
+    void insertAll(List<Message> messages);
+
+    /**
+     * Assigns IDs to messages that will be inserted later with insertPreallocated (write-behind mode).
+     *
+     * @param messages The messages; their messageId is set in place.
+     */
+    void allocateIds(List<Message> messages);
+
+    /**
+     * Inserts messages whose IDs were assigned by allocateIds.
+     *
+     * @param messages The messages, each with its messageId set.
+     */
+    void insertPreallocated(List<Message> messages);
+
+    Optional<Message> findById(Integer messageId);
+
+    List<MessageView> findViewsByMessageIdIn(Collection<Integer> messageIds);
+
+    // Ascending messageId, strictly after messageId
+    List<MessageView> findPageAfter(Integer messageId, int limit);
+
+    // A poster's messages, descending (timePostedEpoch, messageId), optionally strictly before a position
+    List<MessageView> findTimeline(Integer postedBy, int limit);
+
+    List<MessageView> findTimelineBefore(Integer postedBy, Long epoch, Integer messageId, int limit);
+
+    // Newest messages of every account a user follows, descending (timePostedEpoch, messageId)
+    List<MessageView> findFeed(Integer followerId, int limit);
+
+    // Ascending (timePostedEpoch, messageId), strictly after a position whose epoch is at least the range start
+    List<MessageView> findRangeAfter(Long epoch, Integer messageId, Long until, int limit);
+
+    // Every message in ascending messageId order; callers close the stream (inside a read-only transaction)
+    Stream<MessageView> streamAllOrderByMessageId();
+
+    // Messages posted at or after an epoch, in no particular order; callers close the stream
+    Stream<MessageView> streamPostedSince(Long since);
+
+    // Up to "limit" IDs of a poster's messages, in no particular order
+    List<Integer> findMessageIdsByPostedBy(Integer postedBy, int limit);
+
+    // The writes below return one entry per affected message, so callers learn the row count: its postedBy, or null
+    // where the engine cannot tell it without another statement (the "jpa" engine)
+    List<Integer> updateMessageText(Integer messageId, String newText);
+
+    List<Integer> deleteMessageById(Integer messageId);
+
+    List<Integer> deleteMessagesByIdInReturningPosters(Collection<Integer> messageIds);
+
+    int deleteMessagesByIdIn(Collection<Integer> messageIds);
+}
@@ -0,0 +1,113 @@
+package com.app.Repository;
+
+import java.util.Arrays;
+
+/**
+ * The messages of one poster in the in-memory storage engine: parallel int[] IDs and long[] epochs kept in
+ * ascending (timePostedEpoch, messageId) order, so a newest-first timeline page is a binary search plus a
+ * backward walk. Messages without a timePostedEpoch use Long.MIN_VALUE and sort before all others.
+ * New messages normally land at the end (an append). TimePostedIndex uses the same structure for the messages
+ * of one time bucket.
+ */
+final class PosterTimeline {
+    static final long NO_EPOCH = MessageStore.NO_EPOCH;
+
+    private int[] ids = new int[8];
+    private long[] epochs = new long[8];
+    private int size;
+
+    synchronized void add(int messageId, long epoch) {
+        int pos = lowerBound(epoch, messageId);
+        if (pos < size && ids[pos] == messageId && epochs[pos] == epoch) {
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            epochs = Arrays.copyOf(epochs, size * 2);
+        }
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        System.arraycopy(epochs, pos, epochs, pos + 1, size - pos);
+        ids[pos] = messageId;
+        epochs[pos] = epoch;
+        size++;
+    }
+
+    synchronized void remove(int messageId, long epoch) {
+        int pos = lowerBound(epoch, messageId);
+        if (pos < size && ids[pos] == messageId) {
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            System.arraycopy(epochs, pos + 1, epochs, pos, size - pos - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Copies the newest messages strictly before a position, newest first.
+     *
+     * @param epoch     The timePostedEpoch of the position (Long.MAX_VALUE for the newest).
+     * @param messageId The messageId of the position (Integer.MAX_VALUE for the newest).
+     * @param idsOut    Receives the message IDs; its length is the maximum number of messages.
+     * @param epochsOut Receives the matching epochs (at least as long as idsOut).
+     * @return The number of messages copied.
+     */
+    synchronized int newestBefore(long epoch, int messageId, int[] idsOut, long[] epochsOut) {
+        int end = lowerBound(epoch, messageId);
+        int count = Math.min(idsOut.length, end);
+        for (int i = 0; i < count; i++) {
+            idsOut[i] = ids[end - 1 - i];
+            epochsOut[i] = epochs[end - 1 - i];
+        }
+        return count;
+    }
+
+    /**
+     * Copies the oldest messages strictly after a position and posted before "until", oldest first.
+     *
+     * @param epoch     The timePostedEpoch of the position.
+     * @param messageId The messageId of the position.
+     * @param until     The exclusive upper bound of the epochs copied.
+     * @param idsOut    Receives the message IDs from index "count" on, until it is full.
+     * @param epochsOut Receives the matching epochs (at least as long as idsOut).
+     * @param count     The number of entries already in idsOut.
+     * @return The number of entries in idsOut afterwards.
+     */
+    synchronized int oldestAfter(long epoch, int messageId, long until, int[] idsOut, long[] epochsOut, int count) {
+        int i = lowerBound(epoch, messageId);
+        if (i < size && ids[i] == messageId && epochs[i] == epoch) {
+            i++;
+        }
+        for (; i < size && epochs[i] < until && count < idsOut.length; i++, count++) {
+            idsOut[count] = ids[i];
+            epochsOut[count] = epochs[i];
+        }
+        return count;
+    }
+
+    /**
+     * Gets up to "limit" message IDs, the oldest first.
+     */
+    synchronized int[] ids(int limit) {
+        return Arrays.copyOf(ids, Math.min(limit, size));
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Finds the first index whose entry is not before (epoch, messageId).
+     */
+    private int lowerBound(long epoch, int messageId) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochs[mid] < epoch || (epochs[mid] == epoch && ids[mid] < messageId)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
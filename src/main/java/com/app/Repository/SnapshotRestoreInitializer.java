@@ -0,0 +1,37 @@
+package com.app.Repository;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Restores the snapshot named by "app.snapshot.restore-from", if any, at startup (see DatabaseSnapshot.restore).
+ *
+ * Like the schema script initializer, it does its work once its properties are set: after the schema and data
+ * scripts have run, during the context refresh, so before the web server starts and before the
+ * ApplicationReadyEvent listeners load the in-memory indexes from the tables.
+ */
+@Component
+@DependsOnDatabaseInitialization
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class SnapshotRestoreInitializer implements InitializingBean {
+    private final DatabaseSnapshot databaseSnapshot;
+    private final String restoreFrom;
+
+    public SnapshotRestoreInitializer(DatabaseSnapshot databaseSnapshot,
+                                      @Value("${app.snapshot.restore-from:}") String restoreFrom) {
+        this.databaseSnapshot = databaseSnapshot;
+        this.restoreFrom = restoreFrom;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!restoreFrom.isBlank()) {
+            databaseSnapshot.restore(Path.of(restoreFrom));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.app.Repository;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns "app.storage.engine=memory" into a node without JPA: the DataSource, JPA, Spring Data JPA repository,
+ * JdbcTemplate and SQL init (data.sql) auto-configurations are excluded, so no database is started and none of
+ * the JPA-backed stores or repositories exist. Exclusions already set in "spring.autoconfigure.exclude" are kept.
+ *
+ * Registered in META-INF/spring.factories.
+ */
+public class StorageEngineEnvironmentPostProcessor implements EnvironmentPostProcessor {
+    static final List<String> JPA_AUTO_CONFIGURATIONS = List.of(
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration",
+            "org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration",
+            "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration",
+            "org.springframework.boot.autoconfigure.sql.init.SqlInitializationAutoConfiguration",
+            "org.springframework.boot.autoconfigure.h2.H2ConsoleAutoConfiguration");
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!"memory".equals(environment.getProperty("app.storage.engine"))) {
+            return;
+        }
+        String existing = environment.getProperty("spring.autoconfigure.exclude", "");
+        String excluded = existing.isBlank() ? String.join(",", JPA_AUTO_CONFIGURATIONS)
+                : existing + "," + String.join(",", JPA_AUTO_CONFIGURATIONS);
+        environment.getPropertySources().addFirst(
+                new MapPropertySource("inMemoryStorageEngine", Map.of("spring.autoconfigure.exclude", excluded)));
+    }
+}
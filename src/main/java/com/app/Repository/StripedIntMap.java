@@ -0,0 +1,314 @@
+package com.app.Repository;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Concurrent map from int keys to non-null values, used by the in-memory storage engine.
+ *
+ * Keys are spread over a power-of-two number of stripes, each an open-addressing table (int[] keys and
+ * Object[] values, linear probing, backward-shift deletion, at most half full) guarded by its own StampedLock.
+ * Keys are never boxed. Reads are optimistic: they probe without locking and only retry under the read lock
+ * if a write to the same stripe overlapped them. Writes to different stripes never contend.
+ *
+ * @param <V> The value type.
+ */
+final class StripedIntMap<V> {
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    /**
+     * @param stripes The number of stripes, rounded up to a power of two.
+     */
+    StripedIntMap(int stripes) {
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.stripeShift = 32 - Integer.numberOfTrailingZeros(count);
+    }
+
+    V get(int key) {
+        int hash = mix(key);
+        return cast(stripeOf(hash).get(key, hash));
+    }
+
+    /**
+     * @return The previous value, or null if the key was absent.
+     */
+    V put(int key, V value) {
+        int hash = mix(key);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return cast(stripe.put(key, hash, value, false));
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return The existing value, or null if the value was inserted.
+     */
+    V putIfAbsent(int key, V value) {
+        int hash = mix(key);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return cast(stripe.put(key, hash, value, true));
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the value of a key, creating it under the stripe's write lock if absent.
+     */
+    V computeIfAbsent(int key, IntFunction<V> factory) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int hash = mix(key);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            Object current = stripe.getLocked(key, hash);
+            if (current == null) {
+                current = factory.apply(key);
+                stripe.put(key, hash, current, false);
+            }
+            return cast(current);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Replaces the value of a present key with a function of the current value, atomically.
+     *
+     * @return The new value, or null if the key was absent.
+     */
+    V computeIfPresent(int key, UnaryOperator<V> update) {
+        int hash = mix(key);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            V current = cast(stripe.getLocked(key, hash));
+            if (current == null) {
+                return null;
+            }
+            V updated = update.apply(current);
+            stripe.put(key, hash, updated, false);
+            return updated;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return The removed value, or null if the key was absent.
+     */
+    V remove(int key) {
+        int hash = mix(key);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return cast(stripe.remove(key, hash));
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Visits every entry, one stripe at a time under its read lock (so the action must not write to this map).
+     * Entries written concurrently to stripes not yet visited may or may not be seen.
+     */
+    void forEach(IntObjectConsumer<V> action) {
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                Table table = stripe.table;
+                for (int i = 0; i < table.values.length; i++) {
+                    if (table.values[i] != null) {
+                        action.accept(table.keys[i], cast(table.values[i]));
+                    }
+                }
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * Visits every value; see forEach.
+     */
+    void forEachValue(Consumer<V> action) {
+        forEach((key, value) -> action.accept(value));
+    }
+
+    @FunctionalInterface
+    interface IntObjectConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    private Stripe stripeOf(int hash) {
+        return stripes[stripeShift == 32 ? 0 : hash >>> stripeShift];
+    }
+
+    /**
+     * Spreads keys so that sequential IDs land in different stripes and slots (Murmur3 finalizer).
+     */
+    private static int mix(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object value) {
+        return (V) value;
+    }
+
+    /**
+     * Both arrays of a table, replaced together on resize so that an optimistic reader sees a matching pair.
+     */
+    private static final class Table {
+        final int[] keys;
+        final Object[] values;
+
+        Table(int capacity) {
+            this.keys = new int[capacity];
+            this.values = new Object[capacity];
+        }
+    }
+
+    private static final class Stripe {
+        final StampedLock lock = new StampedLock();
+        Table table = new Table(16);
+        int size;
+
+        Object get(int key, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                Object value = probe(table, key, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return probe(table, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        Object getLocked(int key, int hash) {
+            return probe(table, key, hash);
+        }
+
+        /**
+         * Looks a key up. The probe is bounded by the table length, so a racing write can only make an
+         * optimistic read return a wrong answer (which validate then discards), never loop or throw.
+         */
+        private static Object probe(Table table, int key, int hash) {
+            int mask = table.values.length - 1;
+            for (int i = hash & mask, n = 0; n <= mask; i = (i + 1) & mask, n++) {
+                Object value = table.values[i];
+                if (value == null) {
+                    return null;
+                }
+                if (table.keys[i] == key) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        Object put(int key, int hash, Object value, boolean onlyIfAbsent) {
+            int mask = table.values.length - 1;
+            int i = hash & mask;
+            while (table.values[i] != null) {
+                if (table.keys[i] == key) {
+                    Object previous = table.values[i];
+                    if (!onlyIfAbsent) {
+                        table.values[i] = value;
+                    }
+                    return previous;
+                }
+                i = (i + 1) & mask;
+            }
+            table.keys[i] = key;
+            table.values[i] = value;
+            if (++size > table.values.length / 2) {
+                resize();
+            }
+            return null;
+        }
+
+        Object remove(int key, int hash) {
+            int[] keys = table.keys;
+            Object[] values = table.values;
+            int mask = values.length - 1;
+            int i = hash & mask;
+            while (values[i] != null && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            Object removed = values[i];
+            if (removed == null) {
+                return null;
+            }
+            // Backward-shift deletion: move later entries of the probe run into the gap, so no tombstones are needed
+            int gap = i;
+            for (int j = (gap + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+                int home = mix(keys[j]) & mask;
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            values[gap] = null;
+            size--;
+            return removed;
+        }
+
+        private void resize() {
+            Table old = table;
+            Table grown = new Table(old.values.length * 2);
+            int mask = grown.values.length - 1;
+            for (int i = 0; i < old.values.length; i++) {
+                if (old.values[i] != null) {
+                    int j = mix(old.keys[i]) & mask;
+                    while (grown.values[j] != null) {
+                        j = (j + 1) & mask;
+                    }
+                    grown.keys[j] = old.keys[i];
+                    grown.values[j] = old.values[i];
+                }
+            }
+            table = grown;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.app.Repository;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The dated messages of the in-memory storage engines in (timePostedEpoch, messageId) order, for time range
+ * pages and streamPostedSince.
+ *
+ * Messages are grouped into BUCKET_SECONDS-wide buckets, each a PosterTimeline of parallel int IDs and long
+ * epochs, in a skip list keyed by bucket. A read seeks to its first bucket and copies entries bucket by bucket,
+ * so it costs a seek plus the page itself. An add normally lands at the end of the newest bucket, which is kept
+ * at hand, so it allocates nothing but the occasional array growth or new bucket. Buckets are never removed, so
+ * an add cannot race the removal of its bucket; an emptied bucket only keeps its two small arrays.
+ */
+final class TimePostedIndex {
+    static final long BUCKET_SECONDS = 3600;
+
+    private final ConcurrentSkipListMap<Long, PosterTimeline> buckets = new ConcurrentSkipListMap<>();
+    private volatile Newest newest; // The latest bucket written to, so adds skip the map lookup
+
+    private record Newest(long key, PosterTimeline bucket) {
+    }
+
+    /**
+     * A run of consecutive entries in (timePostedEpoch, messageId) order.
+     */
+    record Chunk(int[] ids, long[] epochs) {
+        int size() {
+            return ids.length;
+        }
+    }
+
+    void add(int messageId, long epoch) {
+        long key = bucketOf(epoch);
+        Newest cached = newest;
+        if (cached != null && cached.key() == key) {
+            cached.bucket().add(messageId, epoch);
+            return;
+        }
+        PosterTimeline bucket = buckets.computeIfAbsent(key, k -> new PosterTimeline());
+        if (cached == null || key > cached.key()) {
+            newest = new Newest(key, bucket);
+        }
+        bucket.add(messageId, epoch);
+    }
+
+    void remove(int messageId, long epoch) {
+        long key = bucketOf(epoch);
+        Newest cached = newest;
+        PosterTimeline bucket = cached != null && cached.key() == key ? cached.bucket() : buckets.get(key);
+        if (bucket != null) {
+            bucket.remove(messageId, epoch);
+        }
+    }
+
+    /**
+     * Copies the oldest entries strictly after a position and posted before "until".
+     *
+     * @param epoch     The timePostedEpoch of the position.
+     * @param messageId The messageId of the position (Integer.MIN_VALUE to include every message at epoch).
+     * @param until     The exclusive upper bound of the epochs copied.
+     * @param max       The maximum number of entries.
+     * @return The entries, fewer than max only if no more are in the range.
+     */
+    Chunk after(long epoch, int messageId, long until, int max) {
+        int[] ids = new int[max];
+        long[] epochs = new long[max];
+        int count = 0;
+        long lastKey = bucketOf(until);
+        for (Map.Entry<Long, PosterTimeline> entry : buckets.tailMap(bucketOf(epoch)).entrySet()) {
+            if (count == max || entry.getKey() > lastKey) {
+                break;
+            }
+            count = entry.getValue().oldestAfter(epoch, messageId, until, ids, epochs, count);
+        }
+        return count == max ? new Chunk(ids, epochs) : new Chunk(Arrays.copyOf(ids, count), Arrays.copyOf(epochs, count));
+    }
+
+    private static long bucketOf(long epoch) {
+        return Math.floorDiv(epoch, BUCKET_SECONDS);
+    }
+}
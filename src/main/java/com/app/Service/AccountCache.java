@@ -0,0 +1,135 @@
+package com.app.Service;
+
+import com.app.Entity.Account;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * In-process cache of accounts, keyed both by username and by accountId.
+ *
+ * Accounts are never updated or deleted by the API, so found accounts are kept for a long "ttl".
+ * Lookups that find nothing are cached for the short "negative-ttl".
+ * A new registration overwrites both keys as soon as it commits.
+ * Statistics are published as the caches "accounts.byUsername" and "accounts.byId"
+ * (see /actuator/metrics/cache.gets).
+ */
+@Service
+public class AccountCache {
+    private final Cache<String, Optional<Account>> byUsername;
+    private final Cache<Integer, Optional<Account>> byId;
+
+    public AccountCache(MeterRegistry meterRegistry,
+                        @Value("${app.accounts.cache.max-size:100000}") long maxSize,
+                        @Value("${app.accounts.cache.ttl:1h}") Duration ttl,
+                        @Value("${app.accounts.cache.negative-ttl:2s}") Duration negativeTtl) {
+        this.byUsername = build(maxSize, ttl, negativeTtl);
+        this.byId = build(maxSize, ttl, negativeTtl);
+        CaffeineCacheMetrics.monitor(meterRegistry, byUsername, "accounts.byUsername");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "accounts.byId");
+    }
+
+    /**
+     * Returns the account with the given username, loading it on a miss.
+     * A loaded account is also cached under its accountId.
+     *
+     * @param username The username to look up (must not be null).
+     * @param loader   Loads the account from the store when it is not cached.
+     * @return The account, or an empty Optional if no account has this username.
+     */
+    public Optional<Account> findByUsername(String username, Function<String, Optional<Account>> loader) {
+        return byUsername.get(username, name -> {
+            Optional<Account> loaded = loader.apply(name).map(AccountCache::copyOf);
+            loaded.ifPresent(a -> byId.put(a.getAccountId(), loaded));
+            return loaded;
+        });
+    }
+
+    /**
+     * Returns the account with the given ID, loading it on a miss.
+     * A loaded account is also cached under its username.
+     *
+     * @param accountId The ID to look up (must not be null).
+     * @param loader    Loads the account from the store when it is not cached.
+     * @return The account, or an empty Optional if no account has this ID.
+     */
+    public Optional<Account> findById(Integer accountId, Function<Integer, Optional<Account>> loader) {
+        return byId.get(accountId, id -> {
+            Optional<Account> loaded = loader.apply(id).map(AccountCache::copyOf);
+            loaded.ifPresent(a -> byUsername.put(a.getUsername(), loaded));
+            return loaded;
+        });
+    }
+
+    /**
+     * Returns the cached account for an ID without loading it.
+     *
+     * @param accountId The ID to look up.
+     * @return The cached lookup result, or null if the ID is not cached.
+     */
+    public Optional<Account> getIfCached(Integer accountId) {
+        return byId.getIfPresent(accountId);
+    }
+
+    /**
+     * Records a newly registered account under both keys once its transaction has committed,
+     * replacing any cached "not found" for its username or ID.
+     *
+     * @param account The account that was saved.
+     */
+    public void put(Account account) {
+        Optional<Account> entry = Optional.of(copyOf(account));
+        TransactionCallbacks.afterCommit(() -> {
+            byUsername.put(account.getUsername(), entry);
+            byId.put(account.getAccountId(), entry);
+        });
+    }
+
+    /**
+     * Builds one of the two key spaces, with separate lifetimes for found and missing accounts.
+     */
+    private static <K> Cache<K, Optional<Account>> build(long maxSize, Duration ttl, Duration negativeTtl) {
+        long ttlNanos = ttl.toNanos();
+        long negativeTtlNanos = negativeTtl.toNanos();
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<K, Optional<Account>>() {
+                    @Override
+                    public long expireAfterCreate(K key, Optional<Account> value, long currentTime) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(K key, Optional<Account> value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(K key, Optional<Account> value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Creates a detached copy of an account.
+     *
+     * @param account The account to copy.
+     * @return A new Account with the same field values.
+     */
+    private static Account copyOf(Account account) {
+        return new Account(account.getAccountId(), account.getUsername(), account.getPassword());
+    }
+}
@@ -4,27 +4,47 @@ import com.app.Entity.Account;
 import com.app.Exception.DuplicateUsernameException;
 import com.app.Exception.RegistrationException;
 import com.app.Exception.LoginException;
-import com.app.Repository.AccountRepository;
+import com.app.Repository.AccountStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * AccountService class responsible for handling account-related operations
  * such as registration and authentication.
  */
 @Service
 public class AccountService {
-    private final AccountRepository accountRepository;
+    private final AccountStore accountStore;
+    private final AccountCache accountCache;
+    private final UsernameFilter usernameFilter;
+    private final Timer registerValidation;
 
     /**
-     * Constructs an AccountService with the provided repository.
+     * Constructs an AccountService with the provided store.
      * 
-     * @param accountRepository The repository used for account persistence operations.
+     * @param accountStore The store used for account persistence operations (see app.storage.engine).
+     * @param accountCache The in-process cache that serves account lookups by username and ID.
+     * @param usernameFilter The Bloom filter that rules out unregistered usernames without a lookup.
+     * @param meterRegistry The registry that receives the validation timer.
      * 
-     * Note: Spring automatically injects the AccountRepository (Constructor injection).
+     * Note: Spring automatically injects the AccountStore (Constructor injection).
      * The @Autowired annotation is not required when there is only one constructor.
      */
-    public AccountService(AccountRepository accountRepository) {
-        this.accountRepository = accountRepository;
+    public AccountService(AccountStore accountStore, AccountCache accountCache, UsernameFilter usernameFilter,
+                          MeterRegistry meterRegistry) {
+        this.accountStore = accountStore;
+        this.accountCache = accountCache;
+        this.usernameFilter = usernameFilter;
+        this.registerValidation = ValidationMetrics.timer(meterRegistry, "account.register");
     }
 
     /**
@@ -38,25 +58,38 @@ public class AccountService {
      * Note: IllegalArgumentException and DuplicateUsernameException are handled by GlobalExceptionHandler.
      */
     public Account registerAccount(Account account) {
-        // Validating username
-        String username = account.getUsername();
-        if (username == null || username.isBlank()) {
-            throw new RegistrationException(""); // "Username cannot be blank."
-        }
+        registerValidation.record(() -> {
+            // Validating username
+            String username = account.getUsername();
+            if (username == null || username.isBlank()) {
+                throw new RegistrationException(""); // "Username cannot be blank."
+            }
 
-        // Validating password
-        String password = account.getPassword();
-        if (password == null || password.length() < 4) {
-            throw new RegistrationException(""); // "Password must be at least 4 characters long."
-        }
+            // Validating password
+            String password = account.getPassword();
+            if (password == null || password.length() < 4) {
+                throw new RegistrationException(""); // "Password must be at least 4 characters long."
+            }
+        });
 
-        // Checking if the username already exists
-        if (accountExists(username)) {
+        // Checking if the username already exists (a lookup, so outside the validation timer)
+        if (accountExists(account.getUsername())) {
             throw new DuplicateUsernameException(""); // "Account with this username already exists."
         }
 
         // If validations pass, persist the account and return the saved object
-        return accountRepository.save(account);
+        Account saved;
+        try {
+            saved = accountStore.save(account);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent registration took the username between the check and the insert (unique constraint)
+            throw new DuplicateUsernameException(""); // "Account with this username already exists."
+        }
+
+        // Making the new account visible to the username filter and to cached lookups (login, message creation)
+        usernameFilter.add(saved.getUsername());
+        accountCache.put(saved);
+        return saved;
     }
 
     /**
@@ -66,7 +99,59 @@ public class AccountService {
      * @return True if an account exists with the given username, false otherwise.
      */
     public boolean accountExists(String username) {
-        return accountRepository.findAccountByUsername(username).isPresent();
+        return findByUsername(username).isPresent();
+    }
+
+    /**
+     * Checks if an account exists by its ID.
+     * 
+     * @param accountId The account ID to check, may be null.
+     * @return True if an account exists with the given ID, false otherwise (including for null).
+     */
+    public boolean accountExists(Integer accountId) {
+        return accountId != null && accountCache.findById(accountId, accountStore::findAccountByAccountId).isPresent();
+    }
+
+    /**
+     * Determines which of the given account IDs exist.
+     * IDs already in the account cache are answered from memory; the rest are resolved with one query.
+     * 
+     * @param accountIds The account IDs to check.
+     * @return The subset of the given IDs that belong to existing accounts.
+     */
+    public Set<Integer> existingAccountIds(Collection<Integer> accountIds) {
+        Set<Integer> existing = new HashSet<>();
+        List<Integer> unknown = new ArrayList<>();
+        for (Integer accountId : accountIds) {
+            Optional<Account> cached = accountCache.getIfCached(accountId);
+            if (cached == null) {
+                unknown.add(accountId);
+            } else if (cached.isPresent()) {
+                existing.add(accountId);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            existing.addAll(accountStore.findExistingAccountIds(unknown));
+        }
+        return existing;
+    }
+
+    /**
+     * Looks up an account by username.
+     * Usernames the Bloom filter rules out are answered without any lookup; the rest go through the account cache.
+     * 
+     * @param username The username to look up, may be null.
+     * @return The account, or an empty Optional if none exists (including for null).
+     */
+    private Optional<Account> findByUsername(String username) {
+        if (username == null || !usernameFilter.mightContain(username)) {
+            return Optional.empty();
+        }
+        Optional<Account> account = accountCache.findByUsername(username, accountStore::findAccountByUsername);
+        if (account.isEmpty()) {
+            usernameFilter.recordFalsePositive();
+        }
+        return account;
     }
 
     /**
@@ -81,7 +166,7 @@ public class AccountService {
      */
     public Account login(String username, String password) throws LoginException {
         // Step 1: Checking if the account exists by username, otherwise throw AccountNotFoundException
-        Account account = accountRepository.findAccountByUsername(username)
+        Account account = findByUsername(username)
             .orElseThrow(() -> new LoginException("")); // "Account with the given username does not exist."
 
         // Step 2: Checking if the password matches
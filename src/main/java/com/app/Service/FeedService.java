@@ -0,0 +1,334 @@
+package com.app.Service;
+
+import com.app.Dto.MessageView;
+import com.app.Entity.Follow;
+import com.app.Entity.Message;
+import com.app.Exception.InvalidCursorException;
+import com.app.Exception.InvalidFollowException;
+import com.app.Exception.UserNotFoundException;
+import com.app.Pagination.CursorPage;
+import com.app.Pagination.Cursors;
+import com.app.Repository.FollowStore;
+import com.app.Repository.MessageStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Follow graph and home feeds ("messages from the accounts I follow", newest first).
+ *
+ * Feeds are served from memory with fan-out on write: once a message is committed it is inserted into
+ * the bounded TimelineBuffer of every follower whose feed is materialized. Accounts with more than
+ * "celebrity-threshold" followers are not fanned out; their messages go to a single buffer of their
+ * own, which feed reads k-way merge with the reader's buffer. A feed page therefore costs
+ * O(page size x log(celebrities followed)) and never runs the "postedBy IN (every followee)" query,
+ * except once to hydrate a feed buffer the first time it is read (and again after it is evicted or
+ * after the reader follows or unfollows someone). Celebrity status is sticky until restart, so an
+ * account's messages are never split between fan-out and merge in a way that loses any of them.
+ *
+ * Feeds hold the newest "capacity" messages; paging past them ends the feed. The follow graph is kept
+ * in memory (loaded from the follow table once the application is ready); buffers are not persisted.
+ */
+@Service
+public class FeedService {
+    private static final Logger log = LoggerFactory.getLogger(FeedService.class);
+
+    private final FollowStore followStore;
+    private final MessageStore messageStore;
+    private final AccountService accountService;
+    private final int capacity;
+    private final int celebrityThreshold;
+
+    private final Map<Integer, Set<Integer>> followers = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> celebrityFollowees = new ConcurrentHashMap<>();
+    private final Set<Integer> celebrities = ConcurrentHashMap.newKeySet();
+
+    // Materialized feeds (bounded, rebuilt from the database on a miss) and the posts of celebrity accounts
+    private final Cache<Integer, TimelineBuffer> feeds;
+    private final Map<Integer, TimelineBuffer> celebrityPosts = new ConcurrentHashMap<>();
+    // One shared entry per buffered message, so an update or delete reaches every buffer holding it
+    private final Cache<Integer, TimelineBuffer.Entry> entries = Caffeine.newBuilder().weakValues().build();
+    // Bumped by every update and delete; a hydration that overlaps one is redone on the next read
+    private final AtomicLong mutations = new AtomicLong();
+
+    public FeedService(FollowStore followStore, MessageStore messageStore,
+                       AccountService accountService, MeterRegistry meterRegistry,
+                       @Value("${app.feed.capacity:800}") int capacity,
+                       @Value("${app.feed.celebrity-threshold:1000}") int celebrityThreshold,
+                       @Value("${app.feed.max-feeds:100000}") long maxFeeds) {
+        this.followStore = followStore;
+        this.messageStore = messageStore;
+        this.accountService = accountService;
+        this.capacity = capacity;
+        this.celebrityThreshold = celebrityThreshold;
+        this.feeds = Caffeine.newBuilder().maximumSize(maxFeeds).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, feeds, "feeds");
+    }
+
+    /**
+     * Loads the follow graph. Runs once the application (and data.sql) is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadFollowGraph() {
+        long loaded = 0;
+        try (Stream<Follow> follows = followStore.streamAll()) {
+            for (Follow follow : (Iterable<Follow>) follows::iterator) {
+                link(follow.getFollowerId(), follow.getFolloweeId());
+                loaded++;
+            }
+        }
+        log.info("Follow graph loaded: {} follows, {} celebrity accounts", loaded, celebrities.size());
+    }
+
+    /**
+     * Makes one account follow another.
+     *
+     * @param followerId The account that follows.
+     * @param followeeId The account to follow.
+     * @return 1 if the follow was created, 0 if it already existed.
+     * @throws InvalidFollowException If an account tries to follow itself.
+     * @throws UserNotFoundException If either account does not exist.
+     */
+    public int follow(Integer followerId, Integer followeeId) {
+        if (followerId.equals(followeeId)) {
+            throw new InvalidFollowException(""); // "An account cannot follow itself."
+        }
+        if (!accountService.accountExists(followerId) || !accountService.accountExists(followeeId)) {
+            throw new UserNotFoundException(""); // "User does not exist."
+        }
+        int created = followStore.follow(followerId, followeeId);
+        if (created > 0) {
+            link(followerId, followeeId);
+            feeds.invalidate(followerId); // Rebuilt with the new followee's messages on the next read
+        }
+        return created;
+    }
+
+    /**
+     * Makes one account stop following another.
+     *
+     * @param followerId The account that follows.
+     * @param followeeId The account to stop following.
+     * @return 1 if the follow was removed, 0 if it did not exist.
+     */
+    public int unfollow(Integer followerId, Integer followeeId) {
+        int removed = followStore.unfollow(followerId, followeeId);
+        if (removed > 0) {
+            unlink(followerId, followeeId);
+            feeds.invalidate(followerId); // Rebuilt without the former followee's messages on the next read
+        }
+        return removed;
+    }
+
+    /**
+     * Retrieves one page of an account's home feed, newest first, starting before the given cursor.
+     *
+     * @param accountId The account whose feed is read.
+     * @param before    The opaque cursor returned with the previous page, or null to start from the newest message.
+     * @param limit     The requested page size, or null for the default. Clamped to [1, MessageService.MAX_PAGE_SIZE].
+     * @return The page of messages and the cursor for the next (older) page, null on the last page.
+     * @throws InvalidCursorException If the cursor is malformed.
+     * @throws UserNotFoundException If the account does not exist (no feed is materialized for it).
+     */
+    public CursorPage<MessageView> getFeed(Integer accountId, String before, Integer limit) {
+        if (!accountService.accountExists(accountId)) {
+            throw new UserNotFoundException(""); // "User does not exist."
+        }
+        int pageSize = MessageService.clampPageSize(limit);
+        long epoch = Long.MAX_VALUE;
+        int messageId = Integer.MAX_VALUE;
+        if (before != null && !before.isEmpty()) {
+            long[] position = Cursors.decode(before, 2); // {timePostedEpoch, messageId}
+            epoch = position[0];
+            messageId = (int) position[1];
+        }
+
+        // One sorted run per source: the fanned-out feed plus each followed celebrity's own messages
+        List<List<TimelineBuffer.Entry>> runs = new ArrayList<>();
+        runs.add(feedBuffer(accountId).newestBefore(epoch, messageId, pageSize + 1));
+        for (Integer celebrity : celebrityFollowees.getOrDefault(accountId, Set.of())) {
+            runs.add(celebrityBuffer(celebrity).newestBefore(epoch, messageId, pageSize + 1));
+        }
+
+        List<MessageView> rows = merge(runs, pageSize + 1);
+        return CursorPage.of(rows, pageSize,
+                m -> Cursors.encode(m.timePostedEpoch() != null ? m.timePostedEpoch() : Long.MIN_VALUE, m.messageId()));
+    }
+
+    /**
+     * Fans committed messages out to the feeds of their posters' followers (or to the poster's own
+     * buffer for celebrity accounts), once the active transaction commits (immediately if there is none).
+     *
+     * @param messages The created messages, with their IDs assigned.
+     */
+    public void messagesCreated(Collection<Message> messages) {
+        List<MessageView> views = messages.stream().map(MessageView::of).toList();
+        TransactionCallbacks.afterCommit(() -> views.forEach(this::fanOut));
+    }
+
+    /**
+     * Applies a committed text update to every buffered copy of the message.
+     *
+     * @param messageId The updated message.
+     * @param newText   The new message text.
+     */
+    public void messageUpdated(Integer messageId, String newText) {
+        mutations.incrementAndGet();
+        TimelineBuffer.Entry entry = entries.getIfPresent(messageId);
+        if (entry != null && entry.view() != null) {
+            MessageView old = entry.view();
+            entry.set(new MessageView(old.messageId(), old.postedBy(), newText, old.timePostedEpoch()));
+        }
+    }
+
+    /**
+     * Removes committed deletes from every buffer holding them.
+     *
+     * @param messageIds The deleted messages (IDs that were not buffered are ignored).
+     */
+    public void messagesDeleted(Collection<Integer> messageIds) {
+        mutations.incrementAndGet();
+        for (Integer messageId : messageIds) {
+            TimelineBuffer.Entry entry = entries.getIfPresent(messageId);
+            if (entry != null) {
+                entry.set(null);
+            }
+        }
+    }
+
+    private void fanOut(MessageView message) {
+        TimelineBuffer.Entry entry = entries.get(message.messageId(), id -> new TimelineBuffer.Entry(message));
+        Integer poster = message.postedBy();
+        if (celebrities.contains(poster)) {
+            TimelineBuffer own = celebrityPosts.get(poster);
+            if (own != null) {
+                own.add(entry);
+            }
+            return;
+        }
+        for (Integer follower : followers.getOrDefault(poster, Set.of())) {
+            TimelineBuffer feed = feeds.getIfPresent(follower);
+            if (feed != null) {
+                feed.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Gets an account's materialized feed, hydrating it with the newest messages of its followees on first use.
+     */
+    private TimelineBuffer feedBuffer(Integer accountId) {
+        TimelineBuffer buffer = feeds.get(accountId, id -> new TimelineBuffer(capacity));
+        buffer.hydrate(b -> load(b, () -> messageStore.findFeed(accountId, capacity)));
+        return buffer;
+    }
+
+    /**
+     * Gets a celebrity's own message buffer, hydrating it with their newest messages on first use.
+     */
+    private TimelineBuffer celebrityBuffer(Integer accountId) {
+        TimelineBuffer buffer = celebrityPosts.computeIfAbsent(accountId, id -> new TimelineBuffer(capacity));
+        buffer.hydrate(b -> load(b, () -> messageStore.findTimeline(accountId, capacity)));
+        return buffer;
+    }
+
+    /**
+     * Refills a buffer from the database. Rows replace the buffered state of their messages, since the
+     * query result is at least as new as anything buffered before it started.
+     *
+     * @return false if an update or delete ran meanwhile, so the buffer is hydrated again on the next read.
+     */
+    private boolean load(TimelineBuffer buffer, Supplier<List<MessageView>> query) {
+        long before = mutations.get();
+        buffer.clear();
+        for (MessageView row : query.get()) {
+            TimelineBuffer.Entry entry = entries.get(row.messageId(), id -> new TimelineBuffer.Entry(row));
+            entry.set(row);
+            buffer.add(entry);
+        }
+        return mutations.get() == before;
+    }
+
+    /**
+     * K-way merge of newest-first runs, skipping a message that appears in more than one run.
+     */
+    private static List<MessageView> merge(List<List<TimelineBuffer.Entry>> runs, int max) {
+        if (runs.size() == 1) {
+            return runs.get(0).stream().map(TimelineBuffer.Entry::view).filter(Objects::nonNull).toList();
+        }
+        // Heap of {run, position}, newest head first
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> {
+            TimelineBuffer.Entry x = runs.get(a[0]).get(a[1]);
+            TimelineBuffer.Entry y = runs.get(b[0]).get(b[1]);
+            int byEpoch = Long.compare(y.epoch, x.epoch);
+            return byEpoch != 0 ? byEpoch : Integer.compare(y.messageId, x.messageId);
+        });
+        for (int r = 0; r < runs.size(); r++) {
+            if (!runs.get(r).isEmpty()) {
+                heads.add(new int[] {r, 0});
+            }
+        }
+        List<MessageView> merged = new ArrayList<>(max);
+        int lastId = 0;
+        boolean first = true;
+        while (!heads.isEmpty() && merged.size() < max) {
+            int[] head = heads.poll();
+            TimelineBuffer.Entry entry = runs.get(head[0]).get(head[1]);
+            MessageView view = entry.view();
+            if (view != null && (first || entry.messageId != lastId)) {
+                merged.add(view);
+                lastId = entry.messageId;
+                first = false;
+            }
+            if (++head[1] < runs.get(head[0]).size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    private void link(Integer followerId, Integer followeeId) {
+        Set<Integer> fans = followers.computeIfAbsent(followeeId, id -> ConcurrentHashMap.newKeySet());
+        fans.add(followerId);
+        if (celebrities.contains(followeeId)) {
+            celebrityFollowees.computeIfAbsent(followerId, id -> ConcurrentHashMap.newKeySet()).add(followeeId);
+        } else if (fans.size() > celebrityThreshold && celebrities.add(followeeId)) {
+            // Promotion: from now on the followee's messages are merged at read time instead of fanned out
+            for (Integer fan : fans) {
+                celebrityFollowees.computeIfAbsent(fan, id -> ConcurrentHashMap.newKeySet()).add(followeeId);
+            }
+        }
+    }
+
+    private void unlink(Integer followerId, Integer followeeId) {
+        Set<Integer> fans = followers.get(followeeId);
+        if (fans != null) {
+            fans.remove(followerId);
+        }
+        Set<Integer> followedCelebrities = celebrityFollowees.get(followerId);
+        if (followedCelebrities != null) {
+            followedCelebrities.remove(followeeId);
+        }
+    }
+}
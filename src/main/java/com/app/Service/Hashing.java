@@ -0,0 +1,34 @@
+package com.app.Service;
+
+/**
+ * 64-bit string hashing shared by the probabilistic structures (UsernameFilter, TrendingHashtags).
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units of the string, finished with a mixing step.
+     */
+    static long hash64(String s) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix64(h);
+    }
+
+    /**
+     * MurmurHash3 fmix64 finalizer, spreading every input bit over the whole word.
+     */
+    static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE51A87E5L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,117 @@
+package com.app.Service;
+
+import com.app.Entity.Message;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of single messages, keyed by messageId.
+ *
+ * Entries expire "ttl" after they are loaded and the cache holds at most "max-size" entries.
+ * Lookups of missing IDs are cached as well, for the shorter "negative-ttl".
+ * Hit, miss, eviction and size metrics are published under the cache name "messages".
+ *
+ * Loads run atomically per key and invalidate waits for an in-flight load of the same key,
+ * so invalidating after a write has committed cannot leave a value that was read before the write.
+ */
+@Service
+public class MessageCache {
+    private final Cache<Integer, Optional<Message>> cache;
+
+    public MessageCache(MeterRegistry meterRegistry,
+                        @Value("${app.messages.cache.max-size:100000}") long maxSize,
+                        @Value("${app.messages.cache.ttl:60s}") Duration ttl,
+                        @Value("${app.messages.cache.negative-ttl:2s}") Duration negativeTtl) {
+        long ttlNanos = ttl.toNanos();
+        long negativeTtlNanos = negativeTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Integer, Optional<Message>>() {
+                    @Override
+                    public long expireAfterCreate(Integer messageId, Optional<Message> value, long currentTime) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Integer messageId, Optional<Message> value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(messageId, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Integer messageId, Optional<Message> value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "messages");
+    }
+
+    /**
+     * Returns the cached message for an ID, loading it on a miss.
+     *
+     * The loaded message is copied before it is cached, so the cache never holds an instance
+     * that belongs to a persistence context.
+     *
+     * @param messageId The ID of the message.
+     * @param loader    Loads the message from the store when it is not cached.
+     * @return The message, or an empty Optional if no message has this ID.
+     */
+    public Optional<Message> get(Integer messageId, Function<Integer, Optional<Message>> loader) {
+        return cache.get(messageId, id -> loader.apply(id).map(MessageCache::copyOf));
+    }
+
+    /**
+     * Gets the poster of a message from its cached copy, without loading anything on a miss.
+     *
+     * @param messageId The ID of the message.
+     * @return The postedBy of the cached message, or null if the message is not cached (or cached as missing).
+     */
+    public Integer cachedPoster(Integer messageId) {
+        Optional<Message> cached = cache.getIfPresent(messageId);
+        return cached == null ? null : cached.map(Message::getPostedBy).orElse(null);
+    }
+
+    /**
+     * Drops the cached entry (positive or negative) for a message once the current write is visible:
+     * right away when no transaction is active, otherwise after the surrounding transaction commits.
+     *
+     * @param messageId The ID of the message that was created, changed or removed.
+     */
+    public void invalidate(Integer messageId) {
+        TransactionCallbacks.afterCommit(() -> cache.invalidate(messageId));
+    }
+
+    /**
+     * Drops the cached entries for several messages once the current write is visible
+     * (see invalidate).
+     *
+     * @param messageIds The IDs of the messages that were created, changed or removed.
+     */
+    public void invalidateAll(Collection<Integer> messageIds) {
+        TransactionCallbacks.afterCommit(() -> cache.invalidateAll(messageIds));
+    }
+
+    /**
+     * Creates a detached copy of a message.
+     *
+     * @param message The message to copy.
+     * @return A new Message with the same field values.
+     */
+    private static Message copyOf(Message message) {
+        return new Message(message.getMessageId(), message.getPostedBy(), message.getMessageText(),
+                message.getTimePostedEpoch());
+    }
+}
@@ -0,0 +1,378 @@
+package com.app.Service;
+
+import com.app.Dto.MessageView;
+import com.app.Entity.Message;
+import com.app.Repository.MessageStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over message text, used by GET /messages/search.
+ *
+ * Text is split into lowercase runs of letters and digits (see tokenize). Each term has a posting list:
+ * a sorted int[] of the IDs of the messages containing it. Because IDs are assigned in creation order,
+ * reading a posting list backwards yields the newest messages first, and an AND query is an intersection
+ * driven by the shortest list. A forward index (the term IDs of each message, in int[] pages indexed by
+ * messageId) lets updates and deletes remove exactly the postings a message had.
+ *
+ * The index is rebuilt from the message table once the application is ready and is then kept current by
+ * MessageService after each write commits. It only proposes candidates: callers re-check the stored text
+ * of each result, so a write that races the rebuild can never produce a wrong match.
+ *
+ * A term whose posting list empties is dropped from the dictionary and its term ID is reused by the next new
+ * term, so the dictionary only holds terms that some indexed message still contains.
+ *
+ * Metrics: search.index.terms, search.index.messages and search.index.bytes (the estimated heap footprint
+ * of the dictionary, posting lists and forward index, kept up to date by every write rather than
+ * recomputed per scrape).
+ */
+@Service
+public class MessageSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(MessageSearchIndex.class);
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int[] NO_TERMS = new int[0];
+
+    private final MessageStore messageStore;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Term dictionary: term -> term ID, and per term ID its term, posting list (sorted messageIds) and length
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private String[] terms = new String[1024];
+    private int[][] postings = new int[1024][];
+    private int[] postingSizes = new int[1024];
+    // Term IDs below nextTermId whose term was dropped, reused before new IDs are handed out
+    private final Deque<Integer> freeTermIds = new ArrayDeque<>();
+    private int nextTermId;
+    // Forward index: forward[messageId >>> PAGE_BITS][messageId & (PAGE_SIZE - 1)] = term IDs of the message
+    private int[][][] forward = new int[16][][];
+    private int messages;
+    // Estimated footprint, see footprintBytes; only written under the write lock
+    private volatile long bytes = 3 * arrayBytes(1024, 4) + arrayBytes(16, 4);
+
+    public MessageSearchIndex(MessageStore messageStore, MeterRegistry meterRegistry) {
+        this.messageStore = messageStore;
+        Gauge.builder("search.index.terms", this, index -> index.read(() -> (double) index.termIds.size()))
+                .description("Distinct terms in the message search index")
+                .register(meterRegistry);
+        Gauge.builder("search.index.messages", this, index -> index.read(() -> (double) index.messages))
+                .description("Messages in the message search index")
+                .register(meterRegistry);
+        Gauge.builder("search.index.bytes", this, index -> (double) index.footprintBytes())
+                .description("Estimated heap used by the message search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indexes every existing message. Runs once the application (and data.sql) is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.nanoTime();
+        try (Stream<MessageView> rows = messageStore.streamAllOrderByMessageId()) {
+            for (MessageView row : (Iterable<MessageView>) rows::iterator) {
+                index(row.messageId(), row.messageText());
+            }
+        }
+        log.info("Message search index built in {} ms: {} messages, {} terms, ~{} KB",
+                (System.nanoTime() - started) / 1_000_000, read(() -> messages), read(termIds::size), footprintBytes() / 1024);
+    }
+
+    /**
+     * Indexes newly created messages once the active transaction commits (immediately if there is none).
+     *
+     * @param created The created messages, with their IDs assigned.
+     */
+    public void messagesCreated(Collection<Message> created) {
+        List<MessageView> views = created.stream().map(MessageView::of).toList();
+        TransactionCallbacks.afterCommit(() -> views.forEach(v -> index(v.messageId(), v.messageText())));
+    }
+
+    /**
+     * Re-indexes a message whose text was changed.
+     *
+     * @param messageId The updated message.
+     * @param newText   Its new text.
+     */
+    public void messageUpdated(Integer messageId, String newText) {
+        index(messageId, newText);
+    }
+
+    /**
+     * Removes deleted messages from the index. IDs that are not indexed are ignored.
+     *
+     * @param messageIds The deleted messages.
+     */
+    public void messagesDeleted(Collection<Integer> messageIds) {
+        lock.writeLock().lock();
+        try {
+            for (Integer messageId : messageIds) {
+                if (messageId != null) {
+                    removeLocked(messageId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the newest messages containing every term, older (smaller messageId) than a position.
+     *
+     * @param queryTerms The terms, as returned by tokenize. An empty list matches nothing.
+     * @param beforeId   Only messages with a smaller ID are returned (Integer.MAX_VALUE for the newest).
+     * @param max        The maximum number of IDs to return.
+     * @return Matching message IDs, newest first.
+     */
+    public int[] search(List<String> queryTerms, int beforeId, int max) {
+        lock.readLock().lock();
+        try {
+            if (queryTerms.isEmpty()) {
+                return NO_TERMS;
+            }
+            int[] lists = new int[queryTerms.size()];
+            for (int i = 0; i < lists.length; i++) {
+                Integer termId = termIds.get(queryTerms.get(i));
+                if (termId == null) {
+                    return NO_TERMS; // A term no message contains: the AND is empty
+                }
+                lists[i] = termId;
+            }
+            // The shortest posting list drives the intersection; the others are probed by binary search
+            Integer[] order = new Integer[lists.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = lists[i];
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(postingSizes[a], postingSizes[b]));
+
+            int driver = order[0];
+            int[] result = new int[Math.min(max, postingSizes[driver])];
+            int found = 0;
+            for (int i = lowerBound(postings[driver], postingSizes[driver], beforeId) - 1; i >= 0 && found < result.length; i--) {
+                int messageId = postings[driver][i];
+                boolean all = true;
+                for (int k = 1; k < order.length && all; k++) {
+                    all = Arrays.binarySearch(postings[order[k]], 0, postingSizes[order[k]], messageId) >= 0;
+                }
+                if (all) {
+                    result[found++] = messageId;
+                }
+            }
+            return found == result.length ? result : Arrays.copyOf(result, found);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into search terms: maximal runs of letters and digits, lowercased, each term once,
+     * in order of first appearance. Terms longer than 64 characters are truncated.
+     *
+     * @param text The text to split (may be null).
+     * @return The distinct terms of the text.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = text.substring(start, Math.min(i, start + MAX_TERM_LENGTH)).toLowerCase(Locale.ROOT);
+                tokens.add(token);
+                start = -1;
+            }
+        }
+        return List.copyOf(tokens);
+    }
+
+    /**
+     * Estimates the heap used by the index: posting and forward arrays at their allocated capacity, plus the
+     * dictionary (term strings, hash map nodes and boxed term IDs), assuming compressed references. The
+     * estimate is adjusted by each write, so reading it is O(1) and takes no lock.
+     *
+     * @return The estimated footprint in bytes.
+     */
+    public long footprintBytes() {
+        return bytes;
+    }
+
+    private void index(Integer messageId, String text) {
+        if (messageId == null || messageId < 0) {
+            return;
+        }
+        List<String> tokens = tokenize(text);
+        lock.writeLock().lock();
+        try {
+            removeLocked(messageId);
+            int[] termsOfMessage = new int[tokens.size()];
+            for (int i = 0; i < termsOfMessage.length; i++) {
+                int termId = termIdLocked(tokens.get(i));
+                addPostingLocked(termId, messageId);
+                termsOfMessage[i] = termId;
+            }
+            int[][] page = pageLocked(messageId, true);
+            page[messageId & (PAGE_SIZE - 1)] = termsOfMessage;
+            bytes += arrayBytes(termsOfMessage.length, 4);
+            messages++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(int messageId) {
+        int[][] page = pageLocked(messageId, false);
+        if (page == null || page[messageId & (PAGE_SIZE - 1)] == null) {
+            return;
+        }
+        for (int termId : page[messageId & (PAGE_SIZE - 1)]) {
+            int[] list = postings[termId];
+            int size = postingSizes[termId];
+            int pos = Arrays.binarySearch(list, 0, size, messageId);
+            if (pos >= 0) {
+                System.arraycopy(list, pos + 1, list, pos, size - pos - 1);
+                postingSizes[termId] = size - 1;
+                if (size == 1) {
+                    dropTermLocked(termId);
+                }
+            }
+        }
+        bytes -= arrayBytes(page[messageId & (PAGE_SIZE - 1)].length, 4);
+        page[messageId & (PAGE_SIZE - 1)] = null;
+        messages--;
+    }
+
+    private int termIdLocked(String term) {
+        Integer termId = termIds.get(term);
+        if (termId != null) {
+            return termId;
+        }
+        Integer free = freeTermIds.poll();
+        int id = free != null ? free : nextTermId++;
+        if (id == postings.length) {
+            bytes += 3 * (arrayBytes(id * 2, 4) - arrayBytes(id, 4));
+            terms = Arrays.copyOf(terms, id * 2);
+            postings = Arrays.copyOf(postings, id * 2);
+            postingSizes = Arrays.copyOf(postingSizes, id * 2);
+        }
+        postings[id] = new int[4];
+        terms[id] = term;
+        termIds.put(term, id);
+        bytes += arrayBytes(4, 4) + termBytes(term);
+        return id;
+    }
+
+    /**
+     * Removes a term whose posting list has become empty and makes its term ID available again.
+     */
+    private void dropTermLocked(int termId) {
+        String term = terms[termId];
+        bytes -= arrayBytes(postings[termId].length, 4) + termBytes(term);
+        termIds.remove(term);
+        terms[termId] = null;
+        postings[termId] = null;
+        freeTermIds.push(termId);
+    }
+
+    /**
+     * Adds an ID to a posting list, keeping it sorted. New messages have the highest IDs, so this is
+     * almost always an append.
+     */
+    private void addPostingLocked(int termId, int messageId) {
+        int[] list = postings[termId];
+        int size = postingSizes[termId];
+        int pos = (size == 0 || list[size - 1] < messageId) ? size : lowerBound(list, size, messageId);
+        if (pos < size && list[pos] == messageId) {
+            return;
+        }
+        if (size == list.length) {
+            list = Arrays.copyOf(list, size + (size >> 1) + 1);
+            bytes += arrayBytes(list.length, 4) - arrayBytes(size, 4);
+            postings[termId] = list;
+        }
+        System.arraycopy(list, pos, list, pos + 1, size - pos);
+        list[pos] = messageId;
+        postingSizes[termId] = size + 1;
+    }
+
+    private int[][] pageLocked(int messageId, boolean create) {
+        int pageIndex = messageId >>> PAGE_BITS;
+        if (pageIndex >= forward.length) {
+            if (!create) {
+                return null;
+            }
+            int length = Math.max(pageIndex + 1, forward.length * 2);
+            bytes += arrayBytes(length, 4) - arrayBytes(forward.length, 4);
+            forward = Arrays.copyOf(forward, length);
+        }
+        if (forward[pageIndex] == null && create) {
+            forward[pageIndex] = new int[PAGE_SIZE][];
+            bytes += arrayBytes(PAGE_SIZE, 4);
+        }
+        return forward[pageIndex];
+    }
+
+    /**
+     * Finds the first position in a sorted list whose value is not less than the key.
+     */
+    private static int lowerBound(int[] list, int size, int key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (list[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Dictionary cost of a term: the String and its Latin-1 bytes, its HashMap node and its boxed term ID.
+     */
+    private static long termBytes(String term) {
+        return 24 + arrayBytes(term.length(), 1) + 32 + 16;
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        return (16 + (long) length * elementBytes + 7) & ~7L;
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
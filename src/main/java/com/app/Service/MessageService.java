@@ -1,23 +1,86 @@
 package com.app.Service;
 
+import com.app.Dto.BatchItemResult;
+import com.app.Dto.MessageView;
+import com.app.Dto.VersionStamp;
 import com.app.Entity.Message;
-import com.app.Repository.MessageRepository;
-import com.app.Repository.AccountRepository;
+import com.app.Repository.MessageStore;
 import org.springframework.stereotype.Service;
+import com.app.Exception.BatchTooLargeException;
 import com.app.Exception.MessageBlankTextException;
 import com.app.Exception.MessageTooLongException;
 import com.app.Exception.MessageNotFoundException;
+import com.app.Exception.MessageQueueFullException;
+import com.app.Exception.MessageWriteFailedException;
 import com.app.Exception.UserNotFoundException;
+import com.app.Exception.InvalidCursorException;
+import com.app.Pagination.CursorPage;
+import com.app.Pagination.Cursors;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 @Service
 public class MessageService {
-    public final MessageRepository messageRepository;
-    public final AccountRepository accountRepository;
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 1000;
+    private static final int DELETE_CHUNK_SIZE = 500;
+    private static final int MAX_MESSAGE_LENGTH = 255;
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
 
-    public MessageService(MessageRepository messageRepository, AccountRepository accountRepository) {
-        this.messageRepository = messageRepository;
-        this.accountRepository = accountRepository;
+    private final MessageStore messageStore;
+    private final AccountService accountService;
+    private final MessageWriteBehindQueue writeBehindQueue;
+    private final MessageCache messageCache;
+    private final MessageVersions messageVersions;
+    private final FeedService feedService;
+    private final MessageSearchIndex searchIndex;
+    private final TrendingHashtags trendingHashtags;
+    private final MessageTimeIndex timeIndex;
+    private final ObjectWriter exportWriter;
+    private final Timer createValidation;
+    private final Timer batchValidation;
+    private final Timer updateValidation;
+
+    public MessageService(MessageStore messageStore, AccountService accountService, MessageWriteBehindQueue writeBehindQueue,
+                          MessageCache messageCache, MessageVersions messageVersions, FeedService feedService,
+                          MessageSearchIndex searchIndex, TrendingHashtags trendingHashtags, MessageTimeIndex timeIndex,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry) {
+        this.messageStore = messageStore;
+        this.accountService = accountService;
+        this.writeBehindQueue = writeBehindQueue;
+        this.messageCache = messageCache;
+        this.messageVersions = messageVersions;
+        this.feedService = feedService;
+        this.searchIndex = searchIndex;
+        this.trendingHashtags = trendingHashtags;
+        this.timeIndex = timeIndex;
+        // Each record is written with its own writeValue call, so the response stream must stay open in between
+        this.exportWriter = objectMapper.writerFor(MessageView.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Input checks of each write, without the poster lookups, see app.validation in application.properties
+        this.createValidation = ValidationMetrics.timer(meterRegistry, "message.create");
+        this.batchValidation = ValidationMetrics.timer(meterRegistry, "message.batch");
+        this.updateValidation = ValidationMetrics.timer(meterRegistry, "message.update");
     }
 
     /**
@@ -30,53 +93,367 @@ public class MessageService {
      * @throws UserNotFoundException If the user posting the message does not exist.
      */
     public Message createMessage(Message message) {
+        return createMessage(message, false);
+    }
+
+    /**
+     * Posts a new message after validating its content and the user posting it.
+     *
+     * In write-behind mode (see MessageWriteBehindQueue) the message is validated and given its ID
+     * right away, but is only written by the next group commit. Passing waitForDurable = true blocks
+     * until that commit has happened. Outside write-behind mode the message is always saved before returning.
+     *
+     * @param message        The Message object containing the message text, posted_by (account), and time posted.
+     * @param waitForDurable Whether to wait for the message to be committed when write-behind mode is enabled.
+     * @return The Message object with its assigned ID.
+     * @throws MessageBlankTextException If the message text is blank.
+     * @throws MessageTooLongException If the message text is longer than the maximum allowed length of 255 characters.
+     * @throws UserNotFoundException If the user posting the message does not exist.
+     * @throws MessageQueueFullException If write-behind mode is enabled and the queue is full.
+     * @throws MessageWriteFailedException If waitForDurable is set and the group commit holding the message failed.
+     */
+    public Message createMessage(Message message, boolean waitForDurable) {
         Integer postedBy = message.getPostedBy();
-        String text = message.getMessageText();
 
         // Validating message_text to ensure it's not empty or too long
-        if (text == null || text.trim().isBlank()) {
-            throw new MessageBlankTextException(""); // "Message text cannot be blank."
+        createValidation.record(() -> validateMessageText(message.getMessageText()));
+
+        // Validating postedBy to ensure the user exists in the system (served from the account cache when warm)
+        if (!accountService.accountExists(postedBy)) {
+            throw new UserNotFoundException(""); // "User with ID " + postedBy + " does not exist."
         }
-        if (text.length() > 255) {
-            throw new MessageTooLongException(""); // "Message text must be under 255 characters."
+
+        // Handing the message to the group-commit writer when write-behind mode is on
+        if (writeBehindQueue.isEnabled()) {
+            CompletableFuture<Void> durable = writeBehindQueue.enqueue(message);
+            durable.thenRun(() -> {
+                messageVersions.messageChanged(message.getMessageId(), postedBy);
+                feedService.messagesCreated(List.of(message));
+                searchIndex.messagesCreated(List.of(message));
+                timeIndex.messagesCreated(List.of(message));
+                trendingHashtags.messagesCreated(List.of(message));
+            });
+            if (waitForDurable) {
+                try {
+                    durable.join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof MessageWriteFailedException failed ? failed : e;
+                }
+            }
+            return message;
         }
 
-        // Validating postedBy to ensure the user exists in the system
-        if (!accountRepository.findAccountByAccountId(postedBy).isPresent()) {
-            throw new UserNotFoundException(""); // "User with ID " + postedBy + " does not exist."
+        // Persisting the message in the database (and dropping any cached "not found" for its ID)
+        Message saved = messageStore.save(message);
+        messageCache.invalidate(saved.getMessageId());
+        messageVersions.messageChanged(saved.getMessageId(), postedBy);
+        feedService.messagesCreated(List.of(saved));
+        searchIndex.messagesCreated(List.of(saved));
+        timeIndex.messagesCreated(List.of(saved));
+        trendingHashtags.messagesCreated(List.of(saved));
+        return saved;
+    }
+
+    /**
+     * Posts many messages at once, validating each one independently.
+     *
+     * All posters are checked with a single query, IDs are allocated in blocks, and the valid
+     * messages are inserted with JDBC batch statements in one transaction. Invalid messages are
+     * reported in the result rather than failing the whole batch.
+     *
+     * @param messages The messages to post.
+     * @return One result per input message, in request order, with the assigned ID or the rejection reason.
+     * @throws BatchTooLargeException If more than MAX_BATCH_SIZE messages are submitted.
+     */
+    @Transactional
+    public List<BatchItemResult> createMessages(List<Message> messages) {
+        if (messages.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException(""); // "At most " + MAX_BATCH_SIZE + " messages per batch."
         }
 
-        // Persisting the message in the database
-        return messageRepository.save(message);
+        // Step 1 is the validation phase of the batch
+        BatchItemResult[] results = new BatchItemResult[messages.size()];
+        Set<Integer> posters = new HashSet<>();
+        batchValidation.record(() -> {
+            // Step 1: Validating the text of every message and collecting the posters to check
+            for (int i = 0; i < messages.size(); i++) {
+                Message message = messages.get(i);
+                try {
+                    validateMessageText(message.getMessageText());
+                } catch (MessageBlankTextException e) {
+                    results[i] = BatchItemResult.rejected(i, "MESSAGE_BLANK");
+                    continue;
+                } catch (MessageTooLongException e) {
+                    results[i] = BatchItemResult.rejected(i, "MESSAGE_TOO_LONG");
+                    continue;
+                }
+                if (message.getPostedBy() == null) {
+                    results[i] = BatchItemResult.rejected(i, "USER_NOT_FOUND");
+                    continue;
+                }
+                posters.add(message.getPostedBy());
+            }
+        });
+
+        // Step 2: Checking every poster at once (cached posters need no query, the rest share one)
+        Set<Integer> existingPosters = posters.isEmpty() ? Set.of() : accountService.existingAccountIds(posters);
+
+        // Step 3: Inserting the accepted messages in JDBC batches
+        List<Message> accepted = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            Message message = messages.get(i);
+            if (existingPosters.contains(message.getPostedBy())) {
+                message.setMessageId(null); // IDs are always assigned by the server
+                accepted.add(message);
+            } else {
+                results[i] = BatchItemResult.rejected(i, "USER_NOT_FOUND");
+            }
+        }
+        messageStore.insertAll(accepted);
+        List<Integer> acceptedIds = accepted.stream().map(Message::getMessageId).toList();
+        messageCache.invalidateAll(acceptedIds);
+        messageVersions.messagesChanged(acceptedIds, existingPosters);
+        feedService.messagesCreated(accepted);
+        searchIndex.messagesCreated(accepted);
+        timeIndex.messagesCreated(accepted);
+        trendingHashtags.messagesCreated(accepted);
+
+        for (int i = 0; i < messages.size(); i++) {
+            if (results[i] == null) {
+                results[i] = BatchItemResult.created(i, messages.get(i).getMessageId());
+            }
+        }
+        return List.of(results);
     }
 
     /**
-     * Retrieves all messages from the database.
+     * Retrieves one page of messages in ascending messageId order, starting after the given cursor.
+     *
+     * The page is read with a keyset query on the primary key, so the cost of a page does not
+     * grow with how deep the client has paged. One extra row is read to know whether a next page exists.
+     * Rows are read as MessageView projections in a read-only transaction (flush mode manual), so no
+     * entities are hydrated, snapshotted for dirty checking or flushed.
      *
-     * @return A list of all messages.
+     * @param after The opaque cursor returned with the previous page, or null to start from the beginning.
+     * @param limit The requested page size, or null for the default. Clamped to [1, MAX_PAGE_SIZE].
+     * @return The page of messages and the cursor for the next page (null on the last page).
+     * @throws InvalidCursorException If the cursor is malformed.
      */
-    public List<Message> getAllMessages() {
-        return messageRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<MessageView> getMessagesPage(String after, Integer limit) {
+        int pageSize = clampPageSize(limit);
+        int afterId = (after == null || after.isEmpty()) ? 0 : (int) Cursors.decode(after, 1)[0];
+
+        List<MessageView> rows = messageStore.findPageAfter(afterId, pageSize + 1);
+        return CursorPage.of(rows, pageSize, m -> Cursors.encode(m.messageId()));
+    }
+
+    /**
+     * Retrieves one page of the messages posted in a time range, in ascending (timePostedEpoch, messageId) order.
+     *
+     * Ranges within the recent past are read from MessageTimeIndex without a query. Older ranges are read
+     * with a keyset query on the (timePostedEpoch, messageId) index. Messages without a timePostedEpoch are never included.
+     *
+     * @param since The inclusive start of the range (epoch seconds), or null for no lower bound.
+     * @param until The exclusive end of the range (epoch seconds), or null for no upper bound.
+     * @param after The opaque cursor returned with the previous page, or null to start from the beginning of the range.
+     * @param limit The requested page size, or null for the default. Clamped to [1, MAX_PAGE_SIZE].
+     * @return The page of messages and the cursor for the next page (null on the last page).
+     * @throws InvalidCursorException If the cursor is malformed or its position is outside the range.
+     */
+    public CursorPage<MessageView> getMessagesInRange(Long since, Long until, String after, Integer limit) {
+        int pageSize = clampPageSize(limit);
+        long from = since != null ? since : Long.MIN_VALUE;
+        long to = until != null ? until : Long.MAX_VALUE;
+        long epoch = from;
+        int afterId = Integer.MIN_VALUE;
+        if (after != null && !after.isEmpty()) {
+            long[] position = Cursors.decode(after, 2); // {timePostedEpoch, messageId}
+            if (position[0] < from || position[0] >= to) {
+                throw new InvalidCursorException(""); // From another range; restarting would repeat page 1
+            }
+            epoch = position[0];
+            afterId = (int) position[1];
+        }
+        if (from >= to) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        List<MessageView> rows = timeIndex.range(from, to, epoch, afterId, pageSize + 1);
+        if (rows == null) {
+            rows = messageStore.findRangeAfter(epoch, afterId, to, pageSize + 1);
+        }
+        return CursorPage.of(rows, pageSize, m -> Cursors.encode(m.timePostedEpoch(), m.messageId()));
+    }
+
+    /**
+     * Finds messages containing every word of a query, newest (highest messageId) first, one page at a time.
+     *
+     * Candidates come from MessageSearchIndex, and only the rows of one page are read, by primary key.
+     * Each row is checked against the query again, so a hit the index has not caught up with
+     * (a concurrent update or delete) is dropped rather than returned.
+     *
+     * @param query  The search text; its words are matched case-insensitively (see MessageSearchIndex.tokenize).
+     * @param before The opaque cursor returned with the previous page, or null to start from the newest match.
+     * @param limit  The requested page size, or null for the default. Clamped to [1, MAX_PAGE_SIZE].
+     * @return The page of matching messages and the cursor for the next page (null on the last page).
+     * @throws InvalidCursorException If the cursor is malformed.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MessageView> searchMessages(String query, String before, Integer limit) {
+        int pageSize = clampPageSize(limit);
+        int beforeId = (before == null || before.isEmpty()) ? Integer.MAX_VALUE : (int) Cursors.decode(before, 1)[0];
+        List<String> terms = MessageSearchIndex.tokenize(query);
+
+        List<MessageView> rows = new ArrayList<>(pageSize + 1);
+        while (rows.size() <= pageSize) {
+            int[] hits = searchIndex.search(terms, beforeId, pageSize + 1 - rows.size());
+            if (hits.length == 0) {
+                break;
+            }
+            List<Integer> ids = Arrays.stream(hits).boxed().toList();
+            Map<Integer, MessageView> found = new HashMap<>();
+            for (MessageView row : messageStore.findViewsByMessageIdIn(ids)) {
+                found.put(row.messageId(), row);
+            }
+            for (int id : hits) {
+                MessageView row = found.get(id);
+                if (row != null && new HashSet<>(MessageSearchIndex.tokenize(row.messageText())).containsAll(terms)) {
+                    rows.add(row);
+                }
+            }
+            beforeId = hits[hits.length - 1];
+        }
+        return CursorPage.of(rows, pageSize, m -> Cursors.encode(m.messageId()));
+    }
+
+    /**
+     * Writes every message to the given stream as newline-delimited JSON (one message object per line),
+     * in ascending messageId order.
+     *
+     * Rows are read through a forward-only database cursor as MessageView projections, which never enter
+     * the persistence context, so memory use does not depend on the size of the table.
+     * The stream is flushed after the first row and then periodically, so the client starts
+     * receiving data immediately.
+     *
+     * @param out The stream to write to (typically the HTTP response body). It is not closed.
+     * @return The number of messages written.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public long exportMessages(OutputStream out) throws IOException {
+        long written = 0;
+        try (Stream<MessageView> messages = messageStore.streamAllOrderByMessageId()) {
+            Iterator<MessageView> it = messages.iterator();
+            while (it.hasNext()) {
+                exportWriter.writeValue(out, it.next());
+                out.write('\n');
+
+                if (++written == 1 || written % EXPORT_FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        return written;
+    }
+
+    /**
+     * Validates message text shared by message creation and update.
+     *
+     * @param text The message text to check.
+     * @throws MessageBlankTextException If the text is null or blank.
+     * @throws MessageTooLongException If the text is longer than 255 characters.
+     */
+    private static void validateMessageText(String text) {
+        if (text == null || text.trim().isBlank()) {
+            throw new MessageBlankTextException(""); // "Message text cannot be blank."
+        }
+        if (text.length() > MAX_MESSAGE_LENGTH) {
+            throw new MessageTooLongException(""); // "Message text must be under 255 characters."
+        }
+    }
+
+    /**
+     * Normalizes a client-supplied page size.
+     *
+     * @param limit The requested page size, or null.
+     * @return DEFAULT_PAGE_SIZE for null, otherwise the limit clamped to [1, MAX_PAGE_SIZE].
+     */
+    static int clampPageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
     }
 
     /**
      * Retrieves a specific message by its unique ID.
      *
+     * Reads go through MessageCache, so repeated reads of the same message (or of a missing ID)
+     * are served from memory until the entry expires or a write invalidates it.
+     *
      * @param messageId The unique ID of the message to retrieve.
      * @return The Message object corresponding to the given ID, or null if not found.
      */
     public Message getMessageById(Integer messageId) {
-        return messageRepository.findById(messageId).orElse(null); // Returns null if the message is not found
+        return messageCache.get(messageId, messageStore::findById).orElse(null); // Returns null if the message is not found
     }
 
     /**
-     * Retrieves all messages associated with a specific user by account ID.
+     * Gets the validators for a conditional GET of one message, without reading it.
+     * Must be called before the message is read (see MessageVersions).
+     *
+     * @param messageId The unique ID of the message.
+     * @return The current ETag of the message.
+     */
+    public VersionStamp getMessageVersion(Integer messageId) {
+        return messageVersions.messageVersion(messageId);
+    }
+
+    /**
+     * Gets the validators for a conditional GET of a user's timeline, without reading it.
+     * Every create, update and delete of the user's messages changes them.
+     * Must be called before the timeline is read (see MessageVersions).
+     *
+     * @param accountId The unique ID of the account (user).
+     * @return The current ETag and last-modified time of the timeline.
+     */
+    public VersionStamp getTimelineVersion(Integer accountId) {
+        return messageVersions.timelineVersion(accountId);
+    }
+
+    /**
+     * Retrieves one page of a user's messages, newest first, starting before the given cursor.
+     *
+     * Messages are ordered by timePostedEpoch and then messageId (both descending), which matches the
+     * composite index on the message table, so each page is a single index range scan no matter how
+     * many messages the user has posted. Messages without a timePostedEpoch come after all the others.
+     * Like getMessagesPage, rows are read as MessageView projections in a read-only transaction.
      *
      * @param accountId The unique ID of the account (user) whose messages are to be retrieved.
-     * @return A list of messages for the specified account (user).
+     * @param before    The opaque cursor returned with the previous page, or null to start from the newest message.
+     * @param limit     The requested page size, or null for the default. Clamped to [1, MAX_PAGE_SIZE].
+     * @return The page of messages and the cursor for the next (older) page, null on the last page.
+     * @throws InvalidCursorException If the cursor is malformed.
      */
-    public List<Message> getMessagesByUser(Integer accountId) {
-        return messageRepository.findByPostedBy(accountId);
+    @Transactional(readOnly = true)
+    public CursorPage<MessageView> getMessagesByUser(Integer accountId, String before, Integer limit) {
+        int pageSize = clampPageSize(limit);
+        int fetch = pageSize + 1;
+
+        List<MessageView> rows;
+        if (before == null || before.isEmpty()) {
+            rows = messageStore.findTimeline(accountId, fetch);
+        } else {
+            long[] position = Cursors.decode(before, 2); // {timePostedEpoch, messageId}
+            rows = messageStore.findTimelineBefore(accountId, position[0], (int) position[1], fetch);
+        }
+        return CursorPage.of(rows, pageSize, m -> Cursors.encode(
+                m.timePostedEpoch() != null ? m.timePostedEpoch() : MessageStore.NO_EPOCH, m.messageId()));
     }
 
     /**
@@ -94,20 +471,23 @@ public class MessageService {
         String newText = message.getMessageText();
     
         // Validating the input message text in the service layer
-        if (newText == null || newText.trim().isBlank()) {
-            throw new MessageBlankTextException(""); // "Message text cannot be blank."
-        }
-        if (newText.length() > 255) {
-            throw new MessageTooLongException(""); // "Message text must be under 255 characters."
-        }
+        updateValidation.record(() -> validateMessageText(newText));
     
-        // Performing the update using the repository method
-        int rowsUpdated = messageRepository.updateMessageText(messageId, newText);
+        // Performing the update using the store (one poster ID comes back per updated row)
+        List<Integer> posters = messageStore.updateMessageText(messageId, newText);
+        int rowsUpdated = posters.size();
     
         // Handling the case where no rows were updated (message not found)
         if (rowsUpdated == 0) {
             throw new MessageNotFoundException(""); // "Message not found with ID: " + messageId
         }
+
+        // The update bypasses the persistence context, so the cached copy is dropped explicitly
+        messageVersions.messageChanged(messageId, posterOf(messageId, posters.get(0)));
+        messageCache.invalidate(messageId);
+        feedService.messageUpdated(messageId, newText);
+        searchIndex.messageUpdated(messageId, newText);
+        timeIndex.messageUpdated(messageId, newText);
     
         // Returning the number of updated rows (1 expected)
         return rowsUpdated;
@@ -116,14 +496,108 @@ public class MessageService {
     /**
      * Deletes a message from the 'message' table by its ID.
      *
+     * Runs a single "DELETE ... WHERE messageId = ?" statement and uses its row count,
+     * instead of checking for existence and loading the entity first.
+     *
      * @param messageId The unique ID of the message to delete.
      * @return true if the message was deleted, false if the message was not found or deletion failed.
      */
     public boolean deleteMessage(Integer messageId) {
-        if (!messageRepository.existsById(messageId)) {
+        List<Integer> posters = messageStore.deleteMessageById(messageId);
+        if (posters.isEmpty()) {
             return false; // Returning false if the message was not found
         }
-        messageRepository.deleteById(messageId);
+        messageVersions.messageChanged(messageId, posterOf(messageId, posters.get(0)));
+        messageCache.invalidate(messageId);
+        feedService.messagesDeleted(List.of(messageId));
+        searchIndex.messagesDeleted(List.of(messageId));
+        timeIndex.messagesDeleted(List.of(messageId));
         return true;  // Returning true if the message was deleted
-    } 
-}
\ No newline at end of file
+    }
+
+    /**
+     * Deletes the messages with the given IDs.
+     *
+     * The IDs are deleted in chunks of DELETE_CHUNK_SIZE, each in its own short transaction,
+     * so a large request never holds row locks on the whole set at once. IDs that do not exist are ignored.
+     *
+     * @param messageIds The IDs of the messages to delete.
+     * @return The number of messages deleted.
+     * @throws BatchTooLargeException If more than MAX_BATCH_SIZE IDs are given.
+     */
+    public int deleteMessages(List<Integer> messageIds) {
+        if (messageIds.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException(""); // "At most " + MAX_BATCH_SIZE + " messages per batch."
+        }
+        List<Integer> distinctIds = messageIds.stream().filter(Objects::nonNull).distinct().toList();
+        int rowsDeleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += DELETE_CHUNK_SIZE) {
+            List<Integer> chunk = distinctIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinctIds.size()));
+            List<Integer> posters = messageStore.deleteMessagesByIdInReturningPosters(chunk);
+            rowsDeleted += posters.size();
+            messageVersions.messagesChanged(chunk, postersOf(chunk, posters));
+            messageCache.invalidateAll(chunk);
+            feedService.messagesDeleted(chunk);
+            searchIndex.messagesDeleted(chunk);
+            timeIndex.messagesDeleted(chunk);
+        }
+        return rowsDeleted;
+    }
+
+    /**
+     * Completes the owner reported by the store for a written message: a null (unknown) owner is taken from the
+     * cached copy of the message when there is one, and otherwise stays null (see MessageVersions).
+     */
+    private Integer posterOf(Integer messageId, Integer reported) {
+        return reported != null ? reported : messageCache.cachedPoster(messageId);
+    }
+
+    /**
+     * Completes the owners reported by the store for a chunk of written messages (see posterOf). If fewer owners
+     * are found in the cache than rows had unknown owners, the result also holds null.
+     */
+    private Set<Integer> postersOf(List<Integer> messageIds, List<Integer> reported) {
+        Set<Integer> posters = new HashSet<>(reported);
+        if (posters.remove(null)) {
+            int unknown = Collections.frequency(reported, null);
+            int found = 0;
+            for (Integer messageId : messageIds) {
+                Integer cached = messageCache.cachedPoster(messageId);
+                if (cached != null) {
+                    posters.add(cached);
+                    found++;
+                }
+            }
+            if (found < unknown) {
+                posters.add(null);
+            }
+        }
+        return posters;
+    }
+
+    /**
+     * Deletes every message posted by a user.
+     *
+     * The user's message IDs are read DELETE_CHUNK_SIZE at a time through the postedBy index and
+     * deleted chunk by chunk, each chunk in its own short transaction.
+     *
+     * @param accountId The ID of the user whose messages are to be deleted.
+     * @return The number of messages deleted.
+     */
+    public int deleteMessagesByUser(Integer accountId) {
+        int rowsDeleted = 0;
+        List<Integer> chunk;
+        do {
+            chunk = messageStore.findMessageIdsByPostedBy(accountId, DELETE_CHUNK_SIZE);
+            if (!chunk.isEmpty()) {
+                rowsDeleted += messageStore.deleteMessagesByIdIn(chunk);
+                messageCache.invalidateAll(chunk);
+                messageVersions.messagesChanged(chunk, List.of(accountId));
+                feedService.messagesDeleted(chunk);
+                searchIndex.messagesDeleted(chunk);
+                timeIndex.messagesDeleted(chunk);
+            }
+        } while (chunk.size() == DELETE_CHUNK_SIZE);
+        return rowsDeleted;
+    }
+}
@@ -0,0 +1,434 @@
+package com.app.Service;
+
+import com.app.Dto.MessageView;
+import com.app.Entity.Message;
+import com.app.Repository.MessageStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of recent messages by timePostedEpoch (in seconds, as in data.sql), used by time-range reads
+ * of GET /messages.
+ *
+ * Messages are grouped into fixed-width time buckets (a TreeMap keyed by epoch / bucket width), each bucket a
+ * sorted array in (timePostedEpoch, messageId) order, so a range read seeks to its first bucket and walks forward.
+ * The epoch of every indexed message is kept in a primitive int-to-long hash table, so updates and deletes find
+ * their bucket without boxing. The index is complete for every timePostedEpoch at or after its floor: it is loaded
+ * from the message table once the application is ready, then kept current by MessageService after each write
+ * commits. Buckets entirely older than the retention are dropped, as are the oldest buckets once more than
+ * max-messages are held; either way the floor moves up. A range starting below the floor (or read before the load
+ * finishes) is left to the database.
+ *
+ * The load fills a new index without holding the lock, while the changes committed in the meantime are only
+ * recorded. It then takes the write lock briefly to replay them onto the new index and publish it. Every change
+ * is idempotent (keyed by messageId), so a change the load has already seen gives the same result when replayed.
+ *
+ * Metrics: time.index.messages and time.index.buckets.
+ */
+@Service
+public class MessageTimeIndex {
+    private static final Logger log = LoggerFactory.getLogger(MessageTimeIndex.class);
+    private static final long NO_EPOCH = MessageStore.NO_EPOCH;
+
+    private final MessageStore messageStore;
+    private final long bucketSeconds;
+    private final long retentionSeconds;
+    private final int maxMessages;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index; // Null until loaded
+    private final List<Consumer<Index>> pending = new ArrayList<>(); // Changes committed before the index was published
+
+    public MessageTimeIndex(MessageStore messageStore, MeterRegistry meterRegistry,
+                            @Value("${app.messages.time-index.bucket:5m}") Duration bucket,
+                            @Value("${app.messages.time-index.retention:6h}") Duration retention,
+                            @Value("${app.messages.time-index.max-messages:200000}") int maxMessages) {
+        this.messageStore = messageStore;
+        this.bucketSeconds = Math.max(1, bucket.toSeconds());
+        this.retentionSeconds = retention.toSeconds();
+        this.maxMessages = maxMessages;
+        Gauge.builder("time.index.messages", this, index -> index.size())
+                .description("Messages in the recent-messages time index")
+                .register(meterRegistry);
+        Gauge.builder("time.index.buckets", this, index -> index.bucketCount())
+                .description("Time buckets in the recent-messages time index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indexes every message from the retention period on. Runs once the application (and data.sql) is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long started = System.nanoTime();
+        Index loading = new Index(bucketOf(nowSeconds() - retentionSeconds) * bucketSeconds);
+        try (Stream<MessageView> rows = messageStore.streamPostedSince(loading.floor)) {
+            rows.forEach(loading::add);
+        }
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            replayed = pending.size();
+            pending.forEach(change -> change.accept(loading));
+            pending.clear();
+            loading.evict();
+            index = loading;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Message time index loaded in {} ms: {} messages since epoch {}, {} changes replayed",
+                (System.nanoTime() - started) / 1_000_000, size(), loading.floor, replayed);
+    }
+
+    /**
+     * Indexes newly created messages once the active transaction commits (immediately if there is none).
+     *
+     * @param created The created messages, with their IDs assigned.
+     */
+    public void messagesCreated(Collection<Message> created) {
+        List<MessageView> views = created.stream().map(MessageView::of).toList();
+        TransactionCallbacks.afterCommit(() -> change(index -> {
+            views.forEach(index::add);
+            index.evict();
+        }));
+    }
+
+    /**
+     * Replaces the text of an indexed message. Messages that are not indexed are ignored.
+     *
+     * @param messageId The updated message.
+     * @param newText   Its new text.
+     */
+    public void messageUpdated(Integer messageId, String newText) {
+        if (messageId != null) {
+            change(index -> index.update(messageId, newText));
+        }
+    }
+
+    /**
+     * Removes deleted messages from the index. IDs that are not indexed are ignored.
+     *
+     * @param messageIds The deleted messages.
+     */
+    public void messagesDeleted(Collection<Integer> messageIds) {
+        List<Integer> ids = messageIds.stream().filter(id -> id != null).toList();
+        change(index -> ids.forEach(index::remove));
+    }
+
+    /**
+     * Reads messages with since <= timePostedEpoch < until in ascending (timePostedEpoch, messageId) order,
+     * strictly after a position, if the index covers the range.
+     *
+     * @param since     The inclusive lower bound of the range.
+     * @param until     The exclusive upper bound of the range.
+     * @param epoch     The timePostedEpoch of the position to start after (at least since).
+     * @param messageId The messageId of the position to start after.
+     * @param max       The maximum number of messages to return.
+     * @return The messages, or null if part of the range is older than the index floor (the caller must query the table).
+     */
+    public List<MessageView> range(long since, long until, long epoch, int messageId, int max) {
+        lock.readLock().lock();
+        try {
+            if (index == null || since < index.floor) {
+                return null;
+            }
+            List<MessageView> result = new ArrayList<>(Math.min(max, 256));
+            for (Bucket bucket : index.buckets.tailMap(bucketOf(epoch), true).values()) {
+                for (int i = bucket.upperBound(epoch, messageId); i < bucket.size; i++) {
+                    MessageView view = bucket.items[i];
+                    if (view.timePostedEpoch() >= until || result.size() == max) {
+                        return result;
+                    }
+                    result.add(view);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index == null ? 0 : index.epochs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int bucketCount() {
+        lock.readLock().lock();
+        try {
+            return index == null ? 0 : index.buckets.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a change to the published index, or records it for the load to replay if there is none yet.
+     */
+    private void change(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            if (index == null) {
+                pending.add(change);
+            } else {
+                change.accept(index);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long bucketOf(long epoch) {
+        return Math.floorDiv(epoch, bucketSeconds);
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    /**
+     * The buckets, epochs and floor of one load of the index. Confined to the loading thread until published,
+     * then guarded by the lock.
+     */
+    private final class Index {
+        final TreeMap<Long, Bucket> buckets = new TreeMap<>();
+        final EpochTable epochs = new EpochTable();
+        long floor;
+
+        Index(long floor) {
+            this.floor = floor;
+        }
+
+        void add(MessageView view) {
+            Long epoch = view.timePostedEpoch();
+            if (view.messageId() == null || epoch == null || epoch < floor) {
+                return;
+            }
+            long previous = epochs.put(view.messageId(), epoch);
+            Bucket bucket = buckets.computeIfAbsent(bucketOf(epoch), key -> new Bucket());
+            int pos = bucket.lowerBound(epoch, view.messageId());
+            if (previous != NO_EPOCH) {
+                bucket.items[pos] = view; // Already indexed (a change replayed after the load saw it); the epoch never changes
+            } else {
+                bucket.insert(pos, view);
+            }
+        }
+
+        void update(int messageId, String newText) {
+            long epoch = epochs.get(messageId);
+            if (epoch != NO_EPOCH) {
+                Bucket bucket = buckets.get(bucketOf(epoch));
+                int pos = bucket.lowerBound(epoch, messageId);
+                MessageView old = bucket.items[pos];
+                bucket.items[pos] = new MessageView(old.messageId(), old.postedBy(), newText, old.timePostedEpoch());
+            }
+        }
+
+        void remove(int messageId) {
+            long epoch = epochs.remove(messageId);
+            if (epoch != NO_EPOCH) {
+                long key = bucketOf(epoch);
+                Bucket bucket = buckets.get(key);
+                bucket.remove(bucket.lowerBound(epoch, messageId));
+                if (bucket.size == 0) {
+                    buckets.remove(key);
+                }
+            }
+        }
+
+        /**
+         * Drops the buckets that fell out of the retention period, then the oldest ones while over max-messages.
+         */
+        void evict() {
+            long retainedFrom = bucketOf(nowSeconds() - retentionSeconds);
+            while (!buckets.isEmpty() && (buckets.firstKey() < retainedFrom || epochs.size() > maxMessages)) {
+                Map.Entry<Long, Bucket> oldest = buckets.pollFirstEntry();
+                Bucket bucket = oldest.getValue();
+                for (int i = 0; i < bucket.size; i++) {
+                    epochs.remove(bucket.items[i].messageId());
+                }
+                floor = Math.max(floor, (oldest.getKey() + 1) * bucketSeconds);
+            }
+            floor = Math.max(floor, retainedFrom * bucketSeconds);
+        }
+    }
+
+    /**
+     * Hash table from messageId to timePostedEpoch with primitive keys and values: open addressing with linear
+     * probing and backward-shift deletion, at most half full. A slot is free when its value is NO_EPOCH, which is
+     * never the epoch of an indexed message.
+     */
+    private static final class EpochTable {
+        private int[] keys = new int[64];
+        private long[] values = newValues(64);
+        private int size;
+
+        long get(int key) {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; values[i] != NO_EPOCH; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return NO_EPOCH;
+        }
+
+        /**
+         * @return The previous epoch, or NO_EPOCH if the key was absent.
+         */
+        long put(int key, long value) {
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            for (; values[i] != NO_EPOCH; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    long previous = values[i];
+                    values[i] = value;
+                    return previous;
+                }
+            }
+            keys[i] = key;
+            values[i] = value;
+            if (++size > keys.length / 2) {
+                resize();
+            }
+            return NO_EPOCH;
+        }
+
+        /**
+         * @return The removed epoch, or NO_EPOCH if the key was absent.
+         */
+        long remove(int key) {
+            int mask = keys.length - 1;
+            int gap = mix(key) & mask;
+            while (values[gap] != NO_EPOCH && keys[gap] != key) {
+                gap = (gap + 1) & mask;
+            }
+            long removed = values[gap];
+            if (removed == NO_EPOCH) {
+                return NO_EPOCH;
+            }
+            // Backward-shift: move later entries of the probe run into the gap, so lookups need no tombstones
+            for (int j = (gap + 1) & mask; values[j] != NO_EPOCH; j = (j + 1) & mask) {
+                int home = mix(keys[j]) & mask;
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            values[gap] = NO_EPOCH;
+            size--;
+            return removed;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = newValues(oldKeys.length * 2);
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != NO_EPOCH) {
+                    int j = mix(oldKeys[i]) & mask;
+                    while (values[j] != NO_EPOCH) {
+                        j = (j + 1) & mask;
+                    }
+                    keys[j] = oldKeys[i];
+                    values[j] = oldValues[i];
+                }
+            }
+        }
+
+        private static long[] newValues(int length) {
+            long[] values = new long[length];
+            Arrays.fill(values, NO_EPOCH);
+            return values;
+        }
+
+        private static int mix(int key) { // Murmur3 finalizer, as in StripedIntMap
+            int h = key;
+            h ^= h >>> 16;
+            h *= 0x85EBCA6B;
+            h ^= h >>> 13;
+            h *= 0xC2B2AE35;
+            h ^= h >>> 16;
+            return h;
+        }
+    }
+
+    /**
+     * The messages of one time bucket, in ascending (timePostedEpoch, messageId) order. New messages
+     * normally land at the end.
+     */
+    private static final class Bucket {
+        MessageView[] items = new MessageView[8];
+        int size;
+
+        void insert(int pos, MessageView view) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            System.arraycopy(items, pos, items, pos + 1, size - pos);
+            items[pos] = view;
+            size++;
+        }
+
+        void remove(int pos) {
+            System.arraycopy(items, pos + 1, items, pos, size - pos - 1);
+            items[--size] = null;
+        }
+
+        /**
+         * Finds the first index whose item is not before (epoch, messageId).
+         */
+        int lowerBound(long epoch, int messageId) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                MessageView m = items[mid];
+                if (m.timePostedEpoch() < epoch || (m.timePostedEpoch() == epoch && m.messageId() < messageId)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Finds the first index whose item is after (epoch, messageId).
+         */
+        int upperBound(long epoch, int messageId) {
+            int pos = lowerBound(epoch, messageId);
+            return pos < size && items[pos].timePostedEpoch() == epoch && items[pos].messageId() == messageId ? pos + 1 : pos;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.app.Service;
+
+import com.app.Dto.VersionStamp;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory version stamps for messages and per-account timelines, used to answer conditional GETs
+ * without reading or serializing anything.
+ *
+ * Both are striped arrays indexed by ID: a stripe holds the version of every ID that maps to it, so
+ * memory is fixed and a write to one ID may also change the ETag of another one in the same stripe
+ * (a spurious 200, never a wrong 304). Message stripes hold a counter; account stripes hold the
+ * last-modified time in epoch milliseconds. Consecutive timeline stamps are at least one second apart,
+ * so two writes never share a Last-Modified second (an account written more than once per second runs
+ * slightly ahead of the clock until the writes slow down).
+ *
+ * A change whose poster is unknown (a "jpa" update or delete of a message that was not cached) bumps one
+ * shared stamp that every timeline's Last-Modified includes, so all timelines look modified: a spurious 200
+ * for each, instead of a query to learn the owner.
+ *
+ * Stamps are bumped only once a write is visible to readers (after commit), and readers must take the
+ * stamp before running their query. A reader racing a write then sends an ETag that is already stale,
+ * which costs one extra 200 on the next poll. The reverse, caching new data under an old ETag, cannot
+ * happen. Nothing is persisted: ETags carry the startup time, and every timeline is treated as modified
+ * at startup.
+ */
+@Service
+public class MessageVersions {
+    private final AtomicLongArray messageStripes;
+    private final AtomicLongArray accountStripes;
+    // Stamp of changes by unknown posters, and the latest stamp given to any account stripe
+    private final AtomicLong unknownPoster = new AtomicLong();
+    private final AtomicLong latestAccount = new AtomicLong();
+    private final int messageMask;
+    private final int accountMask;
+    private final long startedAt;
+    private final String epoch;
+
+    public MessageVersions(@Value("${app.messages.versions.message-stripes:65536}") int messageStripes,
+                           @Value("${app.messages.versions.account-stripes:16384}") int accountStripes) {
+        int messageSize = Integer.highestOneBit(Math.max(1, messageStripes));
+        int accountSize = Integer.highestOneBit(Math.max(1, accountStripes));
+        this.messageStripes = new AtomicLongArray(messageSize);
+        this.accountStripes = new AtomicLongArray(accountSize);
+        this.messageMask = messageSize - 1;
+        this.accountMask = accountSize - 1;
+        // Rounded up to the next second, so no Last-Modified of this run can fall in a second seen before startup
+        this.startedAt = (System.currentTimeMillis() / 1000 + 1) * 1000;
+        this.epoch = Long.toString(startedAt / 1000, 36);
+    }
+
+    /**
+     * Gets the current validators of a single message (GET /messages/{messageId}).
+     *
+     * @param messageId The message ID.
+     * @return The message's ETag; messages carry no last-modified time.
+     */
+    public VersionStamp messageVersion(int messageId) {
+        return new VersionStamp(eTag(messageStripes.get(messageId & messageMask)), -1);
+    }
+
+    /**
+     * Gets the current validators of an account's timeline (GET /accounts/{accountId}/messages).
+     *
+     * @param accountId The account ID.
+     * @return The timeline's ETag and last-modified time.
+     */
+    public VersionStamp timelineVersion(int accountId) {
+        long lastModified = Math.max(startedAt, Math.max(accountStripes.get(accountId & accountMask), unknownPoster.get()));
+        return new VersionStamp(eTag(lastModified), lastModified);
+    }
+
+    /**
+     * Records a change to one message and to its poster's timeline (every timeline if the poster is
+     * unknown), once the active transaction commits (immediately if there is none).
+     *
+     * @param messageId The ID of the message that was created, updated or deleted.
+     * @param postedBy  The ID of the account that posted it, or null if unknown.
+     */
+    public void messageChanged(Integer messageId, Integer postedBy) {
+        TransactionCallbacks.afterCommit(() -> {
+            bumpMessage(messageId);
+            bumpTimeline(postedBy);
+        });
+    }
+
+    /**
+     * Records a change to several messages and to the timelines of their posters, once the active
+     * transaction commits (immediately if there is none).
+     *
+     * @param messageIds The IDs of the messages that were created, updated or deleted.
+     * @param posters    The IDs of the accounts whose timelines changed; a null entry stands for unknown posters.
+     */
+    public void messagesChanged(Collection<Integer> messageIds, Collection<Integer> posters) {
+        TransactionCallbacks.afterCommit(() -> {
+            messageIds.forEach(this::bumpMessage);
+            posters.forEach(this::bumpTimeline);
+        });
+    }
+
+    private void bumpMessage(Integer messageId) {
+        if (messageId != null) {
+            messageStripes.incrementAndGet(messageId & messageMask);
+        }
+    }
+
+    private void bumpTimeline(Integer accountId) {
+        long now = System.currentTimeMillis();
+        if (accountId != null) {
+            // Past the unknown-poster stamp too, so the timeline's Last-Modified (the larger of both) moves
+            long stamp = accountStripes.accumulateAndGet(accountId & accountMask, now,
+                    (previous, time) -> nextStamp(Math.max(previous, unknownPoster.get()), time));
+            latestAccount.accumulateAndGet(stamp, Math::max);
+        } else {
+            // Past every account stripe, so every timeline's Last-Modified moves
+            unknownPoster.accumulateAndGet(now, (previous, time) -> nextStamp(Math.max(previous, latestAccount.get()), time));
+        }
+    }
+
+    private long nextStamp(long previous, long now) {
+        return Math.max(now, Math.max(previous, startedAt) + 1000);
+    }
+
+    private String eTag(long version) {
+        return "W/\"" + epoch + "-" + Long.toString(version, 36) + "\"";
+    }
+}
@@ -0,0 +1,225 @@
+package com.app.Service;
+
+import com.app.Entity.Message;
+import com.app.Exception.MessageQueueFullException;
+import com.app.Exception.MessageWriteFailedException;
+import com.app.Repository.MessageStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional write-behind buffer for message creation (group commit).
+ *
+ * When enabled ("app.messages.write-behind.enabled=true"), validated messages get their ID
+ * immediately and are put on a bounded in-memory queue. A single writer thread collects
+ * queued messages until either "max-batch" messages have arrived or "flush-interval-ms"
+ * has passed since the first one, then inserts them all in one transaction.
+ *
+ * Trade-off: a message is acknowledged before it is durable, so it can be lost if the process
+ * dies before the next flush, and it is not visible to reads until then. Callers that need
+ * durability can wait on the returned future. When the queue is full, enqueue waits at most
+ * "offer-timeout-ms" and then rejects the message with MessageQueueFullException.
+ *
+ * Offers hold the read side of "acceptLock" and stopping takes the write side, so once the queue stops
+ * accepting, every message that made it in is still drained by the writer. A message the writer could not
+ * flush before exiting has its future completed with MessageWriteFailedException, never left pending.
+ */
+@Service
+public class MessageWriteBehindQueue {
+    private static final Logger log = LoggerFactory.getLogger(MessageWriteBehindQueue.class);
+
+    /**
+     * A message waiting to be flushed, with the future completed once it is committed.
+     */
+    private record PendingMessage(Message message, CompletableFuture<Void> durable) {
+    }
+
+    private final MessageStore messageStore;
+    private final MessageCache messageCache;
+    private final boolean enabled;
+    private final BlockingQueue<PendingMessage> queue;
+    private final long flushIntervalNanos;
+    private final int maxBatch;
+    private final long offerTimeoutMillis;
+    private final Thread writer;
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+
+    public MessageWriteBehindQueue(MessageStore messageStore, MessageCache messageCache,
+                                   @Value("${app.messages.write-behind.enabled:false}") boolean enabled,
+                                   @Value("${app.messages.write-behind.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${app.messages.write-behind.flush-interval-ms:10}") long flushIntervalMillis,
+                                   @Value("${app.messages.write-behind.max-batch:500}") int maxBatch,
+                                   @Value("${app.messages.write-behind.offer-timeout-ms:50}") long offerTimeoutMillis) {
+        this.messageStore = messageStore;
+        this.messageCache = messageCache;
+        this.enabled = enabled;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.maxBatch = maxBatch;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+
+        if (enabled) {
+            this.running = true;
+            this.writer = new Thread(this::writeLoop, "message-write-behind");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Tells whether message creation should go through this queue.
+     *
+     * @return true if write-behind mode is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Assigns an ID to an already validated message and queues it for the next group commit.
+     *
+     * @param message The validated message; its messageId is set in place.
+     * @return A future completed once the message is committed, or completed with MessageWriteFailedException if
+     *         it could not be.
+     * @throws MessageQueueFullException If the queue stays full for longer than the offer timeout.
+     */
+    public CompletableFuture<Void> enqueue(Message message) {
+        message.setMessageId(null); // IDs are always assigned by the server
+        messageStore.allocateIds(List.of(message));
+
+        PendingMessage pending = new PendingMessage(message, new CompletableFuture<>());
+        acceptLock.readLock().lock();
+        try {
+            if (!running || !queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new MessageQueueFullException(""); // "Too many pending messages, retry later."
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessageQueueFullException("");
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+        return pending.durable();
+    }
+
+    /**
+     * Gets the number of messages waiting to be flushed.
+     *
+     * @return The current queue length.
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting messages and flushes everything still queued before the application shuts down.
+     *
+     * @throws InterruptedException If interrupted while waiting for the writer thread.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        stopAccepting();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (writer.isAlive()) {
+            // The writer is stuck in a flush; whatever it has not taken yet will not be written
+            List<PendingMessage> leftover = new ArrayList<>();
+            queue.drainTo(leftover);
+            log.error("Write-behind writer did not finish in time; {} queued messages were not persisted", leftover.size());
+            for (PendingMessage pending : leftover) {
+                pending.durable().completeExceptionally(new MessageWriteFailedException(""));
+            }
+        }
+    }
+
+    /**
+     * Stops accepting messages. Waits for offers already in progress, so none lands after the writer has drained.
+     */
+    private void stopAccepting() {
+        acceptLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writer thread body: waits for a first message, gathers more until the batch is full or the
+     * flush interval has elapsed, and commits them together.
+     */
+    private void writeLoop() {
+        List<PendingMessage> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingMessage next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutting down; whatever was gathered is still flushed below
+                stopAccepting();
+                queue.drainTo(batch);
+            }
+            flush(batch);
+            batch.clear();
+        }
+        // Not accepting any more (see stopAccepting), so nothing can be queued after this last drain
+        queue.drainTo(batch);
+        flush(batch);
+    }
+
+    /**
+     * Inserts a gathered batch in one transaction and completes the waiting futures.
+     *
+     * @param batch The pending messages to commit.
+     */
+    private void flush(List<PendingMessage> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Message> messages = new ArrayList<>(batch.size());
+        for (PendingMessage pending : batch) {
+            messages.add(pending.message());
+        }
+        try {
+            messageStore.insertPreallocated(messages);
+            messageCache.invalidateAll(messages.stream().map(Message::getMessageId).toList());
+            for (PendingMessage pending : batch) {
+                pending.durable().complete(null);
+            }
+        } catch (RuntimeException e) {
+            log.error("Write-behind flush of {} messages failed; they were not persisted", batch.size(), e);
+            for (PendingMessage pending : batch) {
+                pending.durable().completeExceptionally(new MessageWriteFailedException(""));
+            }
+        }
+    }
+}
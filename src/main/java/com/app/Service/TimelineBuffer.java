@@ -0,0 +1,160 @@
+package com.app.Service;
+
+import com.app.Dto.MessageView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Bounded, sorted in-memory timeline: the newest "capacity" messages of a feed or of one account.
+ *
+ * Entries are kept in ascending (timePostedEpoch, messageId) order. New messages normally land at the
+ * end (an append), out-of-order ones are inserted in place, and once the buffer is full the oldest
+ * entry is dropped. Reads return the newest live entries before a position in O(log capacity + page).
+ *
+ * A buffer is registered before it is hydrated from the database, so messages created during
+ * hydration are delivered to it by fan-out and found again by the query; add() ignores the duplicate.
+ *
+ * The entry array starts at INITIAL_LENGTH and doubles up to "capacity" as entries arrive, so the buffers
+ * of accounts with short feeds stay small.
+ */
+final class TimelineBuffer {
+    private static final int INITIAL_LENGTH = 16;
+
+    private final int capacity;
+    private Entry[] items;
+    private int size;
+    private volatile boolean hydrated;
+    private final Object hydrationLock = new Object();
+
+    TimelineBuffer(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.items = new Entry[Math.min(this.capacity, INITIAL_LENGTH)];
+    }
+
+    /**
+     * One message held by timeline buffers. A single instance per message is shared by every buffer
+     * that holds it, so updates and deletes reach all of them at once.
+     */
+    static final class Entry {
+        final int messageId;
+        final long epoch;
+        private volatile MessageView view;
+
+        Entry(MessageView view) {
+            this.messageId = view.messageId();
+            this.epoch = epochOf(view);
+            this.view = view;
+        }
+
+        /**
+         * Gets the current state of the message.
+         *
+         * @return The message, or null once it has been deleted.
+         */
+        MessageView view() {
+            return view;
+        }
+
+        void set(MessageView view) {
+            this.view = view;
+        }
+
+        /**
+         * Ordering key of messages without a timestamp: they sort before every timestamped message,
+         * as NULLs do in the newest-first database queries.
+         */
+        static long epochOf(MessageView view) {
+            return view.timePostedEpoch() != null ? view.timePostedEpoch() : Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Inserts an entry in order, dropping the oldest entry if the buffer is full.
+     * An entry already present (same messageId) is ignored, as is one older than everything in a full buffer.
+     *
+     * @param entry The entry to insert.
+     */
+    synchronized void add(Entry entry) {
+        int pos = lowerBound(entry.epoch, entry.messageId);
+        if (pos < size && items[pos].messageId == entry.messageId) {
+            return;
+        }
+        if (size == capacity) {
+            if (pos == 0) {
+                return;
+            }
+            System.arraycopy(items, 1, items, 0, pos - 1);
+            items[pos - 1] = entry;
+            return;
+        }
+        if (size == items.length) {
+            items = Arrays.copyOf(items, Math.min(capacity, size * 2));
+        }
+        System.arraycopy(items, pos, items, pos + 1, size - pos);
+        items[pos] = entry;
+        size++;
+    }
+
+    /**
+     * Collects the newest live (not deleted) entries strictly before a position, newest first.
+     *
+     * @param epoch     The timePostedEpoch of the position.
+     * @param messageId The messageId of the position.
+     * @param max       The maximum number of entries to return.
+     * @return Up to max entries in descending (timePostedEpoch, messageId) order.
+     */
+    synchronized List<Entry> newestBefore(long epoch, int messageId, int max) {
+        List<Entry> result = new ArrayList<>(Math.min(max, size));
+        for (int i = lowerBound(epoch, messageId) - 1; i >= 0 && result.size() < max; i--) {
+            if (items[i].view() != null) {
+                result.add(items[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fills the buffer from the database once. Runs the loader at most once at a time per buffer and
+     * never while holding the buffer itself, so fan-out keeps flowing during the query.
+     *
+     * @param loader Clears the buffer and adds every entry read from the database; returns true if
+     *               the result can be trusted, false if a concurrent write may have made it stale
+     *               (the next read hydrates again).
+     */
+    void hydrate(Predicate<TimelineBuffer> loader) {
+        if (hydrated) {
+            return;
+        }
+        synchronized (hydrationLock) {
+            if (!hydrated) {
+                hydrated = loader.test(this);
+            }
+        }
+    }
+
+    synchronized void clear() {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Finds the first index whose entry is not before (epoch, messageId).
+     */
+    private int lowerBound(long epoch, int messageId) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Entry e = items[mid];
+            if (e.epoch < epoch || (e.epoch == epoch && e.messageId < messageId)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,264 @@
+package com.app.Service;
+
+import com.app.Dto.TrendingHashtag;
+import com.app.Entity.Message;
+import com.app.Exception.InvalidTrendingWindowException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Approximate hashtag counts over sliding windows (5 minutes, 1 hour, 24 hours), for GET /trending.
+ *
+ * Each window is a ring of time buckets (5 x 1 min, 12 x 5 min, 24 x 1 h), and each bucket is a count-min
+ * sketch: "depth" rows of "width" counters. A hashtag increments one counter per row in the current bucket,
+ * and its count over a window is the minimum, across rows, of that row's counters summed over the live
+ * buckets. Estimates never undercount; they overcount by at most 2N/width with high probability, N being
+ * the number of hashtags in the window. A window therefore covers between its length minus one bucket
+ * and its full length.
+ *
+ * Each window also keeps a fixed table of heavy-hitter candidates. A hashtag can claim one of two slots
+ * chosen by its hash when its estimate beats the current occupant's. A query re-estimates every candidate
+ * and returns the top k, so its cost depends only on the table size.
+ *
+ * Updates take no locks: counters are AtomicLongArray increments, expired buckets and displaced candidates
+ * are replaced with compareAndSet. Memory is fixed by width, depth and the candidate count, however many
+ * distinct hashtags appear.
+ */
+@Service
+public class TrendingHashtags {
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+    private static final Pattern HASHTAG = Pattern.compile("#([\\p{L}\\p{N}_]{1,64})");
+
+    private final Map<String, Window> windows = new LinkedHashMap<>();
+    private final int width;
+    private final int depth;
+
+    public TrendingHashtags(@Value("${app.trending.sketch-width:2048}") int width,
+                            @Value("${app.trending.sketch-depth:4}") int depth,
+                            @Value("${app.trending.candidates:256}") int candidates) {
+        this.width = Integer.highestOneBit(Math.max(2, width));
+        this.depth = Math.max(1, depth);
+        int slots = Math.max(2 * MAX_LIMIT, candidates);
+        windows.put("5m", new Window(60_000L, 5, slots));
+        windows.put("1h", new Window(300_000L, 12, slots));
+        windows.put("24h", new Window(3_600_000L, 24, slots));
+    }
+
+    /**
+     * Counts the hashtags of newly created messages once the active transaction commits (immediately if there is none).
+     * A hashtag repeated within one message is counted once.
+     *
+     * @param created The created messages.
+     */
+    public void messagesCreated(Collection<Message> created) {
+        List<Set<String>> tagsPerMessage = new ArrayList<>(created.size());
+        for (Message message : created) {
+            Set<String> tags = extract(message.getMessageText());
+            if (!tags.isEmpty()) {
+                tagsPerMessage.add(tags);
+            }
+        }
+        if (!tagsPerMessage.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> {
+                long now = System.currentTimeMillis();
+                for (Set<String> tags : tagsPerMessage) {
+                    for (String tag : tags) {
+                        add(tag, now);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Gets the top hashtags of every window, or of a single one.
+     *
+     * @param window "5m", "1h", "24h", or null for all three.
+     * @param limit  The number of hashtags per window, or null for DEFAULT_LIMIT. Clamped to [1, MAX_LIMIT].
+     * @return The top hashtags (most frequent first) keyed by window, in the order 5m, 1h, 24h.
+     * @throws InvalidTrendingWindowException If the window is not one of the supported ones.
+     */
+    public Map<String, List<TrendingHashtag>> top(String window, Integer limit) {
+        int k = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        long now = System.currentTimeMillis();
+        Map<String, List<TrendingHashtag>> result = new LinkedHashMap<>();
+        if (window == null) {
+            windows.forEach((name, w) -> result.put(name, w.top(k, now)));
+            return result;
+        }
+        Window w = windows.get(window);
+        if (w == null) {
+            throw new InvalidTrendingWindowException(""); // "Window must be one of 5m, 1h or 24h."
+        }
+        result.put(window, w.top(k, now));
+        return result;
+    }
+
+    /**
+     * Extracts the distinct hashtags of a text: "#" followed by letters, digits or underscores, lowercased, without the "#".
+     *
+     * @param text The message text (may be null).
+     * @return The hashtags in order of first appearance.
+     */
+    static Set<String> extract(String text) {
+        if (text == null || text.indexOf('#') < 0) {
+            return Set.of();
+        }
+        Set<String> tags = new LinkedHashSet<>();
+        Matcher m = HASHTAG.matcher(text);
+        while (m.find()) {
+            tags.add(m.group(1).toLowerCase(Locale.ROOT));
+        }
+        return tags;
+    }
+
+    private void add(String tag, long now) {
+        long hash = Hashing.hash64(tag);
+        for (Window w : windows.values()) {
+            w.add(tag, hash, now);
+        }
+    }
+
+    /**
+     * One count-min sketch covering a single time bucket.
+     */
+    private final class Bucket {
+        final long index;
+        final AtomicLongArray counters = new AtomicLongArray(width * depth);
+
+        Bucket(long index) {
+            this.index = index;
+        }
+    }
+
+    /**
+     * A heavy-hitter candidate; replaced as a whole, never mutated.
+     */
+    private record Candidate(String tag, long hash) {
+    }
+
+    /**
+     * A sliding window: a ring of buckets plus its heavy-hitter candidates.
+     */
+    private final class Window {
+        final long bucketMillis;
+        final AtomicReferenceArray<Bucket> ring;
+        final AtomicReferenceArray<Candidate> candidates;
+
+        Window(long bucketMillis, int buckets, int slots) {
+            this.bucketMillis = bucketMillis;
+            this.ring = new AtomicReferenceArray<>(buckets);
+            this.candidates = new AtomicReferenceArray<>(slots);
+        }
+
+        void add(String tag, long hash, long now) {
+            long index = now / bucketMillis;
+            Bucket bucket = current(index);
+            long h2 = Hashing.mix64(hash ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int row = 0; row < depth; row++) {
+                bucket.counters.incrementAndGet(row * width + column(hash, h2, row));
+            }
+            offer(new Candidate(tag, hash), index);
+        }
+
+        /**
+         * Returns the bucket for a time index, replacing the expired bucket in its ring slot if needed.
+         */
+        Bucket current(long index) {
+            int slot = (int) Math.floorMod(index, (long) ring.length());
+            while (true) {
+                Bucket bucket = ring.get(slot);
+                if (bucket != null && bucket.index >= index) {
+                    return bucket; // A writer with a stale clock adds to the newer bucket
+                }
+                if (ring.compareAndSet(slot, bucket, new Bucket(index))) {
+                    return ring.get(slot);
+                }
+            }
+        }
+
+        /**
+         * Lets a hashtag claim one of its two candidate slots if it is estimated above the occupant.
+         */
+        void offer(Candidate candidate, long index) {
+            int slots = candidates.length();
+            int first = (int) Math.floorMod(candidate.hash(), (long) slots);
+            int second = (int) Math.floorMod(Hashing.mix64(candidate.hash()), (long) slots);
+            Candidate a = candidates.get(first);
+            Candidate b = candidates.get(second);
+            if ((a != null && a.tag().equals(candidate.tag())) || (b != null && b.tag().equals(candidate.tag()))) {
+                return; // Already a candidate; its count lives in the sketch
+            }
+            for (int slot : new int[] {first, second}) {
+                Candidate occupant = candidates.get(slot);
+                if (occupant == null) {
+                    if (candidates.compareAndSet(slot, null, candidate)) {
+                        return;
+                    }
+                    occupant = candidates.get(slot);
+                }
+                if (occupant != null && estimate(candidate.hash(), index) > estimate(occupant.hash(), index)) {
+                    candidates.compareAndSet(slot, occupant, candidate);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Estimates a hashtag's count over the live buckets of the window ending at a time index.
+         */
+        long estimate(long hash, long index) {
+            long h2 = Hashing.mix64(hash ^ 0x9E3779B97F4A7C15L) | 1;
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                int counter = row * width + column(hash, h2, row);
+                long sum = 0;
+                for (int slot = 0; slot < ring.length(); slot++) {
+                    Bucket bucket = ring.get(slot);
+                    if (bucket != null && bucket.index > index - ring.length() && bucket.index <= index) {
+                        sum += bucket.counters.get(counter);
+                    }
+                }
+                min = Math.min(min, sum);
+            }
+            return min;
+        }
+
+        List<TrendingHashtag> top(int k, long now) {
+            long index = now / bucketMillis;
+            List<TrendingHashtag> ranked = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (int slot = 0; slot < candidates.length(); slot++) {
+                Candidate candidate = candidates.get(slot);
+                if (candidate != null && seen.add(candidate.tag())) {
+                    long count = estimate(candidate.hash(), index);
+                    if (count > 0) {
+                        ranked.add(new TrendingHashtag(candidate.tag(), count));
+                    }
+                }
+            }
+            ranked.sort(Comparator.comparingLong(TrendingHashtag::count).reversed().thenComparing(TrendingHashtag::tag));
+            return ranked.size() <= k ? ranked : List.copyOf(ranked.subList(0, k));
+        }
+    }
+
+    private int column(long hash, long h2, int row) {
+        return (int) ((hash + row * h2) & (width - 1));
+    }
+}
@@ -0,0 +1,172 @@
+package com.app.Service;
+
+import com.app.Repository.AccountStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over every registered username, used to skip the database when a name is certainly free.
+ *
+ * A "no" from mightContain is definite; a "yes" may be a false positive and must be confirmed
+ * against the account table (and, ultimately, its unique constraint). The filter is sized for
+ * "expected-usernames" entries at the "false-positive-rate" target, is filled from the account
+ * table once the application is ready, and is updated on every registration. Bits are set with
+ * atomic OR operations, so adds and lookups never block each other.
+ *
+ * Until the initial fill has finished, mightContain answers "yes" for every name, so lookups fall
+ * back to the database instead of trusting an incomplete filter.
+ *
+ * The filter only learns of registrations made through this process. With several nodes sharing one
+ * database, an account registered on another node is "definitely absent" here, so it cannot log in on
+ * this node (401) until this node restarts and reloads the filter. Multi-node deployments need the
+ * registrations of every node fed to add (or a periodic populate) before relying on it.
+ *
+ * Metrics: usernames.filter.checks (result=absent|maybe_present), usernames.filter.false_positives,
+ * and the gauges usernames.filter.fpp.observed and usernames.filter.fpp.estimated.
+ */
+@Service
+public class UsernameFilter {
+    private static final Logger log = LoggerFactory.getLogger(UsernameFilter.class);
+
+    private final AccountStore accountStore;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder bitsSet = new LongAdder();
+    private final Counter absentChecks;
+    private final Counter maybePresentChecks;
+    private final Counter falsePositives;
+    private volatile boolean ready;
+
+    public UsernameFilter(AccountStore accountStore, MeterRegistry meterRegistry,
+                          @Value("${app.accounts.username-filter.expected-usernames:1000000}") long expectedUsernames,
+                          @Value("${app.accounts.username-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.accountStore = accountStore;
+
+        // Standard Bloom filter sizing: m = -n ln(p) / (ln 2)^2 bits and k = (m / n) ln 2 hash functions
+        long n = Math.max(1, expectedUsernames);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+
+        this.absentChecks = Counter.builder("usernames.filter.checks").tag("result", "absent")
+                .description("Username lookups answered as definitely absent by the Bloom filter")
+                .register(meterRegistry);
+        this.maybePresentChecks = Counter.builder("usernames.filter.checks").tag("result", "maybe_present")
+                .description("Username lookups the Bloom filter passed on to the database")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("usernames.filter.false_positives")
+                .description("Lookups the filter passed on that the database then reported as absent")
+                .register(meterRegistry);
+        Gauge.builder("usernames.filter.fpp.observed", this, UsernameFilter::observedFalsePositiveRate)
+                .description("False positives divided by all lookups of absent usernames")
+                .register(meterRegistry);
+        Gauge.builder("usernames.filter.fpp.estimated", this, UsernameFilter::estimatedFalsePositiveRate)
+                .description("False-positive probability implied by the current fill ratio of the filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads every existing username into the filter. Runs once the application (and data.sql) is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void populate() {
+        long loaded = 0;
+        try (Stream<String> usernames = accountStore.streamAllUsernames()) {
+            for (String username : (Iterable<String>) usernames::iterator) {
+                add(username);
+                loaded++;
+            }
+        }
+        ready = true;
+        log.info("Username filter loaded {} usernames ({} bits, {} hash functions)", loaded, bitCount, hashCount);
+    }
+
+    /**
+     * Records a username in the filter. Safe to call concurrently with lookups and with populate.
+     *
+     * @param username The registered username.
+     */
+    public void add(String username) {
+        long hash = Hashing.hash64(username);
+        long h1 = hash;
+        long h2 = Hashing.mix64(hash ^ 0x9E3779B97F4A7C15L) | 1; // Odd second hash so the probe sequence covers the table
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long previous = bits.getAndAccumulate(word, mask, (current, m) -> current | m);
+            if ((previous & mask) == 0) {
+                bitsSet.increment();
+            }
+        }
+    }
+
+    /**
+     * Tells whether a username might be registered.
+     *
+     * @param username The username to check.
+     * @return false if the username is definitely not registered, true if it might be.
+     */
+    public boolean mightContain(String username) {
+        if (!ready) {
+            return true;
+        }
+        long hash = Hashing.hash64(username);
+        long h1 = hash;
+        long h2 = Hashing.mix64(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                absentChecks.increment();
+                return false;
+            }
+        }
+        maybePresentChecks.increment();
+        return true;
+    }
+
+    /**
+     * Records that a username the filter passed on turned out not to exist in the database.
+     */
+    public void recordFalsePositive() {
+        if (ready) {
+            falsePositives.increment();
+        }
+    }
+
+    /**
+     * Computes the observed false-positive rate: false positives / (false positives + definite negatives).
+     *
+     * @return The observed rate, or 0 if no absent username has been checked yet.
+     */
+    private double observedFalsePositiveRate() {
+        double fp = falsePositives.count();
+        double negatives = fp + absentChecks.count();
+        return negatives == 0 ? 0.0 : fp / negatives;
+    }
+
+    /**
+     * Computes the theoretical false-positive probability from the fraction of bits set: (set / m)^k.
+     *
+     * @return The estimated false-positive probability.
+     */
+    private double estimatedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.sum() / bitCount, hashCount);
+    }
+}
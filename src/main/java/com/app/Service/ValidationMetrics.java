@@ -0,0 +1,29 @@
+package com.app.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers for the validation phase of writes (app.validation), shared by the services.
+ */
+final class ValidationMetrics {
+
+    private ValidationMetrics() {
+    }
+
+    /**
+     * Registers the timer for the validation phase of one kind of write: the checks of the input itself.
+     * Existence lookups (poster exists, username free) may reach the database and are not included; their
+     * time shows up under spring.data.repository.invocations.
+     *
+     * @param meterRegistry The registry to register with.
+     * @param operation     The value of the "operation" tag, e.g. "message.create".
+     * @return The timer.
+     */
+    static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("app.validation")
+                .description("Time spent checking input before a write, excluding existence lookups")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -1,3 +1,4 @@
+drop table if exists follow;
 drop table if exists message;
 drop table if exists account;
 create table account (
@@ -12,6 +13,19 @@ create table message (
     timePostedEpoch bigint,
     foreign key (postedBy) references account(accountId)
 );
+-- Per-user timelines are read newest-first and paged by (timePostedEpoch, messageId)
+create index message_postedBy_time_idx on message (postedBy, timePostedEpoch desc, messageId desc);
+-- Time-range reads (GET /messages?since=&until=) scan forward by (timePostedEpoch, messageId)
+create index message_time_idx on message (timePostedEpoch, messageId);
+-- Follow graph: the primary key answers "whom does X follow", the index "who follows X" (used for fan-out)
+create table follow (
+    followerId int not null,
+    followeeId int not null,
+    primary key (followerId, followeeId),
+    foreign key (followerId) references account(accountId),
+    foreign key (followeeId) references account(accountId)
+);
+create index follow_followee_idx on follow (followeeId, followerId);
 
 -- Starting test values with ids of 9999 to avoid test issues
 insert into account values (9999, 'testuser1', 'password');
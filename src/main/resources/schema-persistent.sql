@@ -0,0 +1,28 @@
+-- Schema of the "persistent" profile (application-persistent.properties). Runs on every boot and only creates
+-- what is missing, so existing data is never dropped. Keep it in step with data.sql.
+create table if not exists account (
+    accountId int primary key auto_increment,
+    username varchar(255) not null unique,
+    password varchar(255)
+);
+create table if not exists message (
+    messageId int primary key auto_increment,
+    postedBy int,
+    messageText varchar(255),
+    timePostedEpoch bigint,
+    foreign key (postedBy) references account(accountId)
+);
+create index if not exists message_postedBy_time_idx on message (postedBy, timePostedEpoch desc, messageId desc);
+create index if not exists message_time_idx on message (timePostedEpoch, messageId);
+create table if not exists follow (
+    followerId int not null,
+    followeeId int not null,
+    primary key (followerId, followeeId),
+    foreign key (followerId) references account(accountId),
+    foreign key (followeeId) references account(accountId)
+);
+create index if not exists follow_followee_idx on follow (followeeId, followerId);
+-- ID generators of the Account and Message entities (Hibernate does not manage the schema in this profile).
+-- Blocks of 50 IDs, matching the entities' default allocation size.
+create sequence if not exists account_seq start with 1 increment by 50;
+create sequence if not exists message_seq start with 1 increment by 50;
@@ -0,0 +1,173 @@
+package com.app;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+
+import com.app.Entity.Message;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * This test class verifies conditional GETs (ETag / Last-Modified) on GET /messages/{message_id}
+ * and GET /accounts/{account_id}/messages, and gzip compression of large list responses.
+ *
+ * Scenarios covered:
+ * - A matching If-None-Match is answered with 304, and a write to the message changes its ETag
+ * - A timeline's ETag and Last-Modified change when the user posts a message
+ * - Deleting a cached message changes only its poster's timeline; deleting one that is not cached (poster
+ *   unknown without another query) changes every timeline
+ * - Large list bodies are gzip-compressed when the client accepts it, with the same JSON inside
+ */
+public class ConditionalGetTest {
+	ApplicationContext app;
+    HttpClient webClient;
+    ObjectMapper objectMapper;
+
+    /**
+     * Sets up the test environment before each test.
+     * 
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        objectMapper = new ObjectMapper();
+        String[] args = new String[] {};
+        app = SpringApplication.run(SocialMediaApp.class, args);
+        Thread.sleep(500);
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     * 
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+    }
+
+    /**
+     * Fetches a message, revalidates it with its ETag (304 with an empty body), then updates it
+     * and revalidates again (200 with the new text and a different ETag).
+     */
+    @Test
+    public void getMessageNotModifiedUntilUpdated() throws IOException, InterruptedException {
+        HttpResponse<String> first = webClient.send(get("/messages/9999").build(), HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(200, first.statusCode());
+        String eTag = first.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> revalidated = webClient.send(get("/messages/9999").header("If-None-Match", eTag).build(),
+                HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(304, revalidated.statusCode());
+        Assertions.assertEquals("", revalidated.body());
+        Assertions.assertEquals(eTag, revalidated.headers().firstValue("ETag").orElseThrow());
+
+        HttpRequest update = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/9999"))
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"messageText\":\"changed\"}"))
+                .header("Content-Type", "application/json")
+                .build();
+        Assertions.assertEquals(200, webClient.send(update, HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        HttpResponse<String> changed = webClient.send(get("/messages/9999").header("If-None-Match", eTag).build(),
+                HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(200, changed.statusCode());
+        Assertions.assertNotEquals(eTag, changed.headers().firstValue("ETag").orElseThrow());
+        Assertions.assertEquals("changed", objectMapper.readValue(changed.body(), Message.class).getMessageText());
+    }
+
+    /**
+     * Revalidates a user's timeline with If-None-Match and with If-Modified-Since (304 both times),
+     * then posts a message as that user: both validators now report the timeline as modified.
+     */
+    @Test
+    public void getTimelineNotModifiedUntilUserPosts() throws IOException, InterruptedException {
+        HttpResponse<String> first = webClient.send(get("/accounts/9999/messages").build(), HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(200, first.statusCode());
+        String eTag = first.headers().firstValue("ETag").orElseThrow();
+        String lastModified = first.headers().firstValue("Last-Modified").orElseThrow();
+
+        Assertions.assertEquals(304, webClient.send(get("/accounts/9999/messages").header("If-None-Match", eTag).build(),
+                HttpResponse.BodyHandlers.ofString()).statusCode());
+        Assertions.assertEquals(304, webClient.send(get("/accounts/9999/messages").header("If-Modified-Since", lastModified).build(),
+                HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        HttpRequest post = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"postedBy\":9999,\"messageText\":\"new\",\"timePostedEpoch\":1669947793}"))
+                .header("Content-Type", "application/json")
+                .build();
+        Assertions.assertEquals(200, webClient.send(post, HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        HttpResponse<String> byETag = webClient.send(get("/accounts/9999/messages").header("If-None-Match", eTag).build(),
+                HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(200, byETag.statusCode());
+        Assertions.assertTrue(byETag.body().contains("\"messageText\":\"new\""));
+        Assertions.assertEquals(200, webClient.send(get("/accounts/9999/messages").header("If-Modified-Since", lastModified).build(),
+                HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    /**
+     * Deletes message 9999 after reading it (so its poster is known from the cache), then message 9997 without
+     * reading it first.
+     */
+    @Test
+    public void deletesChangeTimelinesOfKnownOrAllPosters() throws IOException, InterruptedException {
+        String poster = timelineETag(9999);
+        String other = timelineETag(9996);
+        Assertions.assertEquals(200, webClient.send(get("/messages/9999").build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        Assertions.assertEquals("1", webClient.send(get("/messages/9999").DELETE().build(), HttpResponse.BodyHandlers.ofString()).body());
+        Assertions.assertNotEquals(poster, timelineETag(9999));
+        Assertions.assertEquals(other, timelineETag(9996));
+
+        Assertions.assertEquals("1", webClient.send(get("/messages/9997").DELETE().build(), HttpResponse.BodyHandlers.ofString()).body());
+        Assertions.assertNotEquals(other, timelineETag(9996));
+    }
+
+    /**
+     * Requests a full page of messages with "Accept-Encoding: gzip" and checks that the body is
+     * compressed and decompresses to the same JSON as the uncompressed response.
+     */
+    @Test
+    public void largeListIsCompressed() throws IOException, InterruptedException {
+        HttpResponse<String> plain = webClient.send(get("/messages?limit=1000").build(), HttpResponse.BodyHandlers.ofString());
+        HttpResponse<byte[]> gzipped = webClient.send(get("/messages?limit=1000").header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        Assertions.assertEquals(200, gzipped.statusCode());
+        Assertions.assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(""));
+
+        String json;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+            json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        TypeReference<List<Message>> messages = new TypeReference<>() {};
+        Assertions.assertEquals(objectMapper.readValue(plain.body(), messages), objectMapper.readValue(json, messages));
+        Assertions.assertTrue(gzipped.body().length < json.length());
+    }
+
+    private String timelineETag(int accountId) throws IOException, InterruptedException {
+        return webClient.send(get("/accounts/" + accountId + "/messages").build(), HttpResponse.BodyHandlers.ofString())
+                .headers().firstValue("ETag").orElseThrow();
+    }
+
+    private static HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder().uri(URI.create("http://localhost:8080" + path));
+    }
+}
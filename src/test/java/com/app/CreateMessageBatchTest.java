@@ -0,0 +1,128 @@
+package com.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+
+import com.app.Entity.Message;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Integration tests for the bulk message creation endpoint of the application.
+ */
+public class CreateMessageBatchTest {
+	ApplicationContext app;
+    HttpClient webClient;
+    ObjectMapper objectMapper;
+
+    /**
+     * Sets up the test environment before each test by starting the Spring Boot application
+     * and initializing HTTP client and JSON object mapper.
+     *
+     * @throws InterruptedException if thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        objectMapper = new ObjectMapper();
+        String[] args = new String[] {};
+        app = SpringApplication.run(SocialMediaApp.class, args);
+        Thread.sleep(500);
+    }
+
+    /**
+     * Shuts down the Spring Boot application after each test to ensure a clean environment.
+     *
+     * @throws InterruptedException if thread sleep is interrupted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+    }
+
+    /**
+     * Sends an HTTP POST request to /messages/batch with a mix of valid and invalid messages.
+     *
+     * Expected outcome:
+     * - Status Code: 200
+     * - Response Body: one result per message, in request order; valid messages are CREATED with an ID
+     *   that can be fetched afterwards, invalid ones are REJECTED with the reason
+     *
+     * @throws IOException if request fails
+     * @throws InterruptedException if the request thread is interrupted
+     */
+    @Test
+    public void createMessageBatchMixedResults() throws IOException, InterruptedException {
+    	String json = "["
+    			+ "{\"postedBy\":9999,\"messageText\": \"batch one\",\"timePostedEpoch\": 1669947792},"
+    			+ "{\"postedBy\":9999,\"messageText\": \"\",\"timePostedEpoch\": 1669947792},"
+    			+ "{\"postedBy\":5050,\"messageText\": \"nobody\",\"timePostedEpoch\": 1669947792},"
+    			+ "{\"postedBy\":9998,\"messageText\": \"batch two\",\"timePostedEpoch\": 1669947793}"
+    			+ "]";
+        HttpRequest postRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/batch"))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+        HttpResponse<String> response = webClient.send(postRequest, HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        Assertions.assertEquals(200, status, "Expected Status Code 200 - Actual Code was: " + status);
+
+        List<Map<String, Object>> results = objectMapper.readValue(response.body(), new TypeReference<List<Map<String, Object>>>(){});
+        Assertions.assertEquals(4, results.size());
+        Assertions.assertEquals("CREATED", results.get(0).get("status"));
+        Assertions.assertEquals("REJECTED", results.get(1).get("status"));
+        Assertions.assertEquals("MESSAGE_BLANK", results.get(1).get("error"));
+        Assertions.assertEquals("REJECTED", results.get(2).get("status"));
+        Assertions.assertEquals("USER_NOT_FOUND", results.get(2).get("error"));
+        Assertions.assertEquals("CREATED", results.get(3).get("status"));
+
+        Integer createdId = (Integer) results.get(3).get("messageId");
+        HttpRequest getRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/" + createdId))
+                .build();
+        HttpResponse<String> getResponse = webClient.send(getRequest, HttpResponse.BodyHandlers.ofString());
+        Message expectedResult = new Message(createdId, 9998, "batch two", 1669947793L);
+        Message actualResult = objectMapper.readValue(getResponse.body(), Message.class);
+        Assertions.assertEquals(expectedResult, actualResult, "Expected="+expectedResult + ", Actual="+actualResult);
+    }
+
+    /**
+     * Sends an HTTP POST request to /messages/batch with more messages than a batch may hold.
+     *
+     * Expected outcome:
+     * - Status Code: 400
+     *
+     * @throws IOException if request fails
+     * @throws InterruptedException if the request thread is interrupted
+     */
+    @Test
+    public void createMessageBatchTooLarge() throws IOException, InterruptedException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1001; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"postedBy\":9999,\"messageText\": \"m\",\"timePostedEpoch\": 1}");
+        }
+        json.append("]");
+        HttpRequest postRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/batch"))
+                .POST(HttpRequest.BodyPublishers.ofString(json.toString()))
+                .header("Content-Type", "application/json")
+                .build();
+        HttpResponse<String> response = webClient.send(postRequest, HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        Assertions.assertEquals(400, status, "Expected Status Code 400 - Actual Code was: " + status);
+    }
+}
@@ -0,0 +1,154 @@
+package com.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.app.Entity.Message;
+import com.app.Service.MessageWriteBehindQueue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Integration tests for message creation with write-behind (group commit) mode enabled.
+ */
+public class CreateMessageWriteBehindTest {
+	ApplicationContext app;
+    HttpClient webClient;
+    ObjectMapper objectMapper;
+
+    /**
+     * Sets up the test environment before each test by starting the Spring Boot application
+     * in write-behind mode and initializing HTTP client and JSON object mapper.
+     *
+     * @throws InterruptedException if thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        objectMapper = new ObjectMapper();
+        String[] args = new String[] {"--app.messages.write-behind.enabled=true"};
+        app = SpringApplication.run(SocialMediaApp.class, args);
+        Thread.sleep(500);
+    }
+
+    /**
+     * Shuts down the Spring Boot application after each test to ensure a clean environment.
+     *
+     * @throws InterruptedException if thread sleep is interrupted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+    }
+
+    /**
+     * Sends an HTTP POST request to /messages?durable=true, then reads the message back.
+     *
+     * Expected outcome:
+     * - Status Code: 200 with the assigned ID in the response
+     * - The message is readable through GET /messages/{messageId} as soon as the POST returns
+     *
+     * @throws IOException if request fails
+     * @throws InterruptedException if the request thread is interrupted
+     */
+    @Test
+    public void createMessageDurableIsReadableImmediately() throws IOException, InterruptedException {
+    	String json = "{\"postedBy\":9999,\"messageText\": \"queued message\",\"timePostedEpoch\": 1669947792}";
+        HttpRequest postMessageRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages?durable=true"))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+        HttpResponse<String> response = webClient.send(postMessageRequest, HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        Assertions.assertEquals(200, status, "Expected Status Code 200 - Actual Code was: " + status);
+        Message created = objectMapper.readValue(response.body(), Message.class);
+        Assertions.assertNotNull(created.getMessageId());
+
+        HttpRequest getRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/" + created.getMessageId()))
+                .build();
+        HttpResponse<String> getResponse = webClient.send(getRequest, HttpResponse.BodyHandlers.ofString());
+        Message actualResult = objectMapper.readValue(getResponse.body(), Message.class);
+        Assertions.assertEquals(created, actualResult, "Expected="+created + ", Actual="+actualResult);
+    }
+
+    /**
+     * Sends an HTTP POST request to /messages with a non-existent user ID in write-behind mode.
+     *
+     * Expected outcome:
+     * - Status Code: 400, since validation still happens before the message is queued
+     *
+     * @throws IOException if request fails
+     * @throws InterruptedException if the request thread is interrupted
+     */
+    @Test
+    public void createMessageUserNotInDbIsRejectedSynchronously() throws IOException, InterruptedException {
+    	String json = "{\"postedBy\":5050,\"messageText\": \"hello message\",\"timePostedEpoch\": 1669947792}";
+        HttpRequest postMessageRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages"))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+        HttpResponse<String> response = webClient.send(postMessageRequest, HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        Assertions.assertEquals(400, status, "Expected Status Code 400 - Actual Code was: " + status);
+    }
+
+    /**
+     * Makes the database refuse one message text, then posts it with ?durable=true.
+     *
+     * Expected outcome:
+     * - Status Code: 503, since the group commit holding the message failed and it was not persisted
+     *
+     * @throws IOException if request fails
+     * @throws InterruptedException if the request thread is interrupted
+     */
+    @Test
+    public void createMessageDurableFailedFlushIsServiceUnavailable() throws IOException, InterruptedException {
+        app.getBean(JdbcTemplate.class).execute("alter table message add constraint no_rejected_text check (messageText <> 'rejected')");
+        String json = "{\"postedBy\":9999,\"messageText\": \"rejected\",\"timePostedEpoch\": 1669947792}";
+        HttpRequest postMessageRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages?durable=true"))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+        HttpResponse<String> response = webClient.send(postMessageRequest, HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        Assertions.assertEquals(503, status, "Expected Status Code 503 - Actual Code was: " + status);
+    }
+
+    /**
+     * Stops the write-behind queue as application shutdown does, then posts a message with ?durable=true.
+     *
+     * Expected outcome:
+     * - Status Code: 503 right away, since a stopped queue accepts nothing and no request is left waiting
+     *
+     * @throws IOException if request fails
+     * @throws InterruptedException if the request thread is interrupted
+     */
+    @Test
+    public void createMessageAfterShutdownIsRejected() throws IOException, InterruptedException {
+        app.getBean(MessageWriteBehindQueue.class).shutdown();
+        String json = "{\"postedBy\":9999,\"messageText\": \"too late\",\"timePostedEpoch\": 1669947792}";
+        HttpRequest postMessageRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages?durable=true"))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+        HttpResponse<String> response = webClient.send(postMessageRequest, HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        Assertions.assertEquals(503, status, "Expected Status Code 503 - Actual Code was: " + status);
+    }
+}
@@ -0,0 +1,235 @@
+package com.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.app.Entity.Account;
+import com.app.Entity.Message;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * This test class takes snapshots through GET /admin/snapshot, enabled on the management port 8081 with a bearer
+ * token, and starts a new application from them with app.snapshot.restore-from.
+ *
+ * Scenarios covered:
+ * - The endpoint is absent from the public port, and absent altogether unless enabled
+ * - Requests without the bearer token get 401
+ * - The snapshot is gzip data, and a node restored from it has the same accounts, messages and follows
+ *   (but nothing written after the snapshot), with new IDs continuing after the restored ones
+ * - A snapshot taken while accounts and their messages are being created is consistent: it restores with
+ *   every foreign key satisfied, and every account in it but the newest has the message posted right after it
+ */
+public class DatabaseSnapshotTest {
+    static final String TOKEN = "snapshot-secret";
+    static final int MANAGEMENT_PORT = 8081;
+
+	ApplicationContext app;
+    HttpClient webClient;
+    ObjectMapper objectMapper;
+    Path snapshot;
+
+    /**
+     * Sets up the test environment before each test.
+     *
+     * @throws IOException if the snapshot file cannot be created
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws IOException, InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        objectMapper = new ObjectMapper();
+        snapshot = Files.createTempFile("snapshot", ".gz");
+        app = SpringApplication.run(SocialMediaApp.class, "--app.snapshot.endpoint.enabled=true",
+                "--app.snapshot.endpoint.token=" + TOKEN, "--management.server.port=" + MANAGEMENT_PORT);
+        Thread.sleep(500);
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     *
+     * @throws InterruptedException if the thread sleep is interrupted
+     * @throws IOException if the snapshot file cannot be deleted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException, IOException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+        Files.deleteIfExists(snapshot);
+    }
+
+    /**
+     * Snapshots accounts, messages and a follow, writes more, and restores the snapshot on a new node.
+     */
+    @Test
+    public void restoredNodeHasSnapshotContents() throws IOException, InterruptedException {
+        Account alice = register("alice");
+        Message hello = postMessage(alice.getAccountId(), "hello from alice");
+        Assertions.assertEquals("1", send(post("/accounts/" + alice.getAccountId() + "/following/9999", "")).body());
+        List<String> before = texts(send(get("/messages")));
+
+        HttpResponse<byte[]> response = webClient.send(snapshotRequest(TOKEN), HttpResponse.BodyHandlers.ofByteArray());
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals("application/gzip", response.headers().firstValue("Content-Type").orElseThrow());
+        Assertions.assertEquals(0x1f, response.body()[0] & 0xff);
+        Assertions.assertEquals(0x8b, response.body()[1] & 0xff);
+        Files.write(snapshot, response.body());
+
+        postMessage(alice.getAccountId(), "after the snapshot");
+        restoreOnNewNode();
+
+        Assertions.assertEquals(before, texts(send(get("/messages"))));
+        Assertions.assertEquals(200, send(post("/login", "{\"username\":\"alice\",\"password\":\"password\"}")).statusCode());
+        Assertions.assertEquals(409, send(post("/register", "{\"username\":\"alice\",\"password\":\"password\"}")).statusCode());
+        Assertions.assertEquals("0", send(post("/accounts/" + alice.getAccountId() + "/following/9999", "")).body());
+        Assertions.assertTrue(register("bob").getAccountId() > alice.getAccountId());
+        Assertions.assertTrue(postMessage(alice.getAccountId(), "after restore").getMessageId() > 9999);
+        Assertions.assertEquals("hello from alice",
+                objectMapper.readValue(send(get("/messages/" + hello.getMessageId())).body(), Message.class).getMessageText());
+    }
+
+    /**
+     * Takes a snapshot of 200,000 messages while another thread keeps registering accounts and posting one
+     * message from each right after, then restores it.
+     */
+    @Test
+    public void snapshotUnderWritesIsConsistent() throws Exception {
+        // Enough rows that the snapshot takes a while; IDs above the seed messages, away from generated ones
+        app.getBean(JdbcTemplate.class).update("insert into message (messageId, postedBy, messageText, timePostedEpoch) "
+                + "select 100000 + x, 9999, 'bulk message ' || x, 1669947800 from system_range(1, 200000)");
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger written = new AtomicInteger();
+        List<Throwable> failures = new ArrayList<>();
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; writing.get(); i++) {
+                    Account account = register("writer" + i);
+                    postMessage(account.getAccountId(), "written by writer" + i);
+                    written.incrementAndGet();
+                }
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        writer.start();
+        while (written.get() < 5) {
+            Thread.sleep(10);
+        }
+        HttpResponse<Path> response = webClient.send(snapshotRequest(TOKEN), HttpResponse.BodyHandlers.ofFile(snapshot));
+        writing.set(false);
+        writer.join();
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals(List.of(), failures);
+
+        restoreOnNewNode();
+
+        // The writer registers account i, then posts its message, then registers account i + 1: in a consistent
+        // snapshot every restored writer account but the newest one has its message
+        List<Integer> messagesPerAccount = new ArrayList<>();
+        for (int i = 0; ; i++) {
+            HttpResponse<String> login = send(post("/login", "{\"username\":\"writer" + i + "\",\"password\":\"password\"}"));
+            if (login.statusCode() != 200) {
+                break;
+            }
+            int accountId = objectMapper.readValue(login.body(), Account.class).getAccountId();
+            messagesPerAccount.add(texts(send(get("/accounts/" + accountId + "/messages"))).size());
+        }
+        Assertions.assertTrue(messagesPerAccount.size() >= 5);
+        Assertions.assertEquals(Collections.nCopies(messagesPerAccount.size() - 1, 1),
+                messagesPerAccount.subList(0, messagesPerAccount.size() - 1));
+        Assertions.assertEquals("bulk message 200000",
+                objectMapper.readValue(send(get("/messages/300000")).body(), Message.class).getMessageText());
+    }
+
+    /**
+     * The snapshot is only handed out on the management port, with the right token, and only where enabled.
+     */
+    @Test
+    public void snapshotEndpointIsGuarded() throws IOException, InterruptedException {
+        Assertions.assertEquals(404, send(get("/admin/snapshot")).statusCode());
+
+        HttpResponse<String> anonymous = send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + MANAGEMENT_PORT + "/admin/snapshot")).build());
+        Assertions.assertEquals(401, anonymous.statusCode());
+        Assertions.assertEquals("", anonymous.body());
+        Assertions.assertEquals(401, send(snapshotRequest("wrong-token")).statusCode());
+
+        // A node started with the defaults has no management port and no snapshot endpoint
+        Thread.sleep(500);
+        SpringApplication.exit(app);
+        app = SpringApplication.run(SocialMediaApp.class);
+        Thread.sleep(500);
+        Assertions.assertEquals(404, send(get("/admin/snapshot")).statusCode());
+    }
+
+    /**
+     * Stops the current node and starts a new one restored from the snapshot file.
+     */
+    private void restoreOnNewNode() throws InterruptedException {
+        Thread.sleep(500);
+        SpringApplication.exit(app);
+        app = SpringApplication.run(SocialMediaApp.class, "--app.snapshot.restore-from=" + snapshot);
+        Thread.sleep(500);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return webClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder().uri(URI.create("http://localhost:8080" + path)).build();
+    }
+
+    private static HttpRequest snapshotRequest(String token) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + MANAGEMENT_PORT + "/admin/snapshot"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+    }
+
+    private static HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080" + path))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    private Account register(String username) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/register", "{\"username\":\"" + username + "\",\"password\":\"password\"}"));
+        Assertions.assertEquals(200, response.statusCode());
+        return objectMapper.readValue(response.body(), Account.class);
+    }
+
+    private Message postMessage(int postedBy, String text) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/messages", "{\"postedBy\":" + postedBy + ",\"messageText\":\""
+                + text + "\",\"timePostedEpoch\":1669947792}"));
+        Assertions.assertEquals(200, response.statusCode());
+        return objectMapper.readValue(response.body(), Message.class);
+    }
+
+    private List<String> texts(HttpResponse<String> response) throws IOException {
+        Assertions.assertEquals(200, response.statusCode());
+        return objectMapper.readValue(response.body(), new TypeReference<List<Message>>() {})
+                .stream().map(Message::getMessageText).toList();
+    }
+}
@@ -0,0 +1,132 @@
+package com.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+
+import com.app.Entity.Message;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Integration tests for the bulk message deletion endpoints:
+ * DELETE /messages?ids=... and DELETE /accounts/{accountId}/messages.
+ */
+public class DeleteMessagesBulkTest {
+	ApplicationContext app;
+    HttpClient webClient;
+    ObjectMapper objectMapper;
+
+    /**
+     * Sets up the test environment before each test.
+     * 
+     * Initializes the HTTP client and JSON mapper, starts the Spring Boot application,
+     * and waits briefly to ensure the application is fully started.
+     * 
+     * @throws InterruptedException if thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        objectMapper = new ObjectMapper();
+        String[] args = new String[] {};
+        app = SpringApplication.run(SocialMediaApp.class, args);
+        Thread.sleep(500);
+    }
+
+    /**
+     * Tears down the test environment after each test.
+     * 
+     * Introduces a delay for clean shutdown and then stops the Spring Boot application context.
+     * 
+     * @throws InterruptedException if thread sleep is interrupted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+    }
+
+    /**
+     * Sends an HTTP DELETE request to /messages?ids=9999,9997,100 where two of the IDs exist.
+     * 
+     * Verifies that the server returns 200 OK with 2 in the body, and that only message 9996 remains.
+     * 
+     * @throws IOException if an I/O error occurs when sending or receiving
+     * @throws InterruptedException if the operation is interrupted
+     */
+    @Test
+    public void deleteMessagesByIds() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages?ids=9999,9997,100"))
+                .DELETE()
+                .build();
+        HttpResponse<String> response = webClient.send(request, HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        Assertions.assertEquals(200, status, "Expected Status Code 200 - Actual Code was: " + status);
+        Assertions.assertEquals(2, objectMapper.readValue(response.body(), Integer.class));
+
+        HttpRequest getRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages"))
+                .build();
+        HttpResponse<String> remaining = webClient.send(getRequest, HttpResponse.BodyHandlers.ofString());
+        List<Message> actualResult = objectMapper.readValue(remaining.body(), new TypeReference<List<Message>>(){});
+        Assertions.assertEquals(List.of(new Message(9996, 9996, "test message 3", 1669947792L)), actualResult);
+    }
+
+    /**
+     * Sends an HTTP DELETE request to /accounts/9999/messages.
+     * 
+     * Verifies that the server returns 200 OK with 1 in the body and that the user's timeline is then empty.
+     * 
+     * @throws IOException if an I/O error occurs when sending or receiving
+     * @throws InterruptedException if the operation is interrupted
+     */
+    @Test
+    public void deleteMessagesByUser() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/accounts/9999/messages"))
+                .DELETE()
+                .build();
+        HttpResponse<String> response = webClient.send(request, HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        Assertions.assertEquals(200, status, "Expected Status Code 200 - Actual Code was: " + status);
+        Assertions.assertEquals(1, objectMapper.readValue(response.body(), Integer.class));
+
+        HttpRequest getRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/accounts/9999/messages"))
+                .build();
+        HttpResponse<String> remaining = webClient.send(getRequest, HttpResponse.BodyHandlers.ofString());
+        List<Message> actualResult = objectMapper.readValue(remaining.body(), new TypeReference<List<Message>>(){});
+        Assertions.assertTrue(actualResult.isEmpty(), "Expected Empty Result, but Result was not Empty");
+    }
+
+    /**
+     * Sends an HTTP DELETE request to /messages without the ids parameter.
+     * 
+     * Verifies that the server refuses with 400 Bad Request instead of deleting anything.
+     * 
+     * @throws IOException if an I/O error occurs when sending or receiving
+     * @throws InterruptedException if the operation is interrupted
+     */
+    @Test
+    public void deleteMessagesWithoutIdsIsRejected() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages"))
+                .DELETE()
+                .build();
+        HttpResponse<String> response = webClient.send(request, HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        Assertions.assertEquals(400, status, "Expected Status Code 400 - Actual Code was: " + status);
+    }
+}
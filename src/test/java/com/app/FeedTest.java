@@ -0,0 +1,183 @@
+package com.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+
+import com.app.Entity.Message;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * This test class verifies the follow endpoints (POST/DELETE /accounts/{account_id}/following/{followee_id})
+ * and the home feed (GET /accounts/{account_id}/feed).
+ *
+ * The application runs with a celebrity threshold of 1, so an account with two followers is merged
+ * into feeds at read time while accounts with one follower are fanned out on write.
+ *
+ * Scenarios covered:
+ * - Following, the feed showing followees' messages newest first (both fanned-out and merged), and unfollowing
+ * - Messages posted, updated and deleted after the feed is built
+ * - Paging through a feed with the cursor
+ * - Invalid follows (oneself, unknown account) and the feed of an unknown account
+ */
+public class FeedTest {
+	ApplicationContext app;
+    HttpClient webClient;
+    ObjectMapper objectMapper;
+
+    /**
+     * Sets up the test environment before each test.
+     *
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        objectMapper = new ObjectMapper();
+        String[] args = new String[] {"--app.feed.celebrity-threshold=1"};
+        app = SpringApplication.run(SocialMediaApp.class, args);
+        Thread.sleep(500);
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     *
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+    }
+
+    /**
+     * testuser2 follows testuser1 and testuser3; testuser4 also follows testuser1, making it a celebrity.
+     * The feed of testuser2 merges both, newest first, then drops testuser3 after an unfollow.
+     */
+    @Test
+    public void feedShowsFollowedAccountsNewestFirst() throws IOException, InterruptedException {
+        Assertions.assertEquals("1", send(follow("POST", 9998, 9999)).body());
+        Assertions.assertEquals("0", send(follow("POST", 9998, 9999)).body()); // Already following
+        Assertions.assertEquals("1", send(follow("POST", 9998, 9997)).body());
+        Assertions.assertEquals("1", send(follow("POST", 9996, 9999)).body());
+
+        List<Message> feed = feed("/accounts/9998/feed");
+        Assertions.assertEquals(List.of(9999, 9997), feed.stream().map(Message::getMessageId).toList());
+
+        postMessage(9999, "newest", 1669947800L);
+        postMessage(9997, "older", 1669947795L);
+        feed = feed("/accounts/9998/feed");
+        Assertions.assertEquals(List.of("newest", "older", "test message 1", "test message 2"),
+                feed.stream().map(Message::getMessageText).toList());
+
+        Assertions.assertEquals("1", send(follow("DELETE", 9998, 9997)).body());
+        Assertions.assertEquals("0", send(follow("DELETE", 9998, 9997)).body());
+        feed = feed("/accounts/9998/feed");
+        Assertions.assertEquals(List.of("newest", "test message 1"), feed.stream().map(Message::getMessageText).toList());
+        Assertions.assertEquals(List.of(), feed("/accounts/9997/feed"));
+    }
+
+    /**
+     * Updates and deletes of messages already in a built feed are reflected on the next read.
+     */
+    @Test
+    public void feedReflectsUpdatesAndDeletes() throws IOException, InterruptedException {
+        send(follow("POST", 9998, 9997));
+        Assertions.assertEquals(List.of("test message 2"), feed("/accounts/9998/feed").stream().map(Message::getMessageText).toList());
+
+        HttpRequest update = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/9997"))
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"messageText\":\"edited\"}"))
+                .header("Content-Type", "application/json")
+                .build();
+        Assertions.assertEquals(200, send(update).statusCode());
+        Assertions.assertEquals(List.of("edited"), feed("/accounts/9998/feed").stream().map(Message::getMessageText).toList());
+
+        send(HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/messages/9997")).DELETE().build());
+        Assertions.assertEquals(List.of(), feed("/accounts/9998/feed"));
+    }
+
+    /**
+     * Pages through a feed two messages at a time with the X-Next-Cursor header.
+     */
+    @Test
+    public void feedPagesWithCursor() throws IOException, InterruptedException {
+        send(follow("POST", 9998, 9997));
+        send(feedRequest("/accounts/9998/feed")); // Builds the feed, so the next posts are fanned out
+        postMessage(9997, "a", 1669947801L);
+        postMessage(9997, "b", 1669947802L);
+
+        HttpResponse<String> first = send(feedRequest("/accounts/9998/feed?limit=2"));
+        Assertions.assertEquals(List.of("b", "a"), texts(first));
+        String cursor = first.headers().firstValue("X-Next-Cursor").orElseThrow();
+
+        HttpResponse<String> second = send(feedRequest("/accounts/9998/feed?limit=2&before=" + cursor));
+        Assertions.assertEquals(List.of("test message 2"), texts(second));
+        Assertions.assertTrue(second.headers().firstValue("X-Next-Cursor").isEmpty());
+    }
+
+    /**
+     * Following oneself or an unknown account is rejected with 400.
+     */
+    @Test
+    public void invalidFollowsAreRejected() throws IOException, InterruptedException {
+        Assertions.assertEquals(400, send(follow("POST", 9999, 9999)).statusCode());
+        Assertions.assertEquals(400, send(follow("POST", 9999, 1)).statusCode());
+        Assertions.assertEquals(400, send(follow("POST", 1, 9999)).statusCode());
+    }
+
+    /**
+     * The feed of an unknown account is rejected with 400, like a follow by one.
+     */
+    @Test
+    public void feedOfUnknownAccountIsRejected() throws IOException, InterruptedException {
+        Assertions.assertEquals(400, send(feedRequest("/accounts/1/feed")).statusCode());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return webClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest follow(String method, int accountId, int followeeId) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/accounts/" + accountId + "/following/" + followeeId))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private static HttpRequest feedRequest(String path) {
+        return HttpRequest.newBuilder().uri(URI.create("http://localhost:8080" + path)).build();
+    }
+
+    private List<Message> feed(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(feedRequest(path));
+        Assertions.assertEquals(200, response.statusCode());
+        return objectMapper.readValue(response.body(), new TypeReference<List<Message>>() {});
+    }
+
+    private List<String> texts(HttpResponse<String> response) throws IOException {
+        return objectMapper.readValue(response.body(), new TypeReference<List<Message>>() {})
+                .stream().map(Message::getMessageText).toList();
+    }
+
+    private void postMessage(int postedBy, String text, long epoch) throws IOException, InterruptedException {
+        HttpRequest post = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"postedBy\":" + postedBy + ",\"messageText\":\"" + text
+                        + "\",\"timePostedEpoch\":" + epoch + "}"))
+                .header("Content-Type", "application/json")
+                .build();
+        Assertions.assertEquals(200, send(post).statusCode());
+    }
+}
@@ -0,0 +1,187 @@
+package com.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+
+import com.app.Entity.Account;
+import com.app.Entity.Message;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * This test class runs the application on the in-memory storage engine (app.storage.engine=memory),
+ * which starts without a DataSource, so there are no seed rows from data.sql.
+ *
+ * Scenarios covered:
+ * - No DataSource or JPA beans in the context
+ * - Registration (including a duplicate username) and login
+ * - Creating single and batch messages, reading them by ID, by page and by user, updating and deleting them
+ * - Following an account and reading the home feed
+ * - Paging through a time range in (timePostedEpoch, messageId) order, past a deleted message
+ */
+public class InMemoryStorageTest {
+	ApplicationContext app;
+    HttpClient webClient;
+    ObjectMapper objectMapper;
+
+    /**
+     * Sets up the test environment before each test.
+     *
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        objectMapper = new ObjectMapper();
+        String[] args = new String[] {"--app.storage.engine=memory"};
+        app = SpringApplication.run(SocialMediaApp.class, args);
+        Thread.sleep(500);
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     *
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+    }
+
+    /**
+     * The context has no DataSource, and accounts can be registered (once per username) and logged in to.
+     */
+    @Test
+    public void accountsWithoutDatabase() throws IOException, InterruptedException {
+        Assertions.assertTrue(app.getBeansOfType(DataSource.class).isEmpty());
+
+        Account alice = register("alice");
+        Assertions.assertNotNull(alice.getAccountId());
+        Assertions.assertEquals(409, send(post("/register", "{\"username\":\"alice\",\"password\":\"password\"}")).statusCode());
+
+        HttpResponse<String> login = send(post("/login", "{\"username\":\"alice\",\"password\":\"password\"}"));
+        Assertions.assertEquals(200, login.statusCode());
+        Assertions.assertEquals(alice.getAccountId(), objectMapper.readValue(login.body(), Account.class).getAccountId());
+        Assertions.assertEquals(401, send(post("/login", "{\"username\":\"alice\",\"password\":\"wrong\"}")).statusCode());
+    }
+
+    /**
+     * Messages go through create, read (by ID, by page, by user), update and delete.
+     */
+    @Test
+    public void messageLifecycle() throws IOException, InterruptedException {
+        int alice = register("alice").getAccountId();
+        Message first = postMessage(alice, "first", 1669947792L);
+        HttpResponse<String> batch = send(post("/messages/batch", "[{\"postedBy\":" + alice
+                + ",\"messageText\":\"second\",\"timePostedEpoch\":1669947793},{\"postedBy\":" + alice
+                + ",\"messageText\":\"third\",\"timePostedEpoch\":1669947794},{\"postedBy\":12345"
+                + ",\"messageText\":\"unknown poster\",\"timePostedEpoch\":1669947795}]"));
+        Assertions.assertEquals(200, batch.statusCode());
+
+        HttpResponse<String> byId = send(get("/messages/" + first.getMessageId()));
+        Assertions.assertEquals("first", objectMapper.readValue(byId.body(), Message.class).getMessageText());
+        Assertions.assertEquals(List.of("first", "second", "third"), texts(send(get("/messages"))));
+        Assertions.assertEquals(List.of("third", "second", "first"), texts(send(get("/accounts/" + alice + "/messages"))));
+
+        HttpRequest update = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/" + first.getMessageId()))
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"messageText\":\"edited\"}"))
+                .header("Content-Type", "application/json")
+                .build();
+        Assertions.assertEquals("1", send(update).body());
+        Assertions.assertEquals(List.of("edited", "second", "third"), texts(send(get("/messages"))));
+
+        HttpRequest delete = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/" + first.getMessageId())).DELETE().build();
+        Assertions.assertEquals("1", send(delete).body());
+        Assertions.assertEquals("", send(get("/messages/" + first.getMessageId())).body());
+        Assertions.assertEquals(List.of("third", "second"), texts(send(get("/accounts/" + alice + "/messages"))));
+    }
+
+    /**
+     * A follower's feed shows the followee's messages newest first.
+     */
+    @Test
+    public void feedWithoutDatabase() throws IOException, InterruptedException {
+        int alice = register("alice").getAccountId();
+        int bob = register("bob").getAccountId();
+        postMessage(alice, "older", 1669947792L);
+        postMessage(alice, "newer", 1669947793L);
+
+        HttpRequest follow = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/accounts/" + bob + "/following/" + alice))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        Assertions.assertEquals("1", send(follow).body());
+        Assertions.assertEquals(List.of("newer", "older"), texts(send(get("/accounts/" + bob + "/feed"))));
+    }
+
+    /**
+     * A time range is served in (timePostedEpoch, messageId) order regardless of the order of creation; the
+     * cursor resumes after the last message of a page, and deleted messages drop out.
+     */
+    @Test
+    public void timeRangeWithoutDatabase() throws IOException, InterruptedException {
+        int alice = register("alice").getAccountId();
+        postMessage(alice, "later", 1669947795L);
+        postMessage(alice, "early", 1669947793L);
+        Message deleted = postMessage(alice, "deleted", 1669947794L);
+        postMessage(alice, "middle", 1669947794L);
+        postMessage(alice, "outside", 1669947796L);
+        send(HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/messages/" + deleted.getMessageId())).DELETE().build());
+
+        HttpResponse<String> first = send(get("/messages?since=1669947793&until=1669947796&limit=2"));
+        Assertions.assertEquals(List.of("early", "middle"), texts(first));
+        String cursor = first.headers().firstValue("X-Next-Cursor").orElseThrow();
+        Assertions.assertEquals(List.of("later"), texts(send(get("/messages?since=1669947793&until=1669947796&limit=2&after=" + cursor))));
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return webClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder().uri(URI.create("http://localhost:8080" + path)).build();
+    }
+
+    private static HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080" + path))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    private Account register(String username) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/register", "{\"username\":\"" + username + "\",\"password\":\"password\"}"));
+        Assertions.assertEquals(200, response.statusCode());
+        return objectMapper.readValue(response.body(), Account.class);
+    }
+
+    private Message postMessage(int postedBy, String text, long epoch) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/messages", "{\"postedBy\":" + postedBy + ",\"messageText\":\""
+                + text + "\",\"timePostedEpoch\":" + epoch + "}"));
+        Assertions.assertEquals(200, response.statusCode());
+        return objectMapper.readValue(response.body(), Message.class);
+    }
+
+    private List<String> texts(HttpResponse<String> response) throws IOException {
+        Assertions.assertEquals(200, response.statusCode());
+        return objectMapper.readValue(response.body(), new TypeReference<List<Message>>() {})
+                .stream().map(Message::getMessageText).toList();
+    }
+}
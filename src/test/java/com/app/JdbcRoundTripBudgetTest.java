@@ -0,0 +1,244 @@
+package com.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Database cost regression tests: the exact JDBC statements every SocialMediaController route may issue.
+ *
+ * The application runs with "app.jdbc.trace-header=true", so each response lists its statements in
+ * X-Jdbc-Trace as "verb table" entries. Sequence fetches ("nextval ...") are left out of the
+ * comparisons because the pooled ID generator needs one per block of 50 IDs, whichever request
+ * happens to cross the block boundary; at most one per request is allowed.
+ */
+public class JdbcRoundTripBudgetTest {
+	ApplicationContext app;
+    HttpClient webClient;
+
+    /**
+     * Sets up the test environment before each test.
+     * 
+     * Initializes the HTTP client, starts the Spring Boot application with statement tracing enabled,
+     * and waits briefly to ensure the application is fully started.
+     * 
+     * @throws InterruptedException if thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        String[] args = new String[] {"--app.jdbc.trace-header=true"};
+        app = SpringApplication.run(SocialMediaApp.class, args);
+        Thread.sleep(500);
+    }
+
+    /**
+     * Tears down the test environment after each test.
+     * 
+     * Introduces a delay for clean shutdown and then stops the Spring Boot application context.
+     * 
+     * @throws InterruptedException if thread sleep is interrupted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+    }
+
+    /**
+     * POST /register with a new username: the Bloom filter rules out a duplicate, so only the insert runs.
+     */
+    @Test
+    public void registerNewUserOnlyInserts() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/register", "{\"username\":\"budget\",\"password\":\"password\"}"));
+        Assertions.assertEquals(200, response.statusCode());
+        assertStatements(response, "insert account");
+    }
+
+    /**
+     * POST /register with a taken username: one lookup, no insert.
+     */
+    @Test
+    public void registerDuplicateUsernameOnlyLooksUp() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/register", "{\"username\":\"testuser1\",\"password\":\"password\"}"));
+        Assertions.assertEquals(409, response.statusCode());
+        assertStatements(response, "select account");
+    }
+
+    /**
+     * POST /login: one lookup the first time, none once the account is cached.
+     */
+    @Test
+    public void loginLooksUpAccountOnceThenUsesCache() throws IOException, InterruptedException {
+        HttpRequest login = post("/login", "{\"username\":\"testuser1\",\"password\":\"password\"}");
+        assertStatements(send(login), "select account");
+        assertStatements(send(login));
+    }
+
+    /**
+     * POST /messages: at most one poster existence check plus one insert; the check is cached afterwards.
+     */
+    @Test
+    public void createMessageChecksPosterAndInsertsOnce() throws IOException, InterruptedException {
+        HttpRequest create = post("/messages", "{\"postedBy\":9999,\"messageText\":\"budget\",\"timePostedEpoch\":1}");
+        HttpResponse<String> first = send(create);
+        Assertions.assertEquals(200, first.statusCode());
+        assertStatements(first, "select account", "insert message");
+        assertStatements(send(create), "insert message");
+    }
+
+    /**
+     * POST /messages/batch: one existence query for all posters and one JDBC batch for all rows.
+     */
+    @Test
+    public void createBatchUsesOneQueryAndOneInsertBatch() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/messages/batch", "["
+                + "{\"postedBy\":9999,\"messageText\":\"a\",\"timePostedEpoch\":1},"
+                + "{\"postedBy\":9998,\"messageText\":\"b\",\"timePostedEpoch\":2},"
+                + "{\"postedBy\":9997,\"messageText\":\"c\",\"timePostedEpoch\":3}]"));
+        Assertions.assertEquals(200, response.statusCode());
+        assertStatements(response, "select account", "insert message");
+    }
+
+    /**
+     * GET /messages and GET /messages?after=...: one keyset select per page.
+     */
+    @Test
+    public void getAllMessagesIsOneSelectPerPage() throws IOException, InterruptedException {
+        HttpResponse<String> first = send(get("/messages?limit=2"));
+        assertStatements(first, "select message");
+        String next = first.headers().firstValue("X-Next-Cursor").orElseThrow();
+        assertStatements(send(get("/messages?limit=2&after=" + next)), "select message");
+    }
+
+    /**
+     * GET /messages/export: one streamed select. The headers are sent before the query runs,
+     * so the count is read from the per-route metric.
+     */
+    @Test
+    public void exportIsOneSelect() throws IOException, InterruptedException {
+        Assertions.assertEquals(200, send(get("/messages/export")).statusCode());
+        String metrics = send(get("/actuator/prometheus")).body();
+        Assertions.assertTrue(metrics.contains("http_server_jdbc_statements_sum{method=\"GET\",uri=\"/messages/export\"} 1.0"),
+                "Expected exactly one statement for the export");
+    }
+
+    /**
+     * GET /messages/{messageId}: one select the first time, none once cached (found or not).
+     */
+    @Test
+    public void getMessageByIdIsOneSelectThenCached() throws IOException, InterruptedException {
+        assertStatements(send(get("/messages/9999")), "select message");
+        assertStatements(send(get("/messages/9999")));
+        assertStatements(send(get("/messages/1")), "select message");
+        assertStatements(send(get("/messages/1")));
+    }
+
+    /**
+     * PATCH /messages/{messageId}: a single update, no read of the message first.
+     */
+    @Test
+    public void updateMessageIsOneUpdate() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/9999"))
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"messageText\":\"budget\"}"))
+                .header("Content-Type", "application/json")
+                .build());
+        Assertions.assertEquals(200, response.statusCode());
+        assertStatements(response, "update message");
+    }
+
+    /**
+     * DELETE /messages/{messageId}: a single delete statement.
+     */
+    @Test
+    public void deleteMessageIsOneStatement() throws IOException, InterruptedException {
+        assertStatements(send(delete("/messages/9999")), "delete message");
+        assertStatements(send(delete("/messages/1")), "delete message");
+    }
+
+    /**
+     * DELETE /messages?ids=...: one delete per chunk of IDs.
+     */
+    @Test
+    public void deleteMessagesByIdsIsOneDelete() throws IOException, InterruptedException {
+        assertStatements(send(delete("/messages?ids=9999,9997,1")), "delete message");
+    }
+
+    /**
+     * DELETE /accounts/{accountId}/messages: one ID lookup and one delete per chunk.
+     */
+    @Test
+    public void deleteMessagesByUserReadsIdsThenDeletes() throws IOException, InterruptedException {
+        assertStatements(send(delete("/accounts/9997/messages")), "select message", "delete message");
+    }
+
+    /**
+     * GET /accounts/{accountId}/messages: one select on the postedBy index per page.
+     */
+    @Test
+    public void getMessagesByUserIsOneSelect() throws IOException, InterruptedException {
+        assertStatements(send(get("/accounts/9999/messages")), "select message");
+    }
+
+    /**
+     * Conditional GETs answered with 304 Not Modified run no statements at all.
+     */
+    @Test
+    public void notModifiedRunsNoStatements() throws IOException, InterruptedException {
+        HttpResponse<String> timeline = send(get("/accounts/9999/messages"));
+        HttpResponse<String> notModified = send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/accounts/9999/messages"))
+                .header("If-None-Match", timeline.headers().firstValue("ETag").orElseThrow())
+                .build());
+        Assertions.assertEquals(304, notModified.statusCode());
+        assertStatements(notModified);
+    }
+
+    /**
+     * Asserts the statements a response reports, ignoring at most one ID block fetch.
+     *
+     * @param response The response carrying X-Jdbc-Trace.
+     * @param expected The expected statements, in order.
+     */
+    private static void assertStatements(HttpResponse<String> response, String... expected) {
+        String header = response.headers().firstValue("X-Jdbc-Trace").orElse("");
+        List<String> trace = header.isEmpty() ? List.of() : Arrays.asList(header.split(", "));
+        long idFetches = trace.stream().filter(s -> s.startsWith("nextval ")).count();
+        Assertions.assertTrue(idFetches <= 1, "At most one ID block fetch expected, got: " + trace);
+        List<String> statements = trace.stream().filter(s -> !s.startsWith("nextval ")).toList();
+        Assertions.assertEquals(List.of(expected), statements,
+                "Unexpected statements for " + response.request().method() + " " + response.request().uri());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return webClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder().uri(URI.create("http://localhost:8080" + path)).build();
+    }
+
+    private static HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080" + path))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    private static HttpRequest delete(String path) {
+        return HttpRequest.newBuilder().uri(URI.create("http://localhost:8080" + path)).DELETE().build();
+    }
+}
@@ -0,0 +1,216 @@
+package com.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.app.Entity.Message;
+import com.app.Repository.LogMessageStore;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * This test class runs the application on the message log storage engine (app.storage.engine=log) in a
+ * temporary directory with 4KB segments, and restarts it on the same directory to check recovery.
+ *
+ * Scenarios covered:
+ * - Created, updated and deleted messages are the same after a restart, and new IDs continue after the old ones
+ * - Compaction deletes mostly-dead segments without losing live messages or bringing back deleted ones
+ * - Tombstones are dropped once no older segment can hold their message, so repeated compaction settles
+ * - IDs below 1 are simply not found
+ */
+public class MessageLogStorageTest {
+	ConfigurableApplicationContext app;
+    HttpClient webClient;
+    ObjectMapper objectMapper;
+    Path directory;
+
+    /**
+     * Sets up the test environment before each test.
+     *
+     * @throws IOException if the log directory cannot be created
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws IOException, InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        objectMapper = new ObjectMapper();
+        directory = Files.createTempDirectory("message-log");
+        start();
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     *
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+    }
+
+    /**
+     * Posts, updates and deletes messages, restarts on the same log and reads them back.
+     */
+    @Test
+    public void messagesSurviveRestart() throws IOException, InterruptedException {
+        int first = postMessage(9999, "first").getMessageId();
+        int second = postMessage(9998, "second").getMessageId();
+        int third = postMessage(9999, "third").getMessageId();
+        Assertions.assertEquals("1", send(patch(first, "edited")).body());
+        Assertions.assertEquals("1", send(delete("/messages/" + second)).body());
+
+        restart();
+
+        Assertions.assertEquals(List.of("edited", "third"), texts(send(get("/messages"))));
+        Assertions.assertEquals(List.of("third", "edited"), texts(send(get("/accounts/9999/messages"))));
+        Assertions.assertEquals("", send(get("/messages/" + second)).body());
+        Assertions.assertTrue(postMessage(9998, "fourth").getMessageId() > third);
+    }
+
+    /**
+     * Fills several segments, deletes most messages and compacts; the survivors are still there, also after a restart.
+     */
+    @Test
+    public void compactionKeepsLiveMessages() throws IOException, InterruptedException {
+        String batch = IntStream.range(0, 400)
+                .mapToObj(i -> "{\"postedBy\":9999,\"messageText\":\"message " + i + " padded to fill segments quickly\","
+                        + "\"timePostedEpoch\":" + (1669947800L + i) + "}")
+                .collect(Collectors.joining(",", "[", "]"));
+        Assertions.assertEquals(200, send(post("/messages/batch", batch)).statusCode());
+        List<Message> all = messages(send(get("/messages?limit=1000")));
+        Assertions.assertEquals(400, all.size());
+
+        String doomed = all.stream().skip(10).map(m -> m.getMessageId().toString()).collect(Collectors.joining(","));
+        Assertions.assertEquals("390", send(delete("/messages?ids=" + doomed)).body());
+
+        LogMessageStore store = app.getBean(LogMessageStore.class);
+        int before = store.segmentCount();
+        Assertions.assertTrue(store.compact() > 0);
+        Assertions.assertTrue(store.segmentCount() < before);
+        Assertions.assertEquals(store.segmentCount(), segmentFiles());
+
+        List<String> survivors = IntStream.range(0, 10)
+                .mapToObj(i -> "message " + i + " padded to fill segments quickly").toList();
+        Assertions.assertEquals(survivors, texts(send(get("/messages?limit=1000"))));
+
+        restart();
+        Assertions.assertEquals(survivors, texts(send(get("/messages?limit=1000"))));
+    }
+
+    /**
+     * Keeps the oldest segment live and deletes the later messages, so the tombstones fill sealed segments of their
+     * own. The PUTs they shadowed are gone after the first compaction pass, so the tombstones are dropped then rather
+     * than copied forward on every pass.
+     */
+    @Test
+    public void compactionSettles() throws IOException, InterruptedException {
+        String batch = IntStream.range(0, 1000)
+                .mapToObj(i -> "{\"postedBy\":9999,\"messageText\":\"message " + i + "\",\"timePostedEpoch\":" + (1669947800L + i) + "}")
+                .collect(Collectors.joining(",", "[", "]"));
+        Assertions.assertEquals(200, send(post("/messages/batch", batch)).statusCode());
+        String doomed = messages(send(get("/messages?limit=1000"))).stream().skip(100)
+                .map(m -> m.getMessageId().toString()).collect(Collectors.joining(","));
+        Assertions.assertEquals("900", send(delete("/messages?ids=" + doomed)).body());
+
+        LogMessageStore store = app.getBean(LogMessageStore.class);
+        Assertions.assertTrue(store.compact() > 0);
+        Assertions.assertEquals(0, store.compact());
+        Assertions.assertEquals(store.segmentCount(), segmentFiles());
+
+        restart();
+        Assertions.assertEquals(100, messages(send(get("/messages?limit=1000"))).size());
+    }
+
+    /**
+     * Negative and zero IDs are answered like any unknown ID.
+     */
+    @Test
+    public void nonPositiveIdsAreNotFound() throws IOException, InterruptedException {
+        Assertions.assertEquals("", send(get("/messages/-1")).body());
+        Assertions.assertEquals("", send(get("/messages/0")).body());
+        Assertions.assertEquals(400, send(patch(-1, "edited")).statusCode());
+        HttpResponse<String> deleted = send(delete("/messages/-1"));
+        Assertions.assertEquals(200, deleted.statusCode());
+        Assertions.assertEquals("", deleted.body());
+    }
+
+    private void start() throws InterruptedException {
+        String[] args = new String[] {"--app.storage.engine=log", "--app.storage.log.directory=" + directory,
+                "--app.storage.log.segment-size=4KB"};
+        app = SpringApplication.run(SocialMediaApp.class, args);
+        Thread.sleep(500);
+    }
+
+    private void restart() throws InterruptedException {
+        Thread.sleep(500);
+        SpringApplication.exit(app);
+        start();
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return webClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder().uri(URI.create("http://localhost:8080" + path)).build();
+    }
+
+    private static HttpRequest delete(String path) {
+        return HttpRequest.newBuilder().uri(URI.create("http://localhost:8080" + path)).DELETE().build();
+    }
+
+    private static HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080" + path))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    private static HttpRequest patch(int messageId, String text) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/" + messageId))
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"messageText\":\"" + text + "\"}"))
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    private Message postMessage(int postedBy, String text) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/messages", "{\"postedBy\":" + postedBy + ",\"messageText\":\""
+                + text + "\",\"timePostedEpoch\":1669947792}"));
+        Assertions.assertEquals(200, response.statusCode());
+        return objectMapper.readValue(response.body(), Message.class);
+    }
+
+    private List<Message> messages(HttpResponse<String> response) throws IOException {
+        Assertions.assertEquals(200, response.statusCode());
+        return objectMapper.readValue(response.body(), new TypeReference<List<Message>>() {});
+    }
+
+    private List<String> texts(HttpResponse<String> response) throws IOException {
+        return messages(response).stream().map(Message::getMessageText).toList();
+    }
+}
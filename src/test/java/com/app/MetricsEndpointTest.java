@@ -0,0 +1,129 @@
+package com.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Integration tests for the latency and error metrics exposed at /actuator/prometheus.
+ */
+public class MetricsEndpointTest {
+	ApplicationContext app;
+    HttpClient webClient;
+
+    /**
+     * Sets up the test environment before each test.
+     * 
+     * Initializes the HTTP client, starts the Spring Boot application,
+     * and waits briefly to ensure the application is fully started.
+     * 
+     * @throws InterruptedException if thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        String[] args = new String[] {};
+        app = SpringApplication.run(SocialMediaApp.class, args);
+        Thread.sleep(500);
+    }
+
+    /**
+     * Tears down the test environment after each test.
+     * 
+     * Introduces a delay for clean shutdown and then stops the Spring Boot application context.
+     * 
+     * @throws InterruptedException if thread sleep is interrupted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+    }
+
+    /**
+     * Sends GET /messages/9999, a PATCH with a blank text and a login, then scrapes /actuator/prometheus.
+     * 
+     * Verifies that the route timer has histogram buckets tagged with the route pattern, and that the
+     * repository, serialization and validation timers and the exception counter are all present.
+     * 
+     * @throws IOException if an I/O error occurs when sending or receiving
+     * @throws InterruptedException if the operation is interrupted
+     */
+    @Test
+    public void prometheusExposesLatencyBreakdown() throws IOException, InterruptedException {
+        webClient.send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/9999"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        webClient.send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/9999"))
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"messageText\":\"\"}"))
+                .header("Content-Type", "application/json")
+                .build(), HttpResponse.BodyHandlers.ofString());
+        webClient.send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/login"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"testuser1\",\"password\":\"password\"}"))
+                .header("Content-Type", "application/json")
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        HttpResponse<String> response = webClient.send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/actuator/prometheus"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        Assertions.assertEquals(200, status, "Expected Status Code 200 - Actual Code was: " + status);
+
+        String body = response.body();
+        Assertions.assertTrue(body.contains("http_server_requests_seconds_bucket{")
+                && body.contains("uri=\"/messages/{messageId}\""), "Route timer with histogram expected");
+        Assertions.assertTrue(body.contains("spring_data_repository_invocations_seconds_bucket{")
+                && body.contains("repository=\"MessageRepository\""), "Repository timer with histogram expected");
+        Assertions.assertTrue(body.contains("http_server_serialization_seconds_count{method=\"GET\",operation=\"write\",uri=\"/messages/{messageId}\"}"),
+                "Serialization timer expected");
+        Assertions.assertTrue(body.contains("app_validation_seconds_count{operation=\"message.update\"} 1"),
+                "Validation timer expected");
+        Assertions.assertTrue(body.contains("http_server_exceptions_total{exception=\"MessageBlankTextException\"} 1"),
+                "Exception counter expected");
+        Assertions.assertTrue(body.contains("http_server_exceptions_total{exception=\"DuplicateUsernameException\"} 0"),
+                "Counters for mapped exceptions expected before they occur");
+    }
+
+    /**
+     * Sends GET /messages/9999 twice, then scrapes /actuator/prometheus.
+     * 
+     * Verifies that the first request reports one statement and one row in the X-Jdbc-* headers, that
+     * the second one is served from the message cache without any JDBC work, and that both are
+     * recorded in http.server.jdbc.statements for the route.
+     * 
+     * @throws IOException if an I/O error occurs when sending or receiving
+     * @throws InterruptedException if the operation is interrupted
+     */
+    @Test
+    public void jdbcRoundTripsReportedPerRequest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/9999"))
+                .build();
+        HttpResponse<String> first = webClient.send(request, HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals("1", first.headers().firstValue("X-Jdbc-Statements").orElse(null));
+        Assertions.assertEquals("1", first.headers().firstValue("X-Jdbc-Rows").orElse(null));
+        Assertions.assertTrue(first.headers().firstValue("X-Jdbc-Time-Ms").isPresent(), "JDBC time header expected");
+
+        HttpResponse<String> second = webClient.send(request, HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals("0", second.headers().firstValue("X-Jdbc-Statements").orElse(null));
+
+        String body = webClient.send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/actuator/prometheus"))
+                .build(), HttpResponse.BodyHandlers.ofString()).body();
+        Assertions.assertTrue(body.contains("http_server_jdbc_statements_count{method=\"GET\",uri=\"/messages/{messageId}\"} 2"),
+                "Per-route statement summary expected");
+        Assertions.assertTrue(body.contains("http_server_jdbc_statements_sum{method=\"GET\",uri=\"/messages/{messageId}\"} 1.0"),
+                "One statement in total expected");
+    }
+}
@@ -0,0 +1,123 @@
+package com.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+
+import com.app.Entity.Account;
+import com.app.Entity.Message;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * This test class runs the application with the "persistent" profile (a file-backed H2 database) in a
+ * temporary directory, and restarts it on the same database.
+ *
+ * Scenarios covered:
+ * - The first boot creates the schema without seed rows
+ * - Accounts and messages survive a restart (the schema script runs again without dropping anything)
+ * - IDs generated after a restart do not collide with existing ones
+ */
+public class PersistentProfileTest {
+	ApplicationContext app;
+    HttpClient webClient;
+    ObjectMapper objectMapper;
+    Path database;
+
+    /**
+     * Sets up the test environment before each test.
+     *
+     * @throws IOException if the database directory cannot be created
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws IOException, InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        objectMapper = new ObjectMapper();
+        database = Files.createTempDirectory("persistent-profile").resolve("socialmedia");
+        start();
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     *
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+    }
+
+    /**
+     * Registers an account and posts messages, restarts, and finds them all again.
+     */
+    @Test
+    public void dataSurvivesRestart() throws IOException, InterruptedException {
+        Assertions.assertEquals(List.of(), texts(send(get("/messages"))));
+        Assertions.assertEquals(401, send(post("/login", "{\"username\":\"testuser1\",\"password\":\"password\"}")).statusCode());
+
+        Account alice = objectMapper.readValue(
+                send(post("/register", "{\"username\":\"alice\",\"password\":\"password\"}")).body(), Account.class);
+        Message first = postMessage(alice.getAccountId(), "before restart");
+
+        Thread.sleep(500);
+        SpringApplication.exit(app);
+        start();
+
+        Assertions.assertEquals(200, send(post("/login", "{\"username\":\"alice\",\"password\":\"password\"}")).statusCode());
+        Assertions.assertEquals(409, send(post("/register", "{\"username\":\"alice\",\"password\":\"password\"}")).statusCode());
+        Assertions.assertEquals(List.of("before restart"), texts(send(get("/accounts/" + alice.getAccountId() + "/messages"))));
+
+        Message second = postMessage(alice.getAccountId(), "after restart");
+        Assertions.assertTrue(second.getMessageId() > first.getMessageId());
+        Assertions.assertEquals(List.of("before restart", "after restart"), texts(send(get("/messages"))));
+    }
+
+    private void start() throws InterruptedException {
+        String[] args = new String[] {"--spring.profiles.active=persistent", "--app.persistent.database=" + database};
+        app = SpringApplication.run(SocialMediaApp.class, args);
+        Thread.sleep(500);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return webClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder().uri(URI.create("http://localhost:8080" + path)).build();
+    }
+
+    private static HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080" + path))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    private Message postMessage(int postedBy, String text) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/messages", "{\"postedBy\":" + postedBy + ",\"messageText\":\""
+                + text + "\",\"timePostedEpoch\":1669947792}"));
+        Assertions.assertEquals(200, response.statusCode());
+        return objectMapper.readValue(response.body(), Message.class);
+    }
+
+    private List<String> texts(HttpResponse<String> response) throws IOException {
+        Assertions.assertEquals(200, response.statusCode());
+        return objectMapper.readValue(response.body(), new TypeReference<List<Message>>() {})
+                .stream().map(Message::getMessageText).toList();
+    }
+}
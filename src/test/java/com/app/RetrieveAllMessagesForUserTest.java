@@ -107,4 +107,85 @@ public class RetrieveAllMessagesForUserTest {
         List<Message> actualResult = objectMapper.readValue(response.body().toString(), new TypeReference<List<Message>>(){});
         Assertions.assertTrue(actualResult.isEmpty(), "Expected Empty Result, but Result was not Empty");
     }
-}
\ No newline at end of file
+
+    /**
+     * Posts two newer messages for user 9999, then pages through GET /accounts/9999/messages with limit=2.
+     * 
+     * Expected Response:
+     * - First page: the two newest messages, newest first, with an X-Next-Cursor header
+     * - Second page: the original seeded message, with no X-Next-Cursor header
+     */
+    @Test
+    public void getAllMessagesFromUserPagedNewestFirst() throws IOException, InterruptedException {
+        postMessage("{\"postedBy\":9999,\"messageText\": \"second\",\"timePostedEpoch\": 1669947800}");
+        postMessage("{\"postedBy\":9999,\"messageText\": \"third\",\"timePostedEpoch\": 1669947900}");
+
+        HttpRequest firstRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/accounts/9999/messages?limit=2"))
+                .build();
+        HttpResponse<String> firstResponse = webClient.send(firstRequest, HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(200, firstResponse.statusCode());
+        List<Message> firstPage = objectMapper.readValue(firstResponse.body(), new TypeReference<List<Message>>(){});
+        Assertions.assertEquals(2, firstPage.size());
+        Assertions.assertEquals("third", firstPage.get(0).getMessageText());
+        Assertions.assertEquals("second", firstPage.get(1).getMessageText());
+        String cursor = firstResponse.headers().firstValue("X-Next-Cursor").orElse(null);
+        Assertions.assertNotNull(cursor, "Expected an X-Next-Cursor header on a non-final page");
+
+        HttpRequest secondRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/accounts/9999/messages?limit=2&before=" + cursor))
+                .build();
+        HttpResponse<String> secondResponse = webClient.send(secondRequest, HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(200, secondResponse.statusCode());
+        List<Message> expectedResult = new ArrayList<Message>();
+        expectedResult.add(new Message(9999, 9999, "test message 1", 1669947792L));
+        List<Message> secondPage = objectMapper.readValue(secondResponse.body(), new TypeReference<List<Message>>(){});
+        Assertions.assertEquals(expectedResult, secondPage, "Expected="+expectedResult + ", Actual="+secondPage);
+        Assertions.assertTrue(secondResponse.headers().firstValue("X-Next-Cursor").isEmpty(),
+                "Expected no X-Next-Cursor header on the last page");
+    }
+
+    /**
+     * Posts two messages without a timePostedEpoch for user 9999, then pages through GET /accounts/9999/messages
+     * with limit=1, so the cursor of the second and third pages points at an undated message.
+     * 
+     * Expected Response:
+     * - The seeded (dated) message first, then the undated ones by descending messageId, one per page
+     * - Status Code 200 on every page and no X-Next-Cursor header on the last one
+     */
+    @Test
+    public void getAllMessagesFromUserPagedPastUndatedMessages() throws IOException, InterruptedException {
+        postMessage("{\"postedBy\":9999,\"messageText\": \"undated one\"}");
+        postMessage("{\"postedBy\":9999,\"messageText\": \"undated two\"}");
+
+        List<String> texts = new ArrayList<>();
+        String cursor = null;
+        do {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:8080/accounts/9999/messages?limit=1"
+                            + (cursor == null ? "" : "&before=" + cursor)))
+                    .build();
+            HttpResponse<String> response = webClient.send(request, HttpResponse.BodyHandlers.ofString());
+            Assertions.assertEquals(200, response.statusCode());
+            List<Message> page = objectMapper.readValue(response.body(), new TypeReference<List<Message>>(){});
+            page.forEach(m -> texts.add(m.getMessageText()));
+            cursor = response.headers().firstValue("X-Next-Cursor").orElse(null);
+        } while (cursor != null && texts.size() < 10);
+        Assertions.assertEquals(List.of("test message 1", "undated two", "undated one"), texts);
+    }
+
+    /**
+     * Helper that creates a message through POST /messages and asserts it succeeded.
+     *
+     * @param json the message JSON to post
+     */
+    private void postMessage(String json) throws IOException, InterruptedException {
+        HttpRequest postMessageRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages"))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+        HttpResponse<String> response = webClient.send(postMessageRequest, HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(200, response.statusCode());
+    }
+}
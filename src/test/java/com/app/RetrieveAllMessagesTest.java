@@ -82,4 +82,60 @@ public class RetrieveAllMessagesTest {
         List<Message> actualResult = objectMapper.readValue(response.body().toString(), new TypeReference<List<Message>>(){});
         Assertions.assertEquals(expectedResult, actualResult, "Expected="+expectedResult + ", Actual="+actualResult);
     }
-}
\ No newline at end of file
+
+    /**
+     * Sends an HTTP GET request to /messages with a page size smaller than the number of messages,
+     * then follows the returned cursor to the next page.
+     *
+     * Verifies that each page is in ascending messageId order, that the first page carries an
+     * X-Next-Cursor header, and that the last page does not.
+     *
+     * @throws IOException if an I/O error occurs when sending or receiving
+     * @throws InterruptedException if the operation is interrupted
+     */
+    @Test
+    public void getAllMessagesFollowsCursorAcrossPages() throws IOException, InterruptedException {
+        HttpRequest firstRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages?limit=2"))
+                .build();
+        HttpResponse<String> firstResponse = webClient.send(firstRequest, HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(200, firstResponse.statusCode());
+        List<Message> firstPage = objectMapper.readValue(firstResponse.body(), new TypeReference<List<Message>>(){});
+        List<Message> expectedFirstPage = new ArrayList<Message>();
+        expectedFirstPage.add(new Message(9996, 9996, "test message 3", 1669947792L));
+        expectedFirstPage.add(new Message(9997, 9997, "test message 2", 1669947792L));
+        Assertions.assertEquals(expectedFirstPage, firstPage, "Expected="+expectedFirstPage + ", Actual="+firstPage);
+        String cursor = firstResponse.headers().firstValue("X-Next-Cursor").orElse(null);
+        Assertions.assertNotNull(cursor, "Expected an X-Next-Cursor header on a non-final page");
+
+        HttpRequest secondRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages?limit=2&after=" + cursor))
+                .build();
+        HttpResponse<String> secondResponse = webClient.send(secondRequest, HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(200, secondResponse.statusCode());
+        List<Message> secondPage = objectMapper.readValue(secondResponse.body(), new TypeReference<List<Message>>(){});
+        List<Message> expectedSecondPage = new ArrayList<Message>();
+        expectedSecondPage.add(new Message(9999, 9999, "test message 1", 1669947792L));
+        Assertions.assertEquals(expectedSecondPage, secondPage, "Expected="+expectedSecondPage + ", Actual="+secondPage);
+        Assertions.assertTrue(secondResponse.headers().firstValue("X-Next-Cursor").isEmpty(),
+                "Expected no X-Next-Cursor header on the last page");
+    }
+
+    /**
+     * Sends an HTTP GET request to /messages with a cursor that was not issued by the server.
+     *
+     * Verifies that the server responds with HTTP 400 Bad Request.
+     *
+     * @throws IOException if an I/O error occurs when sending or receiving
+     * @throws InterruptedException if the operation is interrupted
+     */
+    @Test
+    public void getAllMessagesInvalidCursor() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages?after=not-a-cursor"))
+                .build();
+        HttpResponse<String> response = webClient.send(request, HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        Assertions.assertEquals(400, status, "Expected Status Code 400 - Actual Code was: " + status);
+    }
+}
@@ -111,4 +111,33 @@ public class RetrieveMessageByMessageIdTest {
         Assertions.assertEquals(200, status, "Expected Status Code 200 - Actual Code was: " + status);
         Assertions.assertTrue(response.body().toString().isEmpty(), "Expected Empty Result, but Result was not Empty");
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads a message ID that does not exist yet (caching the miss), creates a message that receives
+     * that ID, and reads it again.
+     *
+     * Verifies that the new message is returned, i.e. creation invalidated the cached "not found".
+     */
+    @Test
+    public void getMessageAfterCreationIsNotHiddenByCachedMiss() throws IOException, InterruptedException {
+        HttpRequest getRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/1"))
+                .build();
+        HttpResponse<String> missing = webClient.send(getRequest, HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals("", missing.body());
+
+    	String json = "{\"postedBy\":9999,\"messageText\": \"hello message\",\"timePostedEpoch\": 1669947792}";
+        HttpRequest postMessageRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages"))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+        HttpResponse<String> created = webClient.send(postMessageRequest, HttpResponse.BodyHandlers.ofString());
+        Message expectedResult = objectMapper.readValue(created.body(), Message.class);
+        Assertions.assertEquals(1, expectedResult.getMessageId());
+
+        HttpResponse<String> found = webClient.send(getRequest, HttpResponse.BodyHandlers.ofString());
+        Message actualResult = objectMapper.readValue(found.body(), Message.class);
+        Assertions.assertEquals(expectedResult, actualResult, "Expected="+expectedResult + ", Actual="+actualResult);
+    }
+}
@@ -0,0 +1,162 @@
+package com.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+
+import com.app.Entity.Message;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * This test class verifies the GET /messages/search?q= endpoint backed by the in-memory inverted index.
+ *
+ * Scenarios covered:
+ * - AND queries over whole words, case-insensitive, newest first
+ * - Messages created, updated and deleted after startup are found (or no longer found) immediately
+ * - Paging through results with the cursor
+ * - Terms of deleted messages leave the dictionary, and the footprint gauge follows
+ * - Queries without matches or without words
+ */
+public class SearchMessagesTest {
+	ApplicationContext app;
+    HttpClient webClient;
+    ObjectMapper objectMapper;
+
+    /**
+     * Sets up the test environment before each test.
+     *
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        objectMapper = new ObjectMapper();
+        String[] args = new String[] {};
+        app = SpringApplication.run(SocialMediaApp.class, args);
+        Thread.sleep(500);
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     *
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+    }
+
+    /**
+     * Messages from data.sql are indexed at startup; every word of the query must match.
+     */
+    @Test
+    public void searchMatchesEveryWordNewestFirst() throws IOException, InterruptedException {
+        Assertions.assertEquals(List.of(9999, 9997, 9996), ids(search("TEST message")));
+        Assertions.assertEquals(List.of(9997), ids(search("message 2")));
+        Assertions.assertEquals(List.of(), ids(search("message 4")));
+        Assertions.assertEquals(List.of(), ids(search("mess")));
+        Assertions.assertEquals(List.of(), ids(search("!!")));
+    }
+
+    /**
+     * New, edited and deleted messages are reflected in the next search.
+     */
+    @Test
+    public void searchFollowsWrites() throws IOException, InterruptedException {
+        HttpRequest post = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"postedBy\":9999,\"messageText\":\"Spring Boot, indexed!\",\"timePostedEpoch\":1669947800}"))
+                .header("Content-Type", "application/json")
+                .build();
+        Message created = objectMapper.readValue(send(post).body(), Message.class);
+        Assertions.assertEquals(List.of(created.getMessageId()), ids(search("boot spring")));
+
+        HttpRequest update = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/" + created.getMessageId()))
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"messageText\":\"summer boot\"}"))
+                .header("Content-Type", "application/json")
+                .build();
+        Assertions.assertEquals(200, send(update).statusCode());
+        Assertions.assertEquals(List.of(), ids(search("spring")));
+        Assertions.assertEquals(List.of(created.getMessageId()), ids(search("summer")));
+
+        send(HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/messages/9997")).DELETE().build());
+        Assertions.assertEquals(List.of(9999, 9996), ids(search("test")));
+    }
+
+    /**
+     * Pages through the three seeded messages two at a time.
+     */
+    @Test
+    public void searchPagesWithCursor() throws IOException, InterruptedException {
+        HttpResponse<String> first = send(get("/messages/search?q=test&limit=2"));
+        Assertions.assertEquals(List.of(9999, 9997), ids(first));
+        String cursor = first.headers().firstValue("X-Next-Cursor").orElseThrow();
+        Assertions.assertTrue(first.headers().firstValue("Link").orElseThrow().startsWith("</messages/search?q=test&before="));
+
+        HttpResponse<String> second = send(get("/messages/search?q=test&limit=2&before=" + cursor));
+        Assertions.assertEquals(List.of(9996), ids(second));
+        Assertions.assertTrue(second.headers().firstValue("X-Next-Cursor").isEmpty());
+    }
+
+    /**
+     * Creates and then deletes a message made of new words; its terms leave the dictionary and the footprint
+     * shrinks again (the forward-index page allocated for its ID stays).
+     */
+    @Test
+    public void deletedTermsLeaveTheDictionary() throws IOException, InterruptedException {
+        MeterRegistry registry = app.getBean(MeterRegistry.class);
+        double terms = registry.get("search.index.terms").gauge().value();
+        double bytes = registry.get("search.index.bytes").gauge().value();
+
+        HttpRequest post = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"postedBy\":9999,\"messageText\":\"quokka wombat\",\"timePostedEpoch\":1669947800}"))
+                .header("Content-Type", "application/json")
+                .build();
+        Message created = objectMapper.readValue(send(post).body(), Message.class);
+        Assertions.assertEquals(terms + 2, registry.get("search.index.terms").gauge().value());
+        double withMessage = registry.get("search.index.bytes").gauge().value();
+        Assertions.assertTrue(withMessage > bytes);
+
+        send(HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/messages/" + created.getMessageId())).DELETE().build());
+        Assertions.assertEquals(List.of(), ids(search("quokka")));
+        Assertions.assertEquals(terms, registry.get("search.index.terms").gauge().value());
+        Assertions.assertTrue(registry.get("search.index.bytes").gauge().value() < withMessage);
+    }
+
+    private HttpResponse<String> search(String q) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(get("/messages/search?q=" + URLEncoder.encode(q, StandardCharsets.UTF_8)));
+        Assertions.assertEquals(200, response.statusCode());
+        return response;
+    }
+
+    private List<Integer> ids(HttpResponse<String> response) throws IOException {
+        return objectMapper.readValue(response.body(), new TypeReference<List<Message>>() {})
+                .stream().map(Message::getMessageId).toList();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return webClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder().uri(URI.create("http://localhost:8080" + path)).build();
+    }
+}
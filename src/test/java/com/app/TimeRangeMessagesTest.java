@@ -0,0 +1,157 @@
+package com.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+
+import com.app.Entity.Message;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * This test class verifies time-range reads of messages (GET /messages?since=&until=).
+ *
+ * Scenarios covered:
+ * - Paging through an old range, read from the table, in (timePostedEpoch, messageId) order with an exclusive end
+ * - A recent range served from the in-memory time index without any JDBC statement, reflecting updates and deletes
+ * - Rejecting a cursor from the messageId ordering, or from outside the requested range
+ */
+public class TimeRangeMessagesTest {
+	ApplicationContext app;
+    HttpClient webClient;
+    ObjectMapper objectMapper;
+
+    /**
+     * Sets up the test environment before each test.
+     *
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        objectMapper = new ObjectMapper();
+        String[] args = new String[] {};
+        app = SpringApplication.run(SocialMediaApp.class, args);
+        Thread.sleep(500);
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     *
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+    }
+
+    /**
+     * The three seeded messages share one epoch, so they come first in messageId order; the message posted at
+     * the end of the range is excluded.
+     */
+    @Test
+    public void oldRangePagesFromTable() throws IOException, InterruptedException {
+        int inRange = postMessage("in range", 1669947800L);
+        postMessage("at the end", 1669947810L);
+
+        HttpResponse<String> first = send(get("/messages?since=1669947792&until=1669947810&limit=2"));
+        Assertions.assertEquals(List.of(9996, 9997), ids(first));
+        Assertions.assertEquals("1", first.headers().firstValue("X-Jdbc-Statements").orElse(null));
+        String cursor = first.headers().firstValue("X-Next-Cursor").orElseThrow();
+        Assertions.assertEquals("</messages?since=1669947792&until=1669947810&after=" + cursor + "&limit=2>; rel=\"next\"",
+                first.headers().firstValue("Link").orElse(null));
+
+        HttpResponse<String> second = send(get("/messages?since=1669947792&until=1669947810&limit=2&after=" + cursor));
+        Assertions.assertEquals(List.of(9999, inRange), ids(second));
+        Assertions.assertTrue(second.headers().firstValue("X-Next-Cursor").isEmpty());
+
+        Assertions.assertEquals(List.of(9996, 9997, 9999), ids(send(get("/messages?until=1669947800"))));
+    }
+
+    /**
+     * Messages posted within the last hours are read from memory; updates and deletes show up immediately.
+     */
+    @Test
+    public void recentRangeIsServedFromMemory() throws IOException, InterruptedException {
+        long now = System.currentTimeMillis() / 1000;
+        int older = postMessage("older", now - 60);
+        int newer = postMessage("newer", now);
+        postMessage("no epoch", null);
+
+        String path = "/messages?since=" + (now - 3600);
+        HttpResponse<String> response = send(get(path));
+        Assertions.assertEquals(List.of(older, newer), ids(response));
+        Assertions.assertEquals("0", response.headers().firstValue("X-Jdbc-Statements").orElse(null));
+        Assertions.assertEquals(List.of(newer), ids(send(get("/messages?since=" + (now - 30) + "&until=" + (now + 1)))));
+
+        HttpRequest update = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/" + older))
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"messageText\":\"edited\"}"))
+                .header("Content-Type", "application/json")
+                .build();
+        Assertions.assertEquals(200, send(update).statusCode());
+        send(HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/messages/" + newer)).DELETE().build());
+        List<Message> messages = messages(send(get(path)));
+        Assertions.assertEquals(List.of("edited"), messages.stream().map(Message::getMessageText).toList());
+    }
+
+    /**
+     * A cursor handed out by plain GET /messages paging does not fit a time range.
+     */
+    @Test
+    public void messageIdCursorIsRejected() throws IOException, InterruptedException {
+        String cursor = send(get("/messages?limit=1")).headers().firstValue("X-Next-Cursor").orElseThrow();
+        Assertions.assertEquals(400, send(get("/messages?since=0&after=" + cursor)).statusCode());
+    }
+
+    /**
+     * A cursor outside [since, until) is rejected rather than silently restarting the range from its first page.
+     */
+    @Test
+    public void cursorOutsideRangeIsRejected() throws IOException, InterruptedException {
+        String cursor = send(get("/messages?since=1669947792&limit=1")).headers().firstValue("X-Next-Cursor").orElseThrow();
+        Assertions.assertEquals(200, send(get("/messages?since=1669947792&after=" + cursor)).statusCode());
+        Assertions.assertEquals(400, send(get("/messages?since=1669947793&after=" + cursor)).statusCode());
+        Assertions.assertEquals(400, send(get("/messages?since=1669947700&until=1669947792&after=" + cursor)).statusCode());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return webClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder().uri(URI.create("http://localhost:8080" + path)).build();
+    }
+
+    private List<Message> messages(HttpResponse<String> response) throws IOException {
+        Assertions.assertEquals(200, response.statusCode());
+        return objectMapper.readValue(response.body(), new TypeReference<List<Message>>() {});
+    }
+
+    private List<Integer> ids(HttpResponse<String> response) throws IOException {
+        return messages(response).stream().map(Message::getMessageId).toList();
+    }
+
+    private int postMessage(String text, Long epoch) throws IOException, InterruptedException {
+        HttpRequest post = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"postedBy\":9999,\"messageText\":\"" + text
+                        + "\",\"timePostedEpoch\":" + epoch + "}"))
+                .header("Content-Type", "application/json")
+                .build();
+        HttpResponse<String> response = send(post);
+        Assertions.assertEquals(200, response.statusCode());
+        return objectMapper.readValue(response.body(), Message.class).getMessageId();
+    }
+}
@@ -0,0 +1,120 @@
+package com.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+
+import com.app.Dto.TrendingHashtag;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * This test class verifies the trending hashtags endpoint (GET /trending).
+ *
+ * Scenarios covered:
+ * - Hashtags from single and batch posts ranked by count in every window, case-insensitively
+ * - A hashtag repeated in one message counted once
+ * - Selecting one window and limiting the number of hashtags
+ * - Rejecting an unknown window
+ */
+public class TrendingHashtagsTest {
+	ApplicationContext app;
+    HttpClient webClient;
+    ObjectMapper objectMapper;
+
+    /**
+     * Sets up the test environment before each test.
+     *
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        objectMapper = new ObjectMapper();
+        String[] args = new String[] {};
+        app = SpringApplication.run(SocialMediaApp.class, args);
+        Thread.sleep(500);
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     *
+     * @throws InterruptedException if the thread sleep is interrupted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+    }
+
+    /**
+     * Posts #java three times (in mixed case, once repeated within a message), #spring twice and #h2 once,
+     * then expects that ranking in each of the three windows.
+     */
+    @Test
+    public void trendingRanksHashtagsByCount() throws IOException, InterruptedException {
+        postMessage("learning #Java and #spring");
+        postMessage("#java #JAVA again");
+        HttpRequest batch = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/batch"))
+                .POST(HttpRequest.BodyPublishers.ofString("[{\"postedBy\":9999,\"messageText\":\"#java on #h2\"},"
+                        + "{\"postedBy\":9999,\"messageText\":\"more #spring\"},"
+                        + "{\"postedBy\":1,\"messageText\":\"#ignored: unknown poster\"}]"))
+                .header("Content-Type", "application/json")
+                .build();
+        Assertions.assertEquals(200, send(batch).statusCode());
+
+        Map<String, List<TrendingHashtag>> trending = trending("/trending");
+        Assertions.assertEquals(List.of("5m", "1h", "24h"), List.copyOf(trending.keySet()));
+        List<TrendingHashtag> expected = List.of(new TrendingHashtag("java", 3), new TrendingHashtag("spring", 2),
+                new TrendingHashtag("h2", 1));
+        for (List<TrendingHashtag> window : trending.values()) {
+            Assertions.assertEquals(expected, window);
+        }
+    }
+
+    /**
+     * Selects a single window with a limit, and rejects unknown windows with 400.
+     */
+    @Test
+    public void trendingSelectsWindowAndLimit() throws IOException, InterruptedException {
+        Assertions.assertEquals(Map.of("1h", List.of()), trending("/trending?window=1h"));
+
+        postMessage("#a #b");
+        postMessage("#b");
+        Assertions.assertEquals(Map.of("1h", List.of(new TrendingHashtag("b", 2))), trending("/trending?window=1h&limit=1"));
+
+        HttpRequest invalid = HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/trending?window=7d")).build();
+        Assertions.assertEquals(400, send(invalid).statusCode());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return webClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Map<String, List<TrendingHashtag>> trending(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder().uri(URI.create("http://localhost:8080" + path)).build());
+        Assertions.assertEquals(200, response.statusCode());
+        return objectMapper.readValue(response.body(), new TypeReference<Map<String, List<TrendingHashtag>>>() {});
+    }
+
+    private void postMessage(String text) throws IOException, InterruptedException {
+        HttpRequest post = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"postedBy\":9999,\"messageText\":\"" + text + "\"}"))
+                .header("Content-Type", "application/json")
+                .build();
+        Assertions.assertEquals(200, send(post).statusCode());
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.SpringApplication;
 import org.springframework.context.ApplicationContext;
 
+import com.app.Entity.Message;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
@@ -149,4 +150,35 @@ public class UpdateMessageTest {
         int status = response.statusCode();
         Assertions.assertEquals(400, status, "Expected Status Code 400 - Actual Code was: " + status);
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads message 9999 (warming the message cache), updates its text, then reads it again.
+     *
+     * Verifies that the second read returns the updated text, i.e. the update invalidated the cached copy.
+     *
+     * @throws IOException if an I/O error occurs during request/response
+     * @throws InterruptedException if the operation is interrupted
+     */
+    @Test
+    public void updateMessageIsVisibleToSubsequentReads() throws IOException, InterruptedException {
+        HttpRequest getRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/9999"))
+                .build();
+        HttpResponse<String> before = webClient.send(getRequest, HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals("test message 1", objectMapper.readValue(before.body(), Message.class).getMessageText());
+
+    	String json = "{\"messageText\": \"text changed\"}";
+        HttpRequest patchRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/messages/9999"))
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+        HttpResponse<String> patchResponse = webClient.send(patchRequest, HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(200, patchResponse.statusCode());
+
+        HttpResponse<String> after = webClient.send(getRequest, HttpResponse.BodyHandlers.ofString());
+        Message expectedResult = new Message(9999, 9999, "text changed", 1669947792L);
+        Message actualResult = objectMapper.readValue(after.body(), Message.class);
+        Assertions.assertEquals(expectedResult, actualResult, "Expected="+expectedResult + ", Actual="+actualResult);
+    }
+}
@@ -138,4 +138,41 @@ public class UserLoginTest {
         int status = response.statusCode();
         Assertions.assertEquals(401, status, "Expected Status Code 401 - Actual Code was: " + status);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a failed login for an unknown username does not hide that username once it is registered.
+     *
+     * Sends a login for an unregistered username (caching the miss), registers it, and logs in again. Expects:
+     *
+     *   - First login: 401 Unauthorized
+     *   - Second login: 200 OK with the newly registered account
+     *
+     * @throws IOException if an I/O error occurs during the request.
+     * @throws InterruptedException if the thread is interrupted while sending the request.
+     */
+    @Test
+    public void loginAfterRegistrationIsNotHiddenByCachedMiss() throws IOException, InterruptedException {
+    	String json = "{\"username\":\"newcomer\",\"password\":\"password\"}";
+        HttpRequest loginRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/login"))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+        Assertions.assertEquals(401, webClient.send(loginRequest, HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        HttpRequest registerRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/register"))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+        HttpResponse<String> registered = webClient.send(registerRequest, HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(200, registered.statusCode());
+
+        HttpResponse<String> response = webClient.send(loginRequest, HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(200, response.statusCode());
+        ObjectMapper om = new ObjectMapper();
+        Account expectedResult = om.readValue(registered.body(), Account.class);
+        Account actualResult = om.readValue(response.body(), Account.class);
+        Assertions.assertEquals(expectedResult, actualResult);
+    }
+}
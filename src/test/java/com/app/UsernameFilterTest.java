@@ -0,0 +1,103 @@
+package com.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+
+import com.app.Service.UsernameFilter;
+
+/**
+ * Integration tests for the Bloom filter over registered usernames (UsernameFilter).
+ *
+ * Scenarios covered:
+ * - Usernames loaded from the account table at startup pass mightContain
+ * - A username registered after startup passes mightContain and can log in
+ * - Logging in with an unknown username is rejected without any JDBC statement
+ */
+public class UsernameFilterTest {
+	ApplicationContext app;
+    HttpClient webClient;
+    UsernameFilter usernameFilter;
+
+    /**
+     * Sets up the test environment before each test.
+     *
+     * @throws InterruptedException if thread sleep is interrupted
+     */
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        webClient = HttpClient.newHttpClient();
+        app = SpringApplication.run(SocialMediaApp.class);
+        usernameFilter = app.getBean(UsernameFilter.class);
+        Thread.sleep(500);
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     *
+     * @throws InterruptedException if thread sleep is interrupted
+     */
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+    	Thread.sleep(500);
+    	SpringApplication.exit(app);
+    }
+
+    /**
+     * The seeded usernames from data.sql were loaded when the application became ready.
+     */
+    @Test
+    public void seededUsernamesMightBePresent() {
+        Assertions.assertTrue(usernameFilter.mightContain("testuser1"));
+        Assertions.assertTrue(usernameFilter.mightContain("testuser4"));
+    }
+
+    /**
+     * Registers a new user, then checks the filter and logs in with it.
+     */
+    @Test
+    public void registeredUsernameMightBePresent() throws IOException, InterruptedException {
+        HttpResponse<String> registration = send(post("/register", "{\"username\":\"filtered\",\"password\":\"password\"}"));
+        Assertions.assertEquals(200, registration.statusCode());
+
+        Assertions.assertTrue(usernameFilter.mightContain("filtered"));
+        Assertions.assertEquals(200, send(post("/login", "{\"username\":\"filtered\",\"password\":\"password\"}")).statusCode());
+    }
+
+    /**
+     * Logs in with a username that was never registered.
+     *
+     * Expected Response:
+     * - Status Code: 401
+     * - X-Jdbc-Statements: 0, since the filter answered without an account lookup
+     */
+    @Test
+    public void unknownUsernameSkipsLookup() throws IOException, InterruptedException {
+        Assertions.assertFalse(usernameFilter.mightContain("never-registered"));
+
+        HttpResponse<String> response = send(post("/login", "{\"username\":\"never-registered\",\"password\":\"password\"}"));
+        Assertions.assertEquals(401, response.statusCode());
+        Assertions.assertEquals("0", response.headers().firstValue("X-Jdbc-Statements").orElseThrow());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return webClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080" + path))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+    }
+}